@@ -18,10 +18,21 @@
  */
 package io.webfolder.cdp;
 
+/**
+ * Gson type adapters of the protocol types and events.
+ * 
+ * If no type adapter is configured, the reflection based Gson adapters are used.
+ * {@link #Generated} requires the stag runtime ({@code com.vimeo.stag:stag-library}).
+ * Native images always use {@link #Generated}, the reflective adapters are not available there.
+ */
 public enum CustomTypeAdapter {
     /**
      * Use reflection based gson type adapter
+     * 
+     * @deprecated reflection is already the default when no type adapter is
+     *             configured, leave {@code useCustomTypeAdapter} unset instead
      */
+    @Deprecated
     Reflection,
     /**
      * Use stag generated gson type adapter
@@ -19,20 +19,28 @@
 package io.webfolder.cdp;
 
 import static io.webfolder.cdp.Browser.Any;
+import static io.webfolder.cdp.CustomTypeAdapter.Generated;
 import static io.webfolder.cdp.ProcessExecutor.ProcessBuilder;
+import static io.webfolder.cdp.VirtualThreads.newSingleThreadVirtualExecutor;
 import static io.webfolder.cdp.logger.CdpLoggerType.Null;
 import static io.webfolder.cdp.session.WaitingStrategy.Semaphore;
 import static java.lang.Boolean.TRUE;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
+import io.webfolder.cdp.logger.AsyncLogWriter;
 import io.webfolder.cdp.logger.CdpConsoleLogggerLevel;
 import io.webfolder.cdp.logger.CdpLoggerType;
+import io.webfolder.cdp.metrics.MetricsCollector;
 import io.webfolder.cdp.session.WaitingStrategy;
 
 public class Options {
@@ -43,6 +51,8 @@ public class Options {
 
     private static final int DEFAULT_SCREEN_HEIGHT      = 768      ; // WXGA height
 
+    private static final boolean NATIVE_IMAGE           = System.getProperty("org.graalvm.nativeimage.imagecode") != null;
+
     private CdpLoggerType loggerType;
 
     private Executor workerThreadPool;
@@ -65,6 +75,8 @@ public class Options {
 
     private CdpConsoleLogggerLevel consoleLoggerLevel;
 
+    private AsyncLogWriter logWriter;
+
     private Boolean shutdownThreadPoolOnClose;
 
     private WaitingStrategy waitingStrategy;
@@ -77,6 +89,16 @@ public class Options {
 
     private Browser browser;
 
+    private boolean useVirtualThreads;
+
+    private Map<String, Integer> commandTimeouts;
+
+    private MetricsCollector metricsCollector;
+
+    private boolean autoAttach;
+
+    private boolean useUtilityWorld;
+
     private Options() {
         // no op
     }
@@ -133,11 +155,42 @@ public class Options {
             return this;
         }
 
+        /**
+         * Console logger appends log lines to this writer on a background
+         * thread in batches instead of printing them synchronously.
+         */
+        public Builder logWriter(AsyncLogWriter logWriter) {
+            options.logWriter = logWriter;
+            return this;
+        }
+
         public Builder readTimeout(int readTimeout) {
             options.readTimeout = readTimeout;
             return this;
         }
 
+        /**
+         * Overrides the read timeout of a domain or a command.
+         * 
+         * <pre>
+         * builder.commandTimeout("Runtime.releaseObject", 1_000)
+         *        .commandTimeout("Page.printToPDF", 60_000)
+         *        .commandTimeout("DOM", 5_000);
+         * </pre>
+         * 
+         * Command timeouts take precedence over domain timeouts.
+         * 
+         * @param command domain name (e.g. {@code Page}) or command name (e.g. {@code Page.printToPDF})
+         * @param timeout read timeout in milliseconds
+         */
+        public Builder commandTimeout(String command, int timeout) {
+            if (options.commandTimeouts == null) {
+                options.commandTimeouts = new HashMap<>();
+            }
+            options.commandTimeouts.put(command, timeout);
+            return this;
+        }
+
         public Builder browserExecutablePath(String browserExecutablePath) {
             options.browserExecutablePath = browserExecutablePath;
             return this;
@@ -163,15 +216,65 @@ public class Options {
             return this;
         }
 
+        /**
+         * Records latency, payload size and errors of the protocol commands and events.
+         * 
+         * @see io.webfolder.cdp.metrics.CommandMetrics
+         * @see io.webfolder.cdp.metrics.MicrometerMetricsCollector
+         */
+        public Builder metricsCollector(MetricsCollector metricsCollector) {
+            options.metricsCollector = metricsCollector;
+            return this;
+        }
+
+        /**
+         * Runs the worker and event handler threads as virtual threads.
+         * The default {@link WaitingStrategy#Semaphore} does not pin the carrier thread.
+         * 
+         * Has no effect on the thread pools if the JVM does not support virtual threads.
+         * 
+         * @see VirtualThreads#newVirtualThreadPerTaskExecutor()
+         */
+        public Builder useVirtualThreads(boolean useVirtualThreads) {
+            options.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
+        /**
+         * Attaches to the out-of-process iframes, workers and popups of the pages
+         * automatically ({@code Target.setAutoAttach} with flatten mode).
+         * 
+         * @see io.webfolder.cdp.session.Session#getChildren()
+         */
+        public Builder autoAttach(boolean autoAttach) {
+            options.autoAttach = autoAttach;
+            return this;
+        }
+
+        /**
+         * Runs the built-in helpers (xpath lookup, scroll into view etc.) in an
+         * isolated world with a preinstalled helper library.
+         * 
+         * @see io.webfolder.cdp.session.UtilityWorld
+         */
+        public Builder useUtilityWorld(boolean useUtilityWorld) {
+            options.useUtilityWorld = useUtilityWorld;
+            return this;
+        }
+
         public Options build() {
             if (options.loggerType == null) {
                 options.loggerType = Null;
             }
             if (options.workerThreadPool == null) {
-                options.workerThreadPool = newSingleThreadExecutor(new CdpThreadFactory("cdp4j-WorkerThread"));
+                options.workerThreadPool = options.useVirtualThreads ?
+                                    newSingleThreadVirtualExecutor("cdp4j-WorkerThread") :
+                                    newSingleThreadExecutor(new CdpThreadFactory("cdp4j-WorkerThread"));
             }
             if (options.eventHandlerThreadPool == null) {
-                options.eventHandlerThreadPool = newSingleThreadExecutor(new CdpThreadFactory("cdp4j-EventHandlerThread"));
+                options.eventHandlerThreadPool = options.useVirtualThreads ?
+                                    newSingleThreadVirtualExecutor("cdp4j-EventHandlerThread") :
+                                    newSingleThreadExecutor(new CdpThreadFactory("cdp4j-EventHandlerThread"));
             }
             if (options.arguments == null) {
                 options.arguments = emptyList();
@@ -179,6 +282,11 @@ public class Options {
             if (options.readTimeout == null) {
                 options.readTimeout = DEFAULT_READ_TIMEOUT;
             }
+            if (options.commandTimeouts == null) {
+                options.commandTimeouts = emptyMap();
+            } else {
+                options.commandTimeouts = unmodifiableMap(new HashMap<>(options.commandTimeouts));
+            }
             if (options.processManager == null) {
                 options.processManager = new AdaptiveProcessManager();
             }
@@ -194,8 +302,9 @@ public class Options {
             if (options.waitingStrategy == null) {
                 options.waitingStrategy = Semaphore;
             }
-            if (options.useCustomTypeAdapter == null) {
-                options.useCustomTypeAdapter = null;
+            if (NATIVE_IMAGE) {
+                // reflective gson adapters are substituted out of native images, see Cdp4jFeature
+                options.useCustomTypeAdapter = Generated;
             }
             if (options.processExecutor == null) {
                 options.processExecutor = ProcessBuilder;
@@ -236,6 +345,29 @@ public class Options {
         return readTimeout;
     }
 
+    public Map<String, Integer> commandTimeouts() {
+        return commandTimeouts;
+    }
+
+    /**
+     * Gets the read timeout of a command.
+     * 
+     * @param domain domain name, e.g. {@code Page}
+     * @param command full command name, e.g. {@code Page.printToPDF}
+     * 
+     * @return read timeout in milliseconds
+     */
+    public int readTimeout(String domain, String command) {
+        if (commandTimeouts.isEmpty()) {
+            return readTimeout.intValue();
+        }
+        Integer timeout = commandTimeouts.get(command);
+        if (timeout == null) {
+            timeout = commandTimeouts.get(domain);
+        }
+        return timeout != null ? timeout.intValue() : readTimeout.intValue();
+    }
+
     public ProcessManager processManager() {
         return processManager;
     }
@@ -256,6 +388,10 @@ public class Options {
         return consoleLoggerLevel;
     }
 
+    public AsyncLogWriter logWriter() {
+        return logWriter;
+    }
+
     public boolean shutdownThreadPoolOnClose() {
         return shutdownThreadPoolOnClose.booleanValue();
     }
@@ -279,4 +415,20 @@ public class Options {
     public Browser getBrowser() {
         return browser;
     }
+
+    public boolean useVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    public MetricsCollector metricsCollector() {
+        return metricsCollector;
+    }
+
+    public boolean autoAttach() {
+        return autoAttach;
+    }
+
+    public boolean useUtilityWorld() {
+        return useUtilityWorld;
+    }
 }
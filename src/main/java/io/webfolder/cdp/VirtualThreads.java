@@ -0,0 +1,108 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread (Project Loom) support.
+ * 
+ * Virtual threads are looked up reflectively, on older runtimes (Java 8 - 20)
+ * platform threads are used instead.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = find(Thread.class, "ofVirtual");
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = find(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+    private VirtualThreads() {
+        // no op
+    }
+
+    /**
+     * @return {@code true} if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates a thread factory which creates virtual threads.
+     * 
+     * @param name thread name
+     * 
+     * @return virtual thread factory or daemon platform thread factory if virtual threads are not supported
+     */
+    public static ThreadFactory newThreadFactory(String name) {
+        if (isSupported()) {
+            try {
+                // use the public Thread.Builder interface, implementation classes are not accessible
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = builderClass.getMethod("name", String.class).invoke(builder, name);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fallback to platform threads
+            }
+        }
+        return new CdpThreadFactory(name);
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task,
+     * e.g. one virtual thread per page job.
+     * 
+     * @return virtual thread per task executor or cached thread pool if virtual threads are not supported
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (isSupported()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // fallback to platform threads
+            }
+        }
+        return newCachedThreadPool(new CdpThreadFactory("cdp4j-TaskThread"));
+    }
+
+    /**
+     * Creates a single threaded executor backed by a virtual thread.
+     * 
+     * Message processing must be sequential, so the worker and event handler
+     * pools stay single threaded even if virtual threads are used.
+     */
+    static ExecutorService newSingleThreadVirtualExecutor(String name) {
+        return newSingleThreadExecutor(newThreadFactory(name));
+    }
+
+    private static Method find(Class<?> klass, String name) {
+        try {
+            return klass.getMethod(name);
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+}
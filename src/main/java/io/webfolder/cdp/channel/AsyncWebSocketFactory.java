@@ -29,7 +29,6 @@ import org.asynchttpclient.DefaultAsyncHttpClientConfig;
 import org.asynchttpclient.netty.ws.NettyWebSocket;
 import org.asynchttpclient.ws.WebSocketUpgradeHandler;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class AsyncWebSocketFactory implements ChannelFactory, AutoCloseable {
@@ -63,7 +62,7 @@ public class AsyncWebSocketFactory implements ChannelFactory, AutoCloseable {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler messageHandler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor messageHandler) {
         String url = ((WebSocketConnection) connection).getUrl();
         AsyncWebSocketListener messageAdapter = new AsyncWebSocketListener(factory, messageHandler);
         WebSocketUpgradeHandler upgradeHandler = new WebSocketUpgradeHandler.Builder()
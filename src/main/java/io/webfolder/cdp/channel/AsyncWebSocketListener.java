@@ -21,16 +21,15 @@ package io.webfolder.cdp.channel;
 import org.asynchttpclient.ws.WebSocket;
 import org.asynchttpclient.ws.WebSocketListener;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class AsyncWebSocketListener implements WebSocketListener {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
-    public AsyncWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public AsyncWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
@@ -47,7 +46,10 @@ public class AsyncWebSocketListener implements WebSocketListener {
 
     @Override
     public void onClose(WebSocket websocket, int code, String reason) {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
     }
 
     @Override
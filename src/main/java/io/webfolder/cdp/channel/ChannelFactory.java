@@ -1,29 +1,49 @@
-/**
- * cdp4j Commercial License
- *
- * Copyright 2017, 2020 WebFolder OÜ
- *
- * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
- * associated  documentation files  (the "Software"), to deal in  the Software  without
- * restriction, including without limitation  the rights  to use, copy, modify,  merge,
- * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
- * the Software is furnished to do so, subject to the following conditions:
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
- * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
- * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
- * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
- * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- */
-package io.webfolder.cdp.channel;
-
-import io.webfolder.cdp.session.MessageHandler;
-import io.webfolder.cdp.session.SessionFactory;
-
-public interface ChannelFactory {
-
-    Channel createChannel(Connection     connection,
-                          SessionFactory factory,
-                          MessageHandler handler);
-}
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.session.MessageHandler;
+import io.webfolder.cdp.session.SessionFactory;
+
+/**
+ * Implementations must override one of the {@code createChannel} methods.
+ */
+public interface ChannelFactory {
+
+    default Channel createChannel(Connection       connection,
+                                  SessionFactory   factory,
+                                  MessageProcessor handler) {
+        if (handler instanceof MessageHandler) {
+            return createChannel(connection, factory, (MessageHandler) handler);
+        }
+        throw new CdpException(getClass().getName() + " must implement createChannel(Connection, SessionFactory, MessageProcessor)");
+    }
+
+    /**
+     * @deprecated kept for the factories written against the previous signature,
+     *             implement {@link #createChannel(Connection, SessionFactory, MessageProcessor)} instead.
+     */
+    @Deprecated
+    default Channel createChannel(Connection     connection,
+                                  SessionFactory factory,
+                                  MessageHandler handler) {
+        return createChannel(connection, factory, (MessageProcessor) handler);
+    }
+}
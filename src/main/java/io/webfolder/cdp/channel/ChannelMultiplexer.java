@@ -0,0 +1,382 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static java.lang.Integer.parseInt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.session.SessionFactory;
+
+/**
+ * Shares one browser connection between many {@link SessionFactory} instances.
+ *
+ * <p>
+ * Every {@link SessionFactory} created with this factory gets its own logical
+ * {@link MultiplexChannel}. Outgoing message ids are rewritten to connection
+ * wide unique ids, replies are routed back to the sender and sessionId scoped
+ * events are routed to the client which attached to that target. Browser level
+ * events are delivered to all clients.
+ * </p>
+ *
+ * <pre>
+ * ChannelMultiplexer multiplexer = new ChannelMultiplexer(new NvWebSocketFactory());
+ * Launcher launcher = new Launcher(options, multiplexer);
+ * SessionFactory first = launcher.launch();
+ * SessionFactory second = new SessionFactory(options, multiplexer, multiplexer.getConnection());
+ * </pre>
+ */
+public class ChannelMultiplexer implements ChannelFactory, AutoCloseable {
+
+    private static final String ID_PREFIX = "{\"id\":";
+
+    private static final String SESSION_ID_KEY = ",\"sessionId\":\"";
+
+    private static final String ATTACH_TO_TARGET = "\"method\":\"Target.attachToTarget\"";
+
+    private static final String GET_TARGET_INFO = "\"method\":\"Target.getTargetInfo\"";
+
+    private static final String CLOSE_TARGET = "\"method\":\"Target.closeTarget\"";
+
+    private static final String ATTACHED_TO_TARGET = "\"method\":\"Target.attachedToTarget\"";
+
+    private static final String DETACHED_FROM_TARGET = "\"method\":\"Target.detachedFromTarget\"";
+
+    private final ChannelFactory delegate;
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    private final Map<Integer, PendingCommand> pendingCommands = new ConcurrentHashMap<>();
+
+    private final Map<String, MultiplexChannel> sessionOwners = new ConcurrentHashMap<>();
+
+    private final List<MultiplexChannel> channels = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+
+    private volatile Connection connection;
+
+    private volatile Channel upstream;
+
+    private volatile String browserTargetId;
+
+    private static class PendingCommand {
+
+        final MultiplexChannel channel;
+
+        final int id;
+
+        final boolean attachToTarget;
+
+        final boolean getTargetInfo;
+
+        PendingCommand(MultiplexChannel channel, int id, boolean attachToTarget, boolean getTargetInfo) {
+            this.channel        = channel;
+            this.id             = id;
+            this.attachToTarget = attachToTarget;
+            this.getTargetInfo  = getTargetInfo;
+        }
+    }
+
+    private class UpstreamHandler implements MessageProcessor {
+
+        @Override
+        public void process(String content) {
+            route(content);
+        }
+
+        @Override
+        public void onClose() {
+            closeChannels();
+        }
+    }
+
+    /**
+     * @param delegate creates the physical browser connection
+     */
+    public ChannelMultiplexer(ChannelFactory delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * @param delegate creates the physical browser connection
+     * @param connection browser connection, if {@code null} the connection
+     *                   of the first {@link SessionFactory} is used
+     */
+    public ChannelMultiplexer(ChannelFactory delegate, Connection connection) {
+        this.delegate   = delegate;
+        this.connection = connection;
+    }
+
+    @Override
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
+        synchronized (this) {
+            if (upstream == null) {
+                if (this.connection == null) {
+                    this.connection = connection;
+                }
+                if (this.connection == null) {
+                    throw new CdpException("Connection is required");
+                }
+                upstream = delegate.createChannel(this.connection, null, new UpstreamHandler());
+            }
+        }
+        MultiplexChannel channel = new MultiplexChannel(this, factory, handler);
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Gets the shared browser connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * @return number of logical clients which share the browser connection
+     */
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    void connect() {
+        if (connected.compareAndSet(false, true)) {
+            upstream.connect();
+        }
+    }
+
+    boolean isOpen() {
+        Channel upstream = this.upstream;
+        return upstream != null && connected.get() && upstream.isOpen();
+    }
+
+    void send(MultiplexChannel channel, String message) {
+        int start = ID_PREFIX.length();
+        if ( ! message.startsWith(ID_PREFIX) ) {
+            sendSlow(channel, message);
+            return;
+        }
+        int end = start;
+        while (end < message.length() && Character.isDigit(message.charAt(end))) {
+            end++;
+        }
+        if (end == start) {
+            sendSlow(channel, message);
+            return;
+        }
+        int id = parseInt(message.substring(start, end));
+        if (isBrowserClose(message)) {
+            channel.receive(ID_PREFIX + id + ",\"result\":{\"success\":true}}");
+            return;
+        }
+        int upstreamId = register(channel, id, message);
+        upstream.sendText(ID_PREFIX + upstreamId + message.substring(end));
+    }
+
+    private void sendSlow(MultiplexChannel channel, String message) {
+        JsonObject object = JsonParser.parseString(message).getAsJsonObject();
+        JsonElement idElement = object.get("id");
+        if (idElement == null) {
+            upstream.sendText(message);
+            return;
+        }
+        int id = idElement.getAsInt();
+        if (isBrowserClose(message)) {
+            channel.receive(ID_PREFIX + id + ",\"result\":{\"success\":true}}");
+            return;
+        }
+        object.add("id", new JsonPrimitive(register(channel, id, message)));
+        upstream.sendText(object.toString());
+    }
+
+    private int register(MultiplexChannel channel, int id, String message) {
+        int upstreamId = counter.incrementAndGet();
+        boolean attachToTarget = message.contains(ATTACH_TO_TARGET);
+        boolean getTargetInfo = browserTargetId == null &&
+                                    message.contains(GET_TARGET_INFO) &&
+                                    ! message.contains("\"params\"");
+        pendingCommands.put(upstreamId, new PendingCommand(channel, id, attachToTarget, getTargetInfo));
+        return upstreamId;
+    }
+
+    // Closing the browser target would close the browser for all clients,
+    // the browser is closed only when the multiplexer itself is closed.
+    private boolean isBrowserClose(String message) {
+        String browserTargetId = this.browserTargetId;
+        return browserTargetId != null &&
+                    message.contains(CLOSE_TARGET) &&
+                    message.contains("\"targetId\":\"" + browserTargetId + "\"");
+    }
+
+    void route(String message) {
+        if (message.startsWith(ID_PREFIX)) {
+            int start = ID_PREFIX.length();
+            int end = start;
+            while (end < message.length() && Character.isDigit(message.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                int upstreamId = parseInt(message.substring(start, end));
+                PendingCommand command = pendingCommands.remove(upstreamId);
+                if (command != null) {
+                    String response = ID_PREFIX + command.id + message.substring(end);
+                    onResponse(command, response);
+                }
+                return;
+            }
+        }
+        String sessionId = getSessionId(message);
+        if (sessionId != null) {
+            MultiplexChannel owner = sessionOwners.get(sessionId);
+            if (owner != null) {
+                if (message.contains(ATTACHED_TO_TARGET)) {
+                    // child targets (auto attach) belong to the owner of the parent session
+                    JsonObject params = JsonParser.parseString(message)
+                                                    .getAsJsonObject()
+                                                    .getAsJsonObject("params");
+                    if (params != null && params.has("sessionId")) {
+                        sessionOwners.put(params.get("sessionId").getAsString(), owner);
+                    }
+                }
+                owner.receive(message);
+            }
+            return;
+        }
+        JsonObject object = null;
+        if ( ! message.startsWith("{\"method\":") ) {
+            object = JsonParser.parseString(message).getAsJsonObject();
+            JsonElement idElement = object.get("id");
+            if (idElement != null) {
+                PendingCommand command = pendingCommands.remove(idElement.getAsInt());
+                if (command != null) {
+                    object.add("id", new JsonPrimitive(command.id));
+                    onResponse(command, object.toString());
+                }
+                return;
+            }
+            JsonElement sid = object.get("sessionId");
+            if (sid != null) {
+                MultiplexChannel owner = sessionOwners.get(sid.getAsString());
+                if (owner != null) {
+                    owner.receive(message);
+                }
+                return;
+            }
+        }
+        for (MultiplexChannel next : channels) {
+            next.receive(message);
+        }
+        if (message.contains(DETACHED_FROM_TARGET)) {
+            if (object == null) {
+                object = JsonParser.parseString(message).getAsJsonObject();
+            }
+            JsonObject params = object.getAsJsonObject("params");
+            if (params != null && params.has("sessionId")) {
+                sessionOwners.remove(params.get("sessionId").getAsString());
+            }
+        }
+    }
+
+    private void onResponse(PendingCommand command, String response) {
+        if (command.attachToTarget || command.getTargetInfo) {
+            JsonObject object = JsonParser.parseString(response).getAsJsonObject();
+            JsonObject result = object.getAsJsonObject("result");
+            if (result != null) {
+                if (command.attachToTarget && result.has("sessionId")) {
+                    sessionOwners.put(result.get("sessionId").getAsString(), command.channel);
+                } else if (command.getTargetInfo && result.has("targetInfo")) {
+                    JsonObject targetInfo = result.getAsJsonObject("targetInfo");
+                    if ("browser".equals(targetInfo.get("type").getAsString())) {
+                        browserTargetId = targetInfo.get("targetId").getAsString();
+                    }
+                }
+            }
+        }
+        command.channel.receive(response);
+    }
+
+    // Chrome serializes the sessionId of the session scoped messages as the last property.
+    // Nested sessionId properties (e.g. Target.attachedToTarget) are always followed by
+    // the closing brace of the params object.
+    String getSessionId(String message) {
+        int length = message.length();
+        if (length < 2 || message.charAt(length - 1) != '}' || message.charAt(length - 2) != '"') {
+            return null;
+        }
+        int start = message.lastIndexOf(SESSION_ID_KEY);
+        if (start < 0) {
+            return null;
+        }
+        start += SESSION_ID_KEY.length();
+        int end = length - 2;
+        if (message.indexOf('"', start) != end) {
+            return null;
+        }
+        return message.substring(start, end);
+    }
+
+    void remove(MultiplexChannel channel) {
+        channels.remove(channel);
+        sessionOwners.values().removeIf(next -> next == channel);
+        pendingCommands.values().removeIf(next -> next.channel == channel);
+    }
+
+    // The browser connection is lost, every client SessionFactory is closed
+    // as it would be closed by the listener of its own connection.
+    private void closeChannels() {
+        connected.set(false);
+        for (MultiplexChannel next : channels) {
+            remove(next);
+            next.onClose();
+        }
+    }
+
+    /**
+     * Closes the physical browser connection.
+     */
+    @Override
+    public void close() {
+        for (MultiplexChannel next : channels) {
+            remove(next);
+        }
+        Channel upstream = this.upstream;
+        if (upstream != null && connected.compareAndSet(true, false)) {
+            upstream.disconnect();
+        }
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+}
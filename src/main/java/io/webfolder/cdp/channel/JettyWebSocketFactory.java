@@ -27,7 +27,6 @@ import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class JettyWebSocketFactory implements ChannelFactory, AutoCloseable {
@@ -48,7 +47,7 @@ public class JettyWebSocketFactory implements ChannelFactory, AutoCloseable {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         String url = ((WebSocketConnection) connection).getUrl();
         Future<Session> future = null;
         try {
@@ -24,7 +24,6 @@ import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
 import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 @WebSocket(maxTextMessageSize = MAX_VALUE)
@@ -32,16 +31,19 @@ public class JettyWebSocketListener {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
-    public JettyWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public JettyWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
 
     @OnWebSocketClose
     public void onClose(int statusCode, String reason) {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
     }
 
     @OnWebSocketMessage
@@ -0,0 +1,80 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.webfolder.cdp.session.SessionFactory;
+
+
+public class MultiplexChannel implements Channel {
+
+    private final ChannelMultiplexer multiplexer;
+
+    private final SessionFactory factory;
+
+    private final MessageProcessor handler;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    MultiplexChannel(ChannelMultiplexer multiplexer, SessionFactory factory, MessageProcessor handler) {
+        this.multiplexer = multiplexer;
+        this.factory     = factory;
+        this.handler     = handler;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return ! closed.get() && multiplexer.isOpen();
+    }
+
+    @Override
+    public void disconnect() {
+        if (closed.compareAndSet(false, true)) {
+            multiplexer.remove(this);
+        }
+    }
+
+    @Override
+    public void sendText(String message) {
+        if ( ! closed.get() ) {
+            multiplexer.send(this, message);
+        }
+    }
+
+    @Override
+    public void connect() {
+        multiplexer.connect();
+    }
+
+    void receive(String message) {
+        if ( ! closed.get() ) {
+            handler.process(message);
+        }
+    }
+
+    void onClose() {
+        if (closed.compareAndSet(false, true)) {
+            if (factory != null) {
+                factory.close();
+            }
+            handler.onClose();
+        }
+    }
+}
@@ -26,7 +26,6 @@ import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketFactory;
 
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class NvWebSocketFactory implements ChannelFactory, AutoCloseable {
@@ -48,7 +47,7 @@ public class NvWebSocketFactory implements ChannelFactory, AutoCloseable {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         if ( webSocket != null ) {
             throw new IllegalStateException();
         }
@@ -23,7 +23,6 @@ import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketAdapter;
 import com.neovisionaries.ws.client.WebSocketFrame;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -32,9 +31,9 @@ public class NvWebSocketListener extends WebSocketAdapter {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
-    public NvWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public NvWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
@@ -49,7 +48,10 @@ public class NvWebSocketListener extends WebSocketAdapter {
                                WebSocketFrame serverCloseFrame,
                                WebSocketFrame clientCloseFrame,
                                boolean closedByServer) throws Exception {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
     }
 
     @Override
@@ -0,0 +1,184 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import io.webfolder.cdp.exception.CdpException;
+
+/**
+ * Append-only recording of the protocol traffic.
+ *
+ * <p>
+ * Frames are collected in a direct buffer and written through the file channel
+ * when the buffer is full and on {@link #close()}. The file is never mapped, so it
+ * can be deleted or replayed right after the recorder is closed on every platform.
+ * </p>
+ *
+ * <p>
+ * File layout: magic (int), version (int), start time in epoch millis (long),
+ * followed by frames. Every frame is direction (byte, 0 outbound 1 inbound),
+ * time since the start of the recording in nanoseconds (long), length (int)
+ * and the UTF-8 encoded message. See {@link ProtocolRecording} for the reader.
+ * </p>
+ */
+public class ProtocolRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x43445052;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 16;
+
+    static final int FRAME_HEADER_LENGTH = 13;
+
+    static final byte OUTBOUND = 0;
+
+    static final byte INBOUND = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel file;
+
+    private final long start;
+
+    private final ByteBuffer buffer = allocateDirect(BUFFER_SIZE);
+
+    private long position;
+
+    private long frames;
+
+    private boolean closed;
+
+    public ProtocolRecorder(Path path) {
+        try {
+            file = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+        start = System.nanoTime();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(System.currentTimeMillis());
+        position = HEADER_LENGTH;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer content) throws IOException {
+        while (content.hasRemaining()) {
+            file.write(content);
+        }
+    }
+
+    /**
+     * Records a message sent to the browser.
+     */
+    public void outbound(String message) {
+        append(OUTBOUND, message);
+    }
+
+    /**
+     * Records a message received from the browser.
+     */
+    public void inbound(String message) {
+        append(INBOUND, message);
+    }
+
+    private void append(byte direction, String message) {
+        long timestamp = System.nanoTime() - start;
+        byte[] content = message.getBytes(UTF_8);
+        int length = FRAME_HEADER_LENGTH + content.length;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                if (buffer.remaining() < length) {
+                    flush();
+                }
+                buffer.put(direction);
+                buffer.putLong(timestamp);
+                buffer.putInt(content.length);
+                if (buffer.remaining() < content.length) {
+                    // larger than the buffer, written without copying
+                    flush();
+                    write(wrap(content));
+                } else {
+                    buffer.put(content);
+                }
+            } catch (IOException e) {
+                throw new CdpException(e);
+            }
+            position += length;
+            frames += 1;
+        }
+    }
+
+    /**
+     * @return number of recorded frames
+     */
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return size of the recording in bytes
+     */
+    public synchronized long getSize() {
+        return position;
+    }
+
+    /**
+     * Writes the buffered frames and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                flush();
+                file.force(false);
+            } finally {
+                file.close();
+            }
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+}
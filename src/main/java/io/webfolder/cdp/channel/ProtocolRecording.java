@@ -0,0 +1,139 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static io.webfolder.cdp.channel.ProtocolRecorder.FRAME_HEADER_LENGTH;
+import static io.webfolder.cdp.channel.ProtocolRecorder.HEADER_LENGTH;
+import static io.webfolder.cdp.channel.ProtocolRecorder.INBOUND;
+import static io.webfolder.cdp.channel.ProtocolRecorder.MAGIC;
+import static io.webfolder.cdp.channel.ProtocolRecorder.VERSION;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.webfolder.cdp.exception.CdpException;
+
+/**
+ * Reads a recording created by {@link ProtocolRecorder}.
+ */
+public class ProtocolRecording implements Iterable<ProtocolRecording.Frame> {
+
+    private final ByteBuffer buffer;
+
+    private final long startTime;
+
+    public static class Frame {
+
+        private final boolean inbound;
+
+        private final long timestamp;
+
+        private final String message;
+
+        Frame(boolean inbound, long timestamp, String message) {
+            this.inbound   = inbound;
+            this.timestamp = timestamp;
+            this.message   = message;
+        }
+
+        /**
+         * @return {@code true} if the message is received from the browser
+         */
+        public boolean isInbound() {
+            return inbound;
+        }
+
+        /**
+         * @return time since the start of the recording in nanoseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return (inbound ? "<-- " : "--> ") + message;
+        }
+    }
+
+    public ProtocolRecording(Path path) {
+        try (FileChannel file = FileChannel.open(path, READ)) {
+            if (file.size() > Integer.MAX_VALUE) {
+                throw new CdpException("Recording is too large: " + path);
+            }
+            buffer = file.map(READ_ONLY, 0, file.size());
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt(0) != MAGIC) {
+            throw new CdpException("Invalid recording: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new CdpException("Unsupported recording version: " + buffer.getInt(4));
+        }
+        startTime = buffer.getLong(8);
+    }
+
+    /**
+     * @return start time of the recording in epoch millis
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public Iterator<Frame> iterator() {
+        ByteBuffer frames = buffer.duplicate();
+        frames.position(HEADER_LENGTH);
+        return new Iterator<Frame>() {
+
+            @Override
+            public boolean hasNext() {
+                return frames.remaining() >= FRAME_HEADER_LENGTH;
+            }
+
+            @Override
+            public Frame next() {
+                if ( ! hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                boolean inbound = frames.get() == INBOUND;
+                long timestamp = frames.getLong();
+                int length = frames.getInt();
+                if (length < 0 || length > frames.remaining()) {
+                    throw new CdpException("Truncated recording");
+                }
+                byte[] content = new byte[length];
+                frames.get(content);
+                return new Frame(inbound, timestamp, new String(content, UTF_8));
+            }
+        };
+    }
+}
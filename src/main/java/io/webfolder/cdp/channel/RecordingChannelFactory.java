@@ -0,0 +1,101 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import java.nio.file.Path;
+
+import io.webfolder.cdp.session.SessionFactory;
+
+/**
+ * Records every frame sent to and received from the browser.
+ *
+ * <pre>
+ * try (RecordingChannelFactory factory = new RecordingChannelFactory(new NvWebSocketFactory(), Paths.get("cdp.rec"))) {
+ *     Launcher launcher = new Launcher(options, factory);
+ *     try (SessionFactory sessionFactory = launcher.launch()) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @see ReplayChannelFactory
+ */
+public class RecordingChannelFactory implements ChannelFactory, AutoCloseable {
+
+    private final ChannelFactory delegate;
+
+    private final ProtocolRecorder recorder;
+
+    private static class RecordingHandler implements MessageProcessor {
+
+        private final MessageProcessor handler;
+
+        private final ProtocolRecorder recorder;
+
+        RecordingHandler(MessageProcessor handler, ProtocolRecorder recorder) {
+            this.handler  = handler;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void process(String content) {
+            recorder.inbound(content);
+            handler.process(content);
+        }
+
+        @Override
+        public void onClose() {
+            handler.onClose();
+        }
+    }
+
+    public RecordingChannelFactory(ChannelFactory delegate, Path recording) {
+        this(delegate, new ProtocolRecorder(recording));
+    }
+
+    public RecordingChannelFactory(ChannelFactory delegate, ProtocolRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
+        Channel channel = delegate.createChannel(connection, factory, new RecordingHandler(handler, recorder));
+        return new RecordingChannel(channel, recorder);
+    }
+
+    public ProtocolRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Closes the recording.
+     */
+    @Override
+    public void close() {
+        recorder.close();
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+}
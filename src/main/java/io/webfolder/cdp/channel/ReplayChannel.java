@@ -0,0 +1,221 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static java.lang.Integer.parseInt;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import io.webfolder.cdp.channel.ProtocolRecording.Frame;
+import io.webfolder.cdp.session.SessionFactory;
+
+public class ReplayChannel implements Channel {
+
+    private static final String ID_PREFIX = "{\"id\":";
+
+    // a client message which does not match the recording for this long is a divergence
+    private static final long DIVERGENCE_TIMEOUT = 10_000;
+
+    private final ProtocolRecording recording;
+
+    private final double speed;
+
+    private final SessionFactory factory;
+
+    private final MessageProcessor handler;
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+    // client messages which are not matched to a recorded frame yet, replay thread only
+    private final List<String> pending = new ArrayList<>();
+
+    private final Map<Integer, Integer> ids = new HashMap<>();
+
+    private volatile boolean open;
+
+    private volatile Thread thread;
+
+    ReplayChannel(ProtocolRecording recording, double speed, SessionFactory factory, MessageProcessor handler) {
+        this.recording = recording;
+        this.speed     = speed;
+        this.factory   = factory;
+        this.handler   = handler;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void disconnect() {
+        open = false;
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void sendText(String message) {
+        if (open) {
+            sent.add(message);
+        }
+    }
+
+    @Override
+    public synchronized void connect() {
+        if (thread != null) {
+            throw new IllegalStateException();
+        }
+        open   = true;
+        thread = new Thread(this::replay, "cdp4j-Replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void replay() {
+        Iterator<Frame> frames = recording.iterator();
+        long last = -1;
+        try {
+            while (open && frames.hasNext()) {
+                Frame frame = frames.next();
+                if (last >= 0 && speed != Double.POSITIVE_INFINITY) {
+                    long delay = (long) ((frame.getTimestamp() - last) / speed);
+                    if (delay > 0) {
+                        NANOSECONDS.sleep(delay);
+                    }
+                }
+                last = frame.getTimestamp();
+                if (frame.isInbound()) {
+                    handler.process(rewrite(frame.getMessage()));
+                } else {
+                    String message = match(frame.getMessage());
+                    if (message == null) {
+                        return;
+                    }
+                    Integer recorded = getId(frame.getMessage());
+                    Integer actual = getId(message);
+                    if (recorded != null && actual != null) {
+                        ids.put(recorded, actual);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // disconnected
+        } finally {
+            // recording is exhausted or the client diverged, close like a lost connection
+            if (open) {
+                open = false;
+                if (factory != null) {
+                    factory.close();
+                }
+                handler.onClose();
+            }
+        }
+    }
+
+    /**
+     * Waits for the client message which has the same method and session id
+     * as the recorded message. Messages of other methods are kept until a
+     * later recorded frame asks for them.
+     * 
+     * @return matching client message or <code>null</code> if the channel
+     *         is closed or the client diverged from the recording
+     */
+    private String match(String recorded) throws InterruptedException {
+        String key = getKey(recorded);
+        for (Iterator<String> iter = pending.iterator(); iter.hasNext();) {
+            String next = iter.next();
+            if (key.equals(getKey(next))) {
+                iter.remove();
+                return next;
+            }
+        }
+        long waiting = 0;
+        while (open) {
+            String message = sent.poll(100, MILLISECONDS);
+            if (message == null) {
+                // an idle client is not a divergence, only unmatched messages are
+                if ( ! pending.isEmpty() ) {
+                    waiting += 100;
+                    if (waiting >= DIVERGENCE_TIMEOUT) {
+                        return null;
+                    }
+                }
+            } else if (key.equals(getKey(message))) {
+                return message;
+            } else {
+                pending.add(message);
+            }
+        }
+        return null;
+    }
+
+    private String getKey(String message) {
+        JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+        JsonElement method = json.get("method");
+        JsonElement sessionId = json.get("sessionId");
+        return (method == null ? "" : method.getAsString()) + "/" +
+               (sessionId == null ? "" : sessionId.getAsString());
+    }
+
+    private String rewrite(String message) {
+        if ( ! message.startsWith(ID_PREFIX) ) {
+            return message;
+        }
+        int start = ID_PREFIX.length();
+        int end = start;
+        while (end < message.length() && Character.isDigit(message.charAt(end))) {
+            end++;
+        }
+        if (end == start) {
+            return message;
+        }
+        Integer actual = ids.remove(parseInt(message.substring(start, end)));
+        return actual == null ? message : ID_PREFIX + actual + message.substring(end);
+    }
+
+    private Integer getId(String message) {
+        if (message.startsWith(ID_PREFIX)) {
+            int start = ID_PREFIX.length();
+            int end = start;
+            while (end < message.length() && Character.isDigit(message.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                return parseInt(message.substring(start, end));
+            }
+        }
+        JsonElement id = JsonParser.parseString(message).getAsJsonObject().get("id");
+        return id == null ? null : id.getAsInt();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import java.nio.file.Path;
+
+import io.webfolder.cdp.session.SessionFactory;
+
+/**
+ * Replays a recording created with {@link RecordingChannelFactory} without a browser.
+ *
+ * <p>
+ * Recorded responses and events are delivered in their original order. Before a
+ * recorded outbound message is passed, the replay waits until the client sends a
+ * message with the same method and session id and maps the recorded command id to
+ * the id which is used by the client, so commands sent concurrently from several
+ * threads may reach the replay in a different order than recorded.
+ * Delays between the frames are preserved and divided by the speed factor, a
+ * speed of {@link Double#POSITIVE_INFINITY} replays without any delay.
+ * </p>
+ *
+ * <p>
+ * When the recording is exhausted, or the client keeps sending messages which do
+ * not match the recording, the channel is closed like a lost browser connection:
+ * the {@link SessionFactory} is closed and the message processor is notified.
+ * </p>
+ *
+ * <pre>
+ * ReplayChannelFactory factory = new ReplayChannelFactory(Paths.get("cdp.rec"), 10);
+ * SessionFactory sessionFactory = new SessionFactory(options, factory, factory.getConnection());
+ * </pre>
+ */
+public class ReplayChannelFactory implements ChannelFactory {
+
+    private final Path recording;
+
+    private final double speed;
+
+    private final Connection connection;
+
+    public ReplayChannelFactory(Path recording) {
+        this(recording, 1);
+    }
+
+    /**
+     * @param recording recording file
+     * @param speed replay speed, <code>1</code> is the original speed
+     */
+    public ReplayChannelFactory(Path recording, double speed) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("speed");
+        }
+        this.recording  = recording;
+        this.speed      = speed;
+        this.connection = new Connection() {
+
+            @Override
+            public String toString() {
+                return "ReplayConnection [recording=" + recording + "]";
+            }
+        };
+    }
+
+    @Override
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
+        return new ReplayChannel(new ProtocolRecording(recording), speed, factory, handler);
+    }
+
+    /**
+     * Connection for the {@link SessionFactory} constructor.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+}
@@ -29,7 +29,6 @@ import javax.websocket.Session;
 import javax.websocket.WebSocketContainer;
 
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class StandardWebSocketFactory implements ChannelFactory {
@@ -41,7 +40,7 @@ public class StandardWebSocketFactory implements ChannelFactory {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         String url = ((WebSocketConnection) connection).getUrl();
         URI uri;
         try {
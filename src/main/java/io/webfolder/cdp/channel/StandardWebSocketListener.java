@@ -24,7 +24,6 @@ import javax.websocket.Endpoint;
 import javax.websocket.EndpointConfig;
 import javax.websocket.Session;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 @ClientEndpoint
@@ -32,11 +31,11 @@ public class StandardWebSocketListener extends Endpoint implements javax.websock
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
     private final StringBuilder buffer = new StringBuilder(0);
 
-    public StandardWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public StandardWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
@@ -59,7 +58,10 @@ public class StandardWebSocketListener extends Endpoint implements javax.websock
 
     @Override
     public void onClose(Session session, CloseReason closeReason) {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
         buffer.setLength(0);
     }
 
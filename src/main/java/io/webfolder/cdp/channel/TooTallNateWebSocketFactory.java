@@ -22,7 +22,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class TooTallNateWebSocketFactory implements ChannelFactory, AutoCloseable {
@@ -30,7 +29,7 @@ public class TooTallNateWebSocketFactory implements ChannelFactory, AutoCloseabl
     private TooTallNateWebSocketListener webSocket;
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         if ( webSocket != null ) {
             throw new IllegalStateException();
         }
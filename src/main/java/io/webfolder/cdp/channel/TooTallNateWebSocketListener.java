@@ -23,16 +23,15 @@ import java.net.URI;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class TooTallNateWebSocketListener extends WebSocketClient {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
-    public TooTallNateWebSocketListener(URI serverUri, SessionFactory factory, MessageHandler handler) {
+    public TooTallNateWebSocketListener(URI serverUri, SessionFactory factory, MessageProcessor handler) {
         super(serverUri);
         this.factory = factory;
         this.handler = handler;
@@ -50,7 +49,10 @@ public class TooTallNateWebSocketListener extends WebSocketClient {
 
     @Override
     public void onClose(int code, String reason, boolean remote) {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
     }
 
     @Override
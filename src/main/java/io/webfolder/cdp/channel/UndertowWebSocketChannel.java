@@ -26,7 +26,6 @@ import org.xnio.IoFuture;
 import io.undertow.websockets.core.WebSocketChannel;
 import io.undertow.websockets.core.WebSockets;
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class UndertowWebSocketChannel implements Channel {
@@ -35,13 +34,13 @@ public class UndertowWebSocketChannel implements Channel {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
     private WebSocketChannel webSocket;
 
     public UndertowWebSocketChannel(IoFuture<WebSocketChannel> future,
                                     SessionFactory factory,
-                                    MessageHandler handler) {
+                                    MessageProcessor handler) {
         this.future = future;
         this.factory = factory;
         this.handler = handler;
@@ -34,7 +34,6 @@ import io.undertow.server.DefaultByteBufferPool;
 import io.undertow.websockets.client.WebSocketClient.ConnectionBuilder;
 import io.undertow.websockets.core.WebSocketChannel;
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class UndertowWebSocketFactory implements ChannelFactory, AutoCloseable {
@@ -60,7 +59,7 @@ public class UndertowWebSocketFactory implements ChannelFactory, AutoCloseable {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         String url = ((WebSocketConnection) connection).getUrl();
         URI uri;
         try {
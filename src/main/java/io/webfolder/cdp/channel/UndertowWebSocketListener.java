@@ -24,16 +24,15 @@ import io.undertow.websockets.core.AbstractReceiveListener;
 import io.undertow.websockets.core.BufferedBinaryMessage;
 import io.undertow.websockets.core.BufferedTextMessage;
 import io.undertow.websockets.core.WebSocketChannel;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class UndertowWebSocketListener extends AbstractReceiveListener {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
-    public UndertowWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public UndertowWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
@@ -45,6 +44,9 @@ public class UndertowWebSocketListener extends AbstractReceiveListener {
 
     @Override
     protected void onFullCloseMessage(final WebSocketChannel channel, BufferedBinaryMessage message) throws IOException {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
     }
 }
@@ -28,14 +28,13 @@ import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.WebSocket;
 import io.vertx.core.http.WebSocketConnectOptions;
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 class VertxWebSocketChannel implements Channel {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
     private final HttpClient httpClient;
 
@@ -45,7 +44,7 @@ class VertxWebSocketChannel implements Channel {
 
     public VertxWebSocketChannel(SessionFactory          factory,
                                  HttpClient              httpClient,
-                                 MessageHandler          handler,
+                                 MessageProcessor        handler,
                                  WebSocketConnectOptions options) {
         this.factory = factory;
         this.httpClient = httpClient;
@@ -62,7 +61,7 @@ class VertxWebSocketChannel implements Channel {
     public void disconnect() {
         webSocket.close(CLOSE_STATUS_CODE,
                         CLOSE_REASON_TEXT,
-                        event -> factory.close());
+                        event -> closeFactory());
     }
 
     @Override
@@ -78,7 +77,7 @@ class VertxWebSocketChannel implements Channel {
                 webSocket = event.result();
                 webSocket.exceptionHandler(onError -> semaphore.release());
                 webSocket.textMessageHandler(content -> handler.process(content));
-                webSocket.closeHandler(onCloseEvent -> factory.close());
+                webSocket.closeHandler(onCloseEvent -> closeFactory());
             }
             semaphore.release();
         });
@@ -91,4 +90,11 @@ class VertxWebSocketChannel implements Channel {
             throw new IllegalStateException();
         }
     }
+
+    private void closeFactory() {
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
+    }
 }
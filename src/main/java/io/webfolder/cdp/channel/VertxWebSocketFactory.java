@@ -26,7 +26,6 @@ import java.net.URISyntaxException;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.WebSocketConnectOptions;
 import io.webfolder.cdp.exception.CdpException;
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class VertxWebSocketFactory implements ChannelFactory {
@@ -43,7 +42,7 @@ public class VertxWebSocketFactory implements ChannelFactory {
     @Override
     public Channel createChannel(Connection     connection,
                                  SessionFactory factory,
-                                 MessageHandler handler) {
+                                 MessageProcessor handler) {
         WebSocketConnection webSocketConnection = (WebSocketConnection) connection;
         WebSocketConnectOptions options = new WebSocketConnectOptions();
         URI uri = null;
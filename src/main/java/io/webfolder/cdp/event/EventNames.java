@@ -0,0 +1,106 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.event;
+
+/**
+ * Static, allocation free lookup from a protocol method name
+ * (e.g. <code>Page.loadEventFired</code>) to {@link Events}.
+ *
+ * <p>
+ * The table is a collision free (perfect) hash of {@link Events#values()}, the
+ * seed and the table size are found offline (see {@code EventNamesTest}) and every
+ * lookup hashes the name, probes exactly one slot and compares it with the expected
+ * method name. Lookups work on {@link CharSequence} ranges so that the method name
+ * can be classified without creating a substring.
+ * </p>
+ */
+public final class EventNames {
+
+    // update both values with EventNamesTest#findSeed() when Events changes
+    static final int SEED = 97;
+
+    static final int SIZE = 2048;
+
+    private static final int MASK = SIZE - 1;
+
+    private static final Events[] EVENTS = new Events[SIZE];
+
+    private static final String[] NAMES = new String[SIZE];
+
+    static {
+        for (Events next : Events.values()) {
+            String name = next.toString();
+            int index = hash(name, 0, name.length(), SEED) & MASK;
+            if (NAMES[index] != null) {
+                throw new IllegalStateException("Event name hash collision: " + name + ", " + NAMES[index]);
+            }
+            EVENTS[index] = next;
+            NAMES[index]  = name;
+        }
+    }
+
+    private EventNames() {
+        // no op
+    }
+
+    static int hash(CharSequence value, int start, int end, int seed) {
+        int h = seed ^ (end - start);
+        for (int i = start; i < end; i++) {
+            h = h * 31 + value.charAt(i);
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * @param method protocol method name, e.g. <code>Network.requestWillBeSent</code>
+     * 
+     * @return matching event or {@code null} if the method is not a known event
+     */
+    public static Events lookup(CharSequence method) {
+        return method == null ? null : lookup(method, 0, method.length());
+    }
+
+    /**
+     * @param value characters which contain the method name
+     * @param start start index of the method name, inclusive
+     * @param end end index of the method name, exclusive
+     * 
+     * @return matching event or {@code null} if the method is not a known event
+     */
+    public static Events lookup(CharSequence value, int start, int end) {
+        int index = hash(value, start, end, SEED) & MASK;
+        String name = NAMES[index];
+        if (name == null || name.length() != end - start) {
+            return null;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != value.charAt(start + i)) {
+                return null;
+            }
+        }
+        return EVENTS[index];
+    }
+}
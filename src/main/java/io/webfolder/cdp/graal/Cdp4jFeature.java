@@ -20,12 +20,15 @@ package io.webfolder.cdp.graal;
 
 import java.lang.reflect.AccessibleObject;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.graalvm.nativeimage.hosted.Feature;
 
@@ -38,7 +41,6 @@ import com.google.gson.reflect.TypeToken;
 import com.oracle.svm.core.annotate.Substitute;
 import com.oracle.svm.core.annotate.TargetClass;
 
-import io.webfolder.cdp.ProcessManager;
 import io.webfolder.cdp.logger.CdpConsoleLogger;
 import io.webfolder.cdp.logger.CdpConsoleLogggerLevel;
 import io.webfolder.cdp.logger.CdpLogger;
@@ -52,30 +54,15 @@ final class Target_io_webfolder_cdp_logger_CdpLoggerFactory {
     }
 }
 
-@TargetClass(className = "io.webfolder.cdp.session.CdpTypeAdapterFactory")
-final class Target_io_webfolder_cdp_session_CdpTypeAdapterFactory {
-
-    @Substitute
-    @SuppressWarnings("rawtypes")
-    public TypeAdapter create(Gson gson, TypeToken type) {
-        return null;
-    }
-}
-
-@TargetClass(io.webfolder.cdp.AdaptiveProcessManager.class)
-final class Target_io_webfolder_cdp_AdaptiveProcessManager {
-
-    @Substitute
-    private ProcessManager init() {
-        return null;
-    }
-}
-
 public final class Cdp4jFeature implements Feature {
 
     @Override
     public void beforeAnalysis(BeforeAnalysisAccess access) {
-        // no op
+        // reflective gson adapters are substituted below, protocol types
+        // can only be decoded with the stag generated adapters
+        if (access.findClassByName("com.vimeo.stag.KnownTypeAdapters") == null) {
+            throw new IllegalStateException("cdp4j native image requires the stag runtime (com.vimeo.stag:stag-library) on the image class path");
+        }
     }
 }
 
@@ -104,7 +91,7 @@ final class Target_com_google_gson_internal_ConstructorConstructor {
     @SuppressWarnings("unchecked")
     public <T> ObjectConstructor<T> get(TypeToken<T> typeToken) {
         Class<? super T> rt = typeToken.getRawType();
-        if (ArrayList.class.equals(rt) || List.class.equals(rt)) {
+        if (ArrayList.class.equals(rt) || List.class.equals(rt) || Collection.class.equals(rt)) {
             return ArrayListObjectConstructor.INSTANCE;
         } else if (HashMap.class.equals(rt)) {
             return HashMapObjectConstructor.INSTANCE;
@@ -112,6 +99,8 @@ final class Target_com_google_gson_internal_ConstructorConstructor {
             return LinkedHashMapObjectConstructor.INSTANCE;
         } else if (HashSet.class.equals(rt) || Set.class.equals(rt)) {
             return HashSetObjectConstructor.INSTANCE;
+        } else if (TreeMap.class.equals(rt) || SortedMap.class.equals(rt)) {
+            return TreeMapObjectConstructor.INSTANCE;
         }
         return null;
     }
@@ -0,0 +1,199 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.webfolder.cdp.exception.CdpException;
+
+/**
+ * Writes log lines on a dedicated daemon thread.
+ *
+ * <p>
+ * Logging threads only enqueue the formatted line, the writer thread drains
+ * the queue in batches and flushes once per batch. If the queue is full the
+ * line is dropped instead of blocking the caller, see {@link #getDropped()}.
+ * </p>
+ *
+ * <pre>
+ * AsyncLogWriter writer = AsyncLogWriter.toFile(Paths.get("cdp4j.log"));
+ * Options options = Options.builder()
+ *                          .loggerType(CdpLoggerType.Console)
+ *                          .logWriter(writer)
+ *                          .build();
+ * </pre>
+ */
+public class AsyncLogWriter implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final BlockingQueue<String> queue;
+
+    private final Writer writer;
+
+    private final int batchSize;
+
+    private final Thread thread;
+
+    private final boolean closeWriter;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public AsyncLogWriter(OutputStream out) {
+        this(new OutputStreamWriter(out, UTF_8), DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param writer target writer
+     * @param capacity maximum number of pending log lines
+     * @param batchSize maximum number of log lines written per flush
+     */
+    public AsyncLogWriter(Writer writer, int capacity, int batchSize) {
+        this(writer, capacity, batchSize, false);
+    }
+
+    private AsyncLogWriter(Writer writer, int capacity, int batchSize, boolean closeWriter) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.queue       = new ArrayBlockingQueue<>(capacity);
+        this.writer      = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.batchSize   = batchSize;
+        this.closeWriter = closeWriter;
+        this.thread      = new Thread(this::run, "cdp4j-LogWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Creates a writer which prints to the standard output.
+     */
+    public static AsyncLogWriter toConsole() {
+        return new AsyncLogWriter(System.out);
+    }
+
+    /**
+     * Creates a writer which appends to the given file.
+     */
+    public static AsyncLogWriter toFile(Path file) {
+        try {
+            return new AsyncLogWriter(Files.newBufferedWriter(file, UTF_8, CREATE, APPEND),
+                                            DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, true);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    /**
+     * Enqueues the log line, never blocks.
+     *
+     * @return {@code false} if the line is dropped
+     */
+    public boolean append(String line) {
+        if (closed || ! queue.offer(line)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return number of log lines dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            while ( ! closed || ! queue.isEmpty() ) {
+                String first = queue.poll(1, SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            queue.drainTo(batch);
+            write(batch);
+        }
+    }
+
+    private void write(List<String> batch) {
+        try {
+            for (String next : batch) {
+                writer.write(next);
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Writes the pending log lines and stops the writer thread.
+     * The underlying file is closed if the writer is created with {@link #toFile(Path)}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            thread.join(SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (closeWriter) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
@@ -24,66 +24,116 @@ import static io.webfolder.cdp.logger.CdpConsoleLogggerLevel.Info;
 import static io.webfolder.cdp.logger.CdpConsoleLogggerLevel.Warn;
 import static io.webfolder.cdp.logger.MessageFormatter.arrayFormat;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
 public class CdpConsoleLogger implements CdpLogger {
 
     private final CdpConsoleLogggerLevel loggerLevel;
 
+    private final AsyncLogWriter writer;
+
+    private final boolean infoEnabled;
+
+    private final boolean debugEnabled;
+
+    private final boolean warnEnabled;
+
+    private final boolean errorEnabled;
+
     public CdpConsoleLogger() {
         this(Info);
     }
 
     public CdpConsoleLogger(final CdpConsoleLogggerLevel loggerLevel) {
-        this.loggerLevel = loggerLevel;
+        this(loggerLevel, null);
+    }
+
+    /**
+     * @param loggerLevel logger level
+     * @param writer log lines are appended to this writer on a background thread,
+     *               if {@code null} messages are printed to the console synchronously
+     */
+    public CdpConsoleLogger(final CdpConsoleLogggerLevel loggerLevel, final AsyncLogWriter writer) {
+        this.loggerLevel  = loggerLevel;
+        this.writer       = writer;
+        this.debugEnabled = Debug.equals(loggerLevel);
+        this.infoEnabled  = Info.equals(loggerLevel) || debugEnabled;
+        this.warnEnabled  = Warn.equals(loggerLevel) || infoEnabled;
+        this.errorEnabled = Error.equals(loggerLevel) || warnEnabled;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return infoEnabled;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return debugEnabled;
     }
 
     @Override
     public void info(String message, Object... args) {
-        if (Info.equals(loggerLevel) ||
-                Debug.equals(loggerLevel)) {
+        if (infoEnabled) {
             FormattingTuple tuple = arrayFormat(message, args);
-            System.out.println("[INFO] " + tuple.getMessage());
+            print("[INFO] ", tuple.getMessage());
         }
     }
 
     @Override
     public void debug(String message, Object... args) {
-        if (Debug.equals(loggerLevel)) {
+        if (debugEnabled) {
             FormattingTuple tuple = arrayFormat(message, args);
-            System.out.println("[DEBUG] " + tuple.getMessage());
+            print("[DEBUG] ", tuple.getMessage());
         }
     }
 
     @Override
     public void warn(String message, Object... args) {
-        if (Info.equals(loggerLevel)     ||
-                Warn.equals(loggerLevel) ||
-                Debug.equals(loggerLevel)) {
+        if (warnEnabled) {
             FormattingTuple tuple = arrayFormat(message, args);
-            System.out.println("[WARN] " + tuple.getMessage());
+            print("[WARN] ", tuple.getMessage());
         }
     }
 
     @Override
     public void error(String message, Object... args) {
-        if (Info.equals(loggerLevel)      ||
-                Warn.equals(loggerLevel)  ||
-                Error.equals(loggerLevel) ||
-                Debug.equals(loggerLevel)) {
+        if (errorEnabled) {
             FormattingTuple tuple = arrayFormat(message, args);
-            System.out.println("[ERROR] " + tuple.getMessage());
+            print("[ERROR] ", tuple.getMessage());
         }
     }
 
     @Override
     public void error(String message, Throwable t) {
-        if (Info.equals(loggerLevel)      ||
-                Warn.equals(loggerLevel)  ||
-                Error.equals(loggerLevel) ||
-                Debug.equals(loggerLevel)) {
-            System.err.println("[ERROR] " + message);
-            if ( t != null ) {
-                t.printStackTrace();
+        if (errorEnabled) {
+            if (writer != null) {
+                if (t == null) {
+                    writer.append("[ERROR] " + message);
+                } else {
+                    StringWriter trace = new StringWriter();
+                    t.printStackTrace(new PrintWriter(trace));
+                    writer.append("[ERROR] " + message + System.lineSeparator() + trace);
+                }
+            } else {
+                System.err.println("[ERROR] " + message);
+                if ( t != null ) {
+                    t.printStackTrace();
+                }
             }
         }
     }
+
+    private void print(String prefix, String message) {
+        if (writer != null) {
+            writer.append(prefix + message);
+        } else {
+            System.out.println(prefix + message);
+        }
+    }
+
+    public CdpConsoleLogggerLevel getLoggerLevel() {
+        return loggerLevel;
+    }
 }
@@ -32,6 +32,16 @@ public class CdpLog4jLogger implements CdpLogger {
         logger = Logger.getLogger(name);
     }
 
+    @Override
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
     @Override
     public void info(String message, Object... args) {
         if (logger.isInfoEnabled()) {
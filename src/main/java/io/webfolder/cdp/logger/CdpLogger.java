@@ -18,6 +18,8 @@
  */
 package io.webfolder.cdp.logger;
 
+import java.util.function.Supplier;
+
 public interface CdpLogger {
 
     void info(String message, Object ...args);
@@ -29,4 +31,32 @@ public interface CdpLogger {
     void error(String message, Object ...args);
 
     void error(String message, Throwable t);
+
+    default boolean isInfoEnabled() {
+        return true;
+    }
+
+    default boolean isDebugEnabled() {
+        return true;
+    }
+
+    /**
+     * Logs the message only if info level is enabled,
+     * the supplier is not invoked otherwise.
+     */
+    default void info(Supplier<String> message) {
+        if (isInfoEnabled()) {
+            info("{}", message.get());
+        }
+    }
+
+    /**
+     * Logs the message only if debug level is enabled,
+     * the supplier is not invoked otherwise.
+     */
+    default void debug(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            debug("{}", message.get());
+        }
+    }
 }
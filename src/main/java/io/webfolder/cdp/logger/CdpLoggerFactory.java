@@ -25,6 +25,8 @@ public class CdpLoggerFactory implements LoggerFactory {
 
     private final CdpLoggerType loggerType;
 
+    private final AsyncLogWriter writer;
+
     private static CdpLogger NULL_LOGGER = new CdpLogger() {
 
         @Override
@@ -41,6 +43,12 @@ public class CdpLoggerFactory implements LoggerFactory {
 
         @Override
         public void error(String message, Throwable t) { }
+
+        @Override
+        public boolean isInfoEnabled() { return false; }
+
+        @Override
+        public boolean isDebugEnabled() { return false; }
     };
 
     public CdpLoggerFactory() {
@@ -48,7 +56,17 @@ public class CdpLoggerFactory implements LoggerFactory {
     }
 
     public CdpLoggerFactory(final CdpLoggerType loggerType) {
+        this(loggerType, null);
+    }
+
+    /**
+     * @param loggerType logger type
+     * @param writer asynchronous writer of the {@link CdpLoggerType#Console} logger,
+     *               if {@code null} console logger prints synchronously
+     */
+    public CdpLoggerFactory(final CdpLoggerType loggerType, final AsyncLogWriter writer) {
         this.loggerType = loggerType;
+        this.writer     = writer;
     }
 
     @Override
@@ -56,7 +74,7 @@ public class CdpLoggerFactory implements LoggerFactory {
         try {
             switch (loggerType) {
                 case Slf4j  : return new CdpSlf4jLogger(name);
-                case Console: return new CdpConsoleLogger(loggerLevel);
+                case Console: return new CdpConsoleLogger(loggerLevel, writer);
                 case Log4j  : return new CdpLog4jLogger(name);
                 default     : return NULL_LOGGER;
             }
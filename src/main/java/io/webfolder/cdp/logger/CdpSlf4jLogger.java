@@ -29,6 +29,16 @@ public class CdpSlf4jLogger implements CdpLogger {
         log = LoggerFactory.getLogger(name);
     }
 
+    @Override
+    public boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
     @Override
     public void info(final String message, final Object ...args) {
         if (log.isInfoEnabled()) {
@@ -0,0 +1,112 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.metrics;
+
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link MetricsCollector} which keeps per method statistics.
+ * 
+ * <pre>
+ * CommandMetrics metrics = new CommandMetrics();
+ * Options options = Options.builder().metricsCollector(metrics).build();
+ * ...
+ * for (MethodMetrics next : metrics.getSlowest(10)) {
+ *     System.out.println(next);
+ * }
+ * </pre>
+ */
+public class CommandMetrics implements MetricsCollector {
+
+    private final Map<String, MethodMetrics> commands = new ConcurrentHashMap<>();
+
+    private final Map<String, MethodMetrics> events = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(String method) {
+        getOrCreate(commands, method).started();
+    }
+
+    @Override
+    public void commandCompleted(String method, long duration, int requestSize, int responseSize, int errorCode) {
+        getOrCreate(commands, method).completed(duration, requestSize, responseSize, errorCode);
+    }
+
+    @Override
+    public void eventReceived(String event, int size) {
+        getOrCreate(events, event).received(size);
+    }
+
+    private MethodMetrics getOrCreate(Map<String, MethodMetrics> map, String method) {
+        MethodMetrics metrics = map.get(method);
+        if (metrics == null) {
+            metrics = map.computeIfAbsent(method, MethodMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * @param method command name, e.g. {@code Page.navigate}
+     * 
+     * @return command metrics or {@code null} if the command is never invoked
+     */
+    public MethodMetrics getCommand(String method) {
+        return commands.get(method);
+    }
+
+    /**
+     * @param event event name, e.g. {@code Page.lifecycleEvent}
+     * 
+     * @return event metrics or {@code null} if the event is never received
+     */
+    public MethodMetrics getEvent(String event) {
+        return events.get(event);
+    }
+
+    public Collection<MethodMetrics> getCommands() {
+        return unmodifiableCollection(commands.values());
+    }
+
+    public Collection<MethodMetrics> getEvents() {
+        return unmodifiableCollection(events.values());
+    }
+
+    /**
+     * Gets the commands which consumed the most time in total.
+     * 
+     * @param limit maximum number of commands
+     */
+    public List<MethodMetrics> getSlowest(int limit) {
+        List<MethodMetrics> list = new ArrayList<>(commands.values());
+        list.sort(comparingLong((MethodMetrics m) -> (long) (m.getLatency().getMean() * m.getCount())).reversed());
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    public void reset() {
+        commands.clear();
+        events.clear();
+    }
+}
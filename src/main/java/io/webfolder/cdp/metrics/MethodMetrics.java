@@ -0,0 +1,131 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.metrics;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a single protocol command or event.
+ */
+public class MethodMetrics {
+
+    private final String method;
+
+    private final LongAdder count = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    MethodMetrics(String method) {
+        this.method = method;
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void completed(long duration, int requestSize, int responseSize, int errorCode) {
+        inFlight.decrementAndGet();
+        count.increment();
+        bytesOut.add(requestSize);
+        bytesIn.add(responseSize);
+        latency.record(duration);
+        if (errorCode != 0) {
+            errors.computeIfAbsent(errorCode, code -> new LongAdder()).increment();
+        }
+    }
+
+    void received(int size) {
+        count.increment();
+        bytesIn.add(size);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return number of completed commands or received events
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return number of commands waiting for response
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * @return number of failed commands grouped by error code
+     */
+    public Map<Integer, Long> getErrors() {
+        Map<Integer, Long> map = new HashMap<>();
+        for (Map.Entry<Integer, LongAdder> next : errors.entrySet()) {
+            map.put(next.getKey(), next.getValue().sum());
+        }
+        return unmodifiableMap(map);
+    }
+
+    public long getErrorCount() {
+        long sum = 0;
+        for (LongAdder next : errors.values()) {
+            sum += next.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * @return command latency, empty for events
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodMetrics [method=" + method + ", count=" + getCount() +
+                    ", inFlight=" + getInFlight() + ", bytesOut=" + getBytesOut() +
+                    ", bytesIn=" + getBytesIn() + ", errors=" + getErrors() +
+                    ", latency=" + latency + "]";
+    }
+}
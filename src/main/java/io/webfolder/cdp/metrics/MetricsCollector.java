@@ -0,0 +1,59 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.metrics;
+
+/**
+ * Instrumentation SPI for the DevTools protocol traffic.
+ * 
+ * Implementations are called from the threads which send commands and
+ * process messages, hence they must be thread safe and must not block.
+ */
+public interface MetricsCollector {
+
+    /**
+     * Error code of the commands which are not completed within the read timeout.
+     */
+    int TIMEOUT = -1;
+
+    /**
+     * Invoked before the command is sent.
+     * 
+     * @param method command name, e.g. {@code Page.navigate}
+     */
+    void commandStarted(String method);
+
+    /**
+     * Invoked when the command is completed, failed or timed out.
+     * 
+     * @param method command name, e.g. {@code Page.navigate}
+     * @param duration latency in nanoseconds
+     * @param requestSize size of the request message (characters)
+     * @param responseSize size of the response message (characters), {@code 0} if there is no response
+     * @param errorCode {@code 0} on success, protocol error code or {@link #TIMEOUT}
+     */
+    void commandCompleted(String method, long duration, int requestSize, int responseSize, int errorCode);
+
+    /**
+     * Invoked when an event message is received.
+     * 
+     * @param event event name, e.g. {@code Page.lifecycleEvent}
+     * @param size size of the event message (characters)
+     */
+    void eventReceived(String event, int size);
+}
@@ -0,0 +1,97 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.metrics;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link MetricsCollector} which publishes metrics to a Micrometer {@link MeterRegistry}.
+ * 
+ * <ul>
+ * <li>{@code cdp4j.command} timer tagged with {@code method} and {@code status}</li>
+ * <li>{@code cdp4j.command.inflight} gauge tagged with {@code method}</li>
+ * <li>{@code cdp4j.command.chars.out} / {@code cdp4j.command.chars.in} summaries (message length in UTF-16 characters) tagged with {@code method}</li>
+ * <li>{@code cdp4j.event.chars} summary tagged with {@code event}</li>
+ * </ul>
+ */
+public class MicrometerMetricsCollector implements MetricsCollector {
+
+    private final MeterRegistry registry;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsCollector(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(String method) {
+        AtomicInteger gauge = inFlight.get(method);
+        if (gauge == null) {
+            gauge = inFlight.computeIfAbsent(method, key -> registry.gauge("cdp4j.command.inflight",
+                                                                            singletonList(Tag.of("method", key)),
+                                                                            new AtomicInteger()));
+        }
+        gauge.incrementAndGet();
+    }
+
+    @Override
+    public void commandCompleted(String method, long duration, int requestSize, int responseSize, int errorCode) {
+        AtomicInteger gauge = inFlight.get(method);
+        if (gauge != null) {
+            gauge.decrementAndGet();
+        }
+        String status = errorCode == 0 ? "success" : errorCode == TIMEOUT ? "timeout" : String.valueOf(errorCode);
+        Timer.builder("cdp4j.command")
+             .tag("method", method)
+             .tag("status", status)
+             .publishPercentileHistogram()
+             .register(registry)
+             .record(duration, NANOSECONDS);
+        DistributionSummary.builder("cdp4j.command.chars.out")
+                           .baseUnit("characters")
+                           .tag("method", method)
+                           .register(registry)
+                           .record(requestSize);
+        DistributionSummary.builder("cdp4j.command.chars.in")
+                           .baseUnit("characters")
+                           .tag("method", method)
+                           .register(registry)
+                           .record(responseSize);
+    }
+
+    @Override
+    public void eventReceived(String event, int size) {
+        DistributionSummary.builder("cdp4j.event.chars")
+                           .baseUnit("characters")
+                           .tag("event", event)
+                           .register(registry)
+                           .record(size);
+    }
+}
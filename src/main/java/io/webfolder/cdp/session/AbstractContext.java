@@ -0,0 +1,131 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+
+import io.webfolder.cdp.exception.CommandException;
+
+abstract class AbstractContext implements Context {
+
+    private static final int IDLE       =  0;
+
+    private static final int COMPLETING = -1;
+
+    private static final int COMPLETED  = -2;
+
+    private static final int CANCELLED  = -3;
+
+    // positive values are the id of the pending command
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    private volatile JsonElement data;
+
+    private volatile CommandException error;
+
+    private volatile int size;
+
+    @Override
+    public void reset(int id) {
+        data  = null;
+        error = null;
+        size  = 0;
+        clear();
+        state.set(id);
+    }
+
+    @Override
+    public int getId() {
+        int id = state.get();
+        return id > 0 ? id : IDLE;
+    }
+
+    @Override
+    public boolean await(int timeout) {
+        final int id = state.get();
+        if (id > 0) {
+            final long deadline = nanoTime() + MILLISECONDS.toNanos(timeout);
+            long remaining;
+            while (state.get() == id && (remaining = deadline - nanoTime()) > 0) {
+                park(remaining);
+            }
+            // cancel the command so that a late response can not complete a recycled context
+            if (state.compareAndSet(id, CANCELLED)) {
+                return false;
+            }
+        }
+        while (state.get() == COMPLETING) {
+            Thread.yield();
+        }
+        return state.get() == COMPLETED;
+    }
+
+    @Override
+    public boolean complete(int id, JsonElement data, CommandException error, int size) {
+        if (id > 0 && state.compareAndSet(id, COMPLETING)) {
+            this.data  = data;
+            this.error = error;
+            this.size  = size;
+            state.set(COMPLETED);
+            unpark();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void release() {
+        int id = state.get();
+        if (id > 0 && state.compareAndSet(id, CANCELLED)) {
+            unpark();
+        }
+    }
+
+    @Override
+    public JsonElement getData() {
+        return data;
+    }
+
+    @Override
+    public CommandException getError() {
+        return error;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Blocks the waiting thread at most given nanoseconds, spurious wakeups are allowed.
+     */
+    protected abstract void park(long nanos);
+
+    protected abstract void unpark();
+
+    /**
+     * Discards stale wakeup signals of the previous command.
+     */
+    protected abstract void clear();
+}
@@ -0,0 +1,58 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.TRUE;
+
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.target.AttachedToTarget;
+import io.webfolder.cdp.event.target.DetachedFromTarget;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.target.TargetInfo;
+
+class AutoAttachListener implements EventListener {
+
+    private final SessionFactory factory;
+
+    private final Session parent;
+
+    AutoAttachListener(SessionFactory factory, Session parent) {
+        this.factory = factory;
+        this.parent  = parent;
+    }
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        switch (event) {
+            case TargetAttachedToTarget:
+                AttachedToTarget attached = (AttachedToTarget) value;
+                TargetInfo info = attached.getTargetInfo();
+                // registers the child before its first event, commands are sent off this thread
+                Session child = factory.attachChild(parent, attached.getSessionId(), info);
+                factory.initChild(child, info, TRUE.equals(attached.isWaitingForDebugger()));
+            break;
+            case TargetDetachedFromTarget:
+                DetachedFromTarget detached = (DetachedFromTarget) value;
+                factory.detachChild(parent, detached.getSessionId());
+            break;
+            default:
+            break;
+        }
+    }
+}
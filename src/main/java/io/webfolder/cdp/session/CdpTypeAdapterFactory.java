@@ -18,63 +18,1002 @@
  */
 package io.webfolder.cdp.session;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 
+/**
+ * Creates the build time generated streaming type adapters of the protocol types and events.
+ * 
+ * Adapters are selected with a single switch on the class name, there are no class loading
+ * probes and protocol types never fall back to the reflective type adapter of Gson.
+ * Gson caches the created adapters per type.
+ * 
+ * Generated by CdpTypeAdapterFactoryGenerator (test sources), do not edit.
+ */
 class CdpTypeAdapterFactory implements TypeAdapterFactory, AutoCloseable {
 
-    private final ClassLoader cl = getClass().getClassLoader();
-
-    private static final String EVENT_PACKAGE  = "io.webfolder.cdp.event";
-
-    private static final String TYPE_PACKAGE   = "io.webfolder.cdp.type";
-
-    private static final String ADAPTER_PREFIX = "$TypeAdapter";
-
-    @SuppressWarnings("rawtypes")
-    private Map<Class, TypeAdapter> adapters = new ConcurrentHashMap<>();
-
     @Override
-    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @SuppressWarnings("unchecked")
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
-        final Class clazz = type.getRawType();
-        final String packageName = clazz.getPackage().getName();
-        if ( packageName != null &&
-                (packageName.startsWith(EVENT_PACKAGE) ||
-                 packageName.startsWith(TYPE_PACKAGE)) ) {
-            final TypeAdapter typeAdapter = adapters.get(clazz);
-            if ( typeAdapter != null ) {
-                return typeAdapter;
-            }
-            try {
-                final Class<?> typeAdapterClass = cl.loadClass(clazz.getName() + ADAPTER_PREFIX);
-                final Constructor<?> constructor = typeAdapterClass.getConstructor(Gson.class);
-                final TypeAdapter instance = (TypeAdapter) constructor.newInstance(gson);
-                TypeAdapter existing = adapters.putIfAbsent(clazz, instance);
-                if ( existing != null ) {
-                    return existing;
-                } else {
-                    return instance;
-                }
-            } catch (ClassNotFoundException    | NoSuchMethodException    |
-                     SecurityException         | InstantiationException   |
-                     IllegalAccessException    | IllegalArgumentException |
-                     InvocationTargetException e) {
+        return (TypeAdapter<T>) create(gson, type.getRawType().getName());
+    }
+
+    static TypeAdapter<?> create(Gson gson, String className) {
+        if ( ! className.startsWith("io.webfolder.cdp.") ) {
+            return null;
+        }
+        switch (className) {
+            case "io.webfolder.cdp.event.animation.AnimationCanceled":
+                return new io.webfolder.cdp.event.animation.AnimationCanceled$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.animation.AnimationCreated":
+                return new io.webfolder.cdp.event.animation.AnimationCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.animation.AnimationStarted":
+                return new io.webfolder.cdp.event.animation.AnimationStarted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.applicationcache.ApplicationCacheStatusUpdated":
+                return new io.webfolder.cdp.event.applicationcache.ApplicationCacheStatusUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.applicationcache.NetworkStateUpdated":
+                return new io.webfolder.cdp.event.applicationcache.NetworkStateUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.backgroundservice.BackgroundServiceEventReceived":
+                return new io.webfolder.cdp.event.backgroundservice.BackgroundServiceEventReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.backgroundservice.RecordingStateChanged":
+                return new io.webfolder.cdp.event.backgroundservice.RecordingStateChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.cast.IssueUpdated":
+                return new io.webfolder.cdp.event.cast.IssueUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.cast.SinksUpdated":
+                return new io.webfolder.cdp.event.cast.SinksUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.console.MessageAdded":
+                return new io.webfolder.cdp.event.console.MessageAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.css.FontsUpdated":
+                return new io.webfolder.cdp.event.css.FontsUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.css.MediaQueryResultChanged":
+                return new io.webfolder.cdp.event.css.MediaQueryResultChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.css.StyleSheetAdded":
+                return new io.webfolder.cdp.event.css.StyleSheetAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.css.StyleSheetChanged":
+                return new io.webfolder.cdp.event.css.StyleSheetChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.css.StyleSheetRemoved":
+                return new io.webfolder.cdp.event.css.StyleSheetRemoved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.database.AddDatabase":
+                return new io.webfolder.cdp.event.database.AddDatabase$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.debugger.BreakpointResolved":
+                return new io.webfolder.cdp.event.debugger.BreakpointResolved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.debugger.Paused":
+                return new io.webfolder.cdp.event.debugger.Paused$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.debugger.Resumed":
+                return new io.webfolder.cdp.event.debugger.Resumed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.debugger.ScriptFailedToParse":
+                return new io.webfolder.cdp.event.debugger.ScriptFailedToParse$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.debugger.ScriptParsed":
+                return new io.webfolder.cdp.event.debugger.ScriptParsed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.AttributeModified":
+                return new io.webfolder.cdp.event.dom.AttributeModified$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.AttributeRemoved":
+                return new io.webfolder.cdp.event.dom.AttributeRemoved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.CharacterDataModified":
+                return new io.webfolder.cdp.event.dom.CharacterDataModified$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.ChildNodeCountUpdated":
+                return new io.webfolder.cdp.event.dom.ChildNodeCountUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.ChildNodeInserted":
+                return new io.webfolder.cdp.event.dom.ChildNodeInserted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.ChildNodeRemoved":
+                return new io.webfolder.cdp.event.dom.ChildNodeRemoved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.DistributedNodesUpdated":
+                return new io.webfolder.cdp.event.dom.DistributedNodesUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.DocumentUpdated":
+                return new io.webfolder.cdp.event.dom.DocumentUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.InlineStyleInvalidated":
+                return new io.webfolder.cdp.event.dom.InlineStyleInvalidated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.PseudoElementAdded":
+                return new io.webfolder.cdp.event.dom.PseudoElementAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.PseudoElementRemoved":
+                return new io.webfolder.cdp.event.dom.PseudoElementRemoved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.SetChildNodes":
+                return new io.webfolder.cdp.event.dom.SetChildNodes$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.ShadowRootPopped":
+                return new io.webfolder.cdp.event.dom.ShadowRootPopped$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.dom.ShadowRootPushed":
+                return new io.webfolder.cdp.event.dom.ShadowRootPushed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.domstorage.DomStorageItemAdded":
+                return new io.webfolder.cdp.event.domstorage.DomStorageItemAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.domstorage.DomStorageItemRemoved":
+                return new io.webfolder.cdp.event.domstorage.DomStorageItemRemoved$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.domstorage.DomStorageItemUpdated":
+                return new io.webfolder.cdp.event.domstorage.DomStorageItemUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.domstorage.DomStorageItemsCleared":
+                return new io.webfolder.cdp.event.domstorage.DomStorageItemsCleared$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.emulation.VirtualTimeAdvanced":
+                return new io.webfolder.cdp.event.emulation.VirtualTimeAdvanced$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.emulation.VirtualTimeBudgetExpired":
+                return new io.webfolder.cdp.event.emulation.VirtualTimeBudgetExpired$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.emulation.VirtualTimePaused":
+                return new io.webfolder.cdp.event.emulation.VirtualTimePaused$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.fetch.AuthRequired":
+                return new io.webfolder.cdp.event.fetch.AuthRequired$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.fetch.RequestPaused":
+                return new io.webfolder.cdp.event.fetch.RequestPaused$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.headlessexperimental.MainFrameReadyForScreenshots":
+                return new io.webfolder.cdp.event.headlessexperimental.MainFrameReadyForScreenshots$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.headlessexperimental.NeedsBeginFramesChanged":
+                return new io.webfolder.cdp.event.headlessexperimental.NeedsBeginFramesChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.heapprofiler.AddHeapSnapshotChunk":
+                return new io.webfolder.cdp.event.heapprofiler.AddHeapSnapshotChunk$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.heapprofiler.HeapStatsUpdate":
+                return new io.webfolder.cdp.event.heapprofiler.HeapStatsUpdate$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.heapprofiler.LastSeenObjectId":
+                return new io.webfolder.cdp.event.heapprofiler.LastSeenObjectId$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.heapprofiler.ReportHeapSnapshotProgress":
+                return new io.webfolder.cdp.event.heapprofiler.ReportHeapSnapshotProgress$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.heapprofiler.ResetProfiles":
+                return new io.webfolder.cdp.event.heapprofiler.ResetProfiles$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.inspector.Detached":
+                return new io.webfolder.cdp.event.inspector.Detached$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.inspector.TargetCrashed":
+                return new io.webfolder.cdp.event.inspector.TargetCrashed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.inspector.TargetReloadedAfterCrash":
+                return new io.webfolder.cdp.event.inspector.TargetReloadedAfterCrash$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.layertree.LayerPainted":
+                return new io.webfolder.cdp.event.layertree.LayerPainted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.layertree.LayerTreeDidChange":
+                return new io.webfolder.cdp.event.layertree.LayerTreeDidChange$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.log.EntryAdded":
+                return new io.webfolder.cdp.event.log.EntryAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.media.PlayerEventsAdded":
+                return new io.webfolder.cdp.event.media.PlayerEventsAdded$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.media.PlayerPropertiesChanged":
+                return new io.webfolder.cdp.event.media.PlayerPropertiesChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.media.PlayersCreated":
+                return new io.webfolder.cdp.event.media.PlayersCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.DataReceived":
+                return new io.webfolder.cdp.event.network.DataReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.EventSourceMessageReceived":
+                return new io.webfolder.cdp.event.network.EventSourceMessageReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.LoadingFailed":
+                return new io.webfolder.cdp.event.network.LoadingFailed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.LoadingFinished":
+                return new io.webfolder.cdp.event.network.LoadingFinished$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.RequestIntercepted":
+                return new io.webfolder.cdp.event.network.RequestIntercepted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.RequestServedFromCache":
+                return new io.webfolder.cdp.event.network.RequestServedFromCache$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.RequestWillBeSent":
+                return new io.webfolder.cdp.event.network.RequestWillBeSent$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.RequestWillBeSentExtraInfo":
+                return new io.webfolder.cdp.event.network.RequestWillBeSentExtraInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.ResourceChangedPriority":
+                return new io.webfolder.cdp.event.network.ResourceChangedPriority$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.ResponseReceived":
+                return new io.webfolder.cdp.event.network.ResponseReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.ResponseReceivedExtraInfo":
+                return new io.webfolder.cdp.event.network.ResponseReceivedExtraInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.SignedExchangeReceived":
+                return new io.webfolder.cdp.event.network.SignedExchangeReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketClosed":
+                return new io.webfolder.cdp.event.network.WebSocketClosed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketCreated":
+                return new io.webfolder.cdp.event.network.WebSocketCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketFrameError":
+                return new io.webfolder.cdp.event.network.WebSocketFrameError$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketFrameReceived":
+                return new io.webfolder.cdp.event.network.WebSocketFrameReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketFrameSent":
+                return new io.webfolder.cdp.event.network.WebSocketFrameSent$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketHandshakeResponseReceived":
+                return new io.webfolder.cdp.event.network.WebSocketHandshakeResponseReceived$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.network.WebSocketWillSendHandshakeRequest":
+                return new io.webfolder.cdp.event.network.WebSocketWillSendHandshakeRequest$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.overlay.InspectModeCanceled":
+                return new io.webfolder.cdp.event.overlay.InspectModeCanceled$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.overlay.InspectNodeRequested":
+                return new io.webfolder.cdp.event.overlay.InspectNodeRequested$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.overlay.NodeHighlightRequested":
+                return new io.webfolder.cdp.event.overlay.NodeHighlightRequested$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.overlay.ScreenshotRequested":
+                return new io.webfolder.cdp.event.overlay.ScreenshotRequested$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.CompilationCacheProduced":
+                return new io.webfolder.cdp.event.page.CompilationCacheProduced$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.DomContentEventFired":
+                return new io.webfolder.cdp.event.page.DomContentEventFired$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.DownloadWillBegin":
+                return new io.webfolder.cdp.event.page.DownloadWillBegin$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FileChooserOpened":
+                return new io.webfolder.cdp.event.page.FileChooserOpened$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameAttached":
+                return new io.webfolder.cdp.event.page.FrameAttached$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameClearedScheduledNavigation":
+                return new io.webfolder.cdp.event.page.FrameClearedScheduledNavigation$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameDetached":
+                return new io.webfolder.cdp.event.page.FrameDetached$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameNavigated":
+                return new io.webfolder.cdp.event.page.FrameNavigated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameRequestedNavigation":
+                return new io.webfolder.cdp.event.page.FrameRequestedNavigation$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameResized":
+                return new io.webfolder.cdp.event.page.FrameResized$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameScheduledNavigation":
+                return new io.webfolder.cdp.event.page.FrameScheduledNavigation$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameStartedLoading":
+                return new io.webfolder.cdp.event.page.FrameStartedLoading$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.FrameStoppedLoading":
+                return new io.webfolder.cdp.event.page.FrameStoppedLoading$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.InterstitialHidden":
+                return new io.webfolder.cdp.event.page.InterstitialHidden$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.InterstitialShown":
+                return new io.webfolder.cdp.event.page.InterstitialShown$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.JavascriptDialogClosed":
+                return new io.webfolder.cdp.event.page.JavascriptDialogClosed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.JavascriptDialogOpening":
+                return new io.webfolder.cdp.event.page.JavascriptDialogOpening$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.LifecycleEvent":
+                return new io.webfolder.cdp.event.page.LifecycleEvent$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.LoadEventFired":
+                return new io.webfolder.cdp.event.page.LoadEventFired$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.NavigatedWithinDocument":
+                return new io.webfolder.cdp.event.page.NavigatedWithinDocument$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.NavigationRequested":
+                return new io.webfolder.cdp.event.page.NavigationRequested$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.ScreencastFrame":
+                return new io.webfolder.cdp.event.page.ScreencastFrame$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.ScreencastVisibilityChanged":
+                return new io.webfolder.cdp.event.page.ScreencastVisibilityChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.page.WindowOpen":
+                return new io.webfolder.cdp.event.page.WindowOpen$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.performance.Metrics":
+                return new io.webfolder.cdp.event.performance.Metrics$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.profiler.ConsoleProfileFinished":
+                return new io.webfolder.cdp.event.profiler.ConsoleProfileFinished$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.profiler.ConsoleProfileStarted":
+                return new io.webfolder.cdp.event.profiler.ConsoleProfileStarted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.BindingCalled":
+                return new io.webfolder.cdp.event.runtime.BindingCalled$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ConsoleAPICalled":
+                return new io.webfolder.cdp.event.runtime.ConsoleAPICalled$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ExceptionRevoked":
+                return new io.webfolder.cdp.event.runtime.ExceptionRevoked$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ExceptionThrown":
+                return new io.webfolder.cdp.event.runtime.ExceptionThrown$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ExecutionContextCreated":
+                return new io.webfolder.cdp.event.runtime.ExecutionContextCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ExecutionContextDestroyed":
+                return new io.webfolder.cdp.event.runtime.ExecutionContextDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.ExecutionContextsCleared":
+                return new io.webfolder.cdp.event.runtime.ExecutionContextsCleared$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.runtime.InspectRequested":
+                return new io.webfolder.cdp.event.runtime.InspectRequested$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.security.CertificateError":
+                return new io.webfolder.cdp.event.security.CertificateError$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.security.SecurityStateChanged":
+                return new io.webfolder.cdp.event.security.SecurityStateChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.security.VisibleSecurityStateChanged":
+                return new io.webfolder.cdp.event.security.VisibleSecurityStateChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.serviceworker.WorkerErrorReported":
+                return new io.webfolder.cdp.event.serviceworker.WorkerErrorReported$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.serviceworker.WorkerRegistrationUpdated":
+                return new io.webfolder.cdp.event.serviceworker.WorkerRegistrationUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.serviceworker.WorkerVersionUpdated":
+                return new io.webfolder.cdp.event.serviceworker.WorkerVersionUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.storage.CacheStorageContentUpdated":
+                return new io.webfolder.cdp.event.storage.CacheStorageContentUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.storage.CacheStorageListUpdated":
+                return new io.webfolder.cdp.event.storage.CacheStorageListUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.storage.IndexedDBContentUpdated":
+                return new io.webfolder.cdp.event.storage.IndexedDBContentUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.storage.IndexedDBListUpdated":
+                return new io.webfolder.cdp.event.storage.IndexedDBListUpdated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.AttachedToTarget":
+                return new io.webfolder.cdp.event.target.AttachedToTarget$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.DetachedFromTarget":
+                return new io.webfolder.cdp.event.target.DetachedFromTarget$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.ReceivedMessageFromTarget":
+                return new io.webfolder.cdp.event.target.ReceivedMessageFromTarget$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.TargetCrashed":
+                return new io.webfolder.cdp.event.target.TargetCrashed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.TargetCreated":
+                return new io.webfolder.cdp.event.target.TargetCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.TargetDestroyed":
+                return new io.webfolder.cdp.event.target.TargetDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.target.TargetInfoChanged":
+                return new io.webfolder.cdp.event.target.TargetInfoChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.tethering.Accepted":
+                return new io.webfolder.cdp.event.tethering.Accepted$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.tracing.BufferUsage":
+                return new io.webfolder.cdp.event.tracing.BufferUsage$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.tracing.DataCollected":
+                return new io.webfolder.cdp.event.tracing.DataCollected$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.tracing.TracingComplete":
+                return new io.webfolder.cdp.event.tracing.TracingComplete$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioListenerCreated":
+                return new io.webfolder.cdp.event.webaudio.AudioListenerCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioListenerWillBeDestroyed":
+                return new io.webfolder.cdp.event.webaudio.AudioListenerWillBeDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioNodeCreated":
+                return new io.webfolder.cdp.event.webaudio.AudioNodeCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioNodeWillBeDestroyed":
+                return new io.webfolder.cdp.event.webaudio.AudioNodeWillBeDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioParamCreated":
+                return new io.webfolder.cdp.event.webaudio.AudioParamCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.AudioParamWillBeDestroyed":
+                return new io.webfolder.cdp.event.webaudio.AudioParamWillBeDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.ContextChanged":
+                return new io.webfolder.cdp.event.webaudio.ContextChanged$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.ContextCreated":
+                return new io.webfolder.cdp.event.webaudio.ContextCreated$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.ContextDestroyed":
+                return new io.webfolder.cdp.event.webaudio.ContextDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.ContextWillBeDestroyed":
+                return new io.webfolder.cdp.event.webaudio.ContextWillBeDestroyed$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.NodeParamConnected":
+                return new io.webfolder.cdp.event.webaudio.NodeParamConnected$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.NodeParamDisconnected":
+                return new io.webfolder.cdp.event.webaudio.NodeParamDisconnected$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.NodesConnected":
+                return new io.webfolder.cdp.event.webaudio.NodesConnected$TypeAdapter(gson);
+            case "io.webfolder.cdp.event.webaudio.NodesDisconnected":
+                return new io.webfolder.cdp.event.webaudio.NodesDisconnected$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXNode":
+                return new io.webfolder.cdp.type.accessibility.AXNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXProperty":
+                return new io.webfolder.cdp.type.accessibility.AXProperty$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXPropertyName":
+                return new io.webfolder.cdp.type.accessibility.AXPropertyName$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXRelatedNode":
+                return new io.webfolder.cdp.type.accessibility.AXRelatedNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXValue":
+                return new io.webfolder.cdp.type.accessibility.AXValue$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXValueNativeSourceType":
+                return new io.webfolder.cdp.type.accessibility.AXValueNativeSourceType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXValueSource":
+                return new io.webfolder.cdp.type.accessibility.AXValueSource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXValueSourceType":
+                return new io.webfolder.cdp.type.accessibility.AXValueSourceType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.accessibility.AXValueType":
+                return new io.webfolder.cdp.type.accessibility.AXValueType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.animation.Animation":
+                return new io.webfolder.cdp.type.animation.Animation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.animation.AnimationEffect":
+                return new io.webfolder.cdp.type.animation.AnimationEffect$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.animation.KeyframeStyle":
+                return new io.webfolder.cdp.type.animation.KeyframeStyle$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.animation.KeyframesRule":
+                return new io.webfolder.cdp.type.animation.KeyframesRule$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.applicationcache.ApplicationCache":
+                return new io.webfolder.cdp.type.applicationcache.ApplicationCache$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.applicationcache.ApplicationCacheResource":
+                return new io.webfolder.cdp.type.applicationcache.ApplicationCacheResource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.applicationcache.FrameWithManifest":
+                return new io.webfolder.cdp.type.applicationcache.FrameWithManifest$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.audits.GetEncodedResponseResult":
+                return new io.webfolder.cdp.type.audits.GetEncodedResponseResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.backgroundservice.BackgroundServiceEvent":
+                return new io.webfolder.cdp.type.backgroundservice.BackgroundServiceEvent$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.backgroundservice.EventMetadata":
+                return new io.webfolder.cdp.type.backgroundservice.EventMetadata$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.backgroundservice.ServiceName":
+                return new io.webfolder.cdp.type.backgroundservice.ServiceName$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.Bounds":
+                return new io.webfolder.cdp.type.browser.Bounds$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.Bucket":
+                return new io.webfolder.cdp.type.browser.Bucket$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.GetVersionResult":
+                return new io.webfolder.cdp.type.browser.GetVersionResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.GetWindowForTargetResult":
+                return new io.webfolder.cdp.type.browser.GetWindowForTargetResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.Histogram":
+                return new io.webfolder.cdp.type.browser.Histogram$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.PermissionDescriptor":
+                return new io.webfolder.cdp.type.browser.PermissionDescriptor$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.PermissionSetting":
+                return new io.webfolder.cdp.type.browser.PermissionSetting$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.PermissionType":
+                return new io.webfolder.cdp.type.browser.PermissionType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.browser.WindowState":
+                return new io.webfolder.cdp.type.browser.WindowState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.Cache":
+                return new io.webfolder.cdp.type.cachestorage.Cache$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.CachedResponse":
+                return new io.webfolder.cdp.type.cachestorage.CachedResponse$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.CachedResponseType":
+                return new io.webfolder.cdp.type.cachestorage.CachedResponseType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.DataEntry":
+                return new io.webfolder.cdp.type.cachestorage.DataEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.Header":
+                return new io.webfolder.cdp.type.cachestorage.Header$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cachestorage.RequestEntriesResult":
+                return new io.webfolder.cdp.type.cachestorage.RequestEntriesResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.cast.Sink":
+                return new io.webfolder.cdp.type.cast.Sink$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.console.ConsoleMessage":
+                return new io.webfolder.cdp.type.console.ConsoleMessage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.AnimationType":
+                return new io.webfolder.cdp.type.constant.AnimationType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.AuthChallengeSource":
+                return new io.webfolder.cdp.type.constant.AuthChallengeSource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.AuthResponse":
+                return new io.webfolder.cdp.type.constant.AuthResponse$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.BreakLocationType":
+                return new io.webfolder.cdp.type.constant.BreakLocationType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.CSSMediaSource":
+                return new io.webfolder.cdp.type.constant.CSSMediaSource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ConsoleApiCallType":
+                return new io.webfolder.cdp.type.constant.ConsoleApiCallType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.DownloadBehavior":
+                return new io.webfolder.cdp.type.constant.DownloadBehavior$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.Encoding":
+                return new io.webfolder.cdp.type.constant.Encoding$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.FileChooserInputMode":
+                return new io.webfolder.cdp.type.constant.FileChooserInputMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.FrameNavigationReason":
+                return new io.webfolder.cdp.type.constant.FrameNavigationReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ImageFormat":
+                return new io.webfolder.cdp.type.constant.ImageFormat$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.InitiatorType":
+                return new io.webfolder.cdp.type.constant.InitiatorType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.InstrumentationName":
+                return new io.webfolder.cdp.type.constant.InstrumentationName$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.KeyEventType":
+                return new io.webfolder.cdp.type.constant.KeyEventType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.KeyPathType":
+                return new io.webfolder.cdp.type.constant.KeyPathType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.KeyType":
+                return new io.webfolder.cdp.type.constant.KeyType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.LogEntrySeverity":
+                return new io.webfolder.cdp.type.constant.LogEntrySeverity$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.LogEntrySource":
+                return new io.webfolder.cdp.type.constant.LogEntrySource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.MessageSeverity":
+                return new io.webfolder.cdp.type.constant.MessageSeverity$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.MessageSource":
+                return new io.webfolder.cdp.type.constant.MessageSource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.MouseEventType":
+                return new io.webfolder.cdp.type.constant.MouseEventType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ObjectSubtypeHint":
+                return new io.webfolder.cdp.type.constant.ObjectSubtypeHint$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ObjectType":
+                return new io.webfolder.cdp.type.constant.ObjectType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PauseOnExceptionState":
+                return new io.webfolder.cdp.type.constant.PauseOnExceptionState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PauseReason":
+                return new io.webfolder.cdp.type.constant.PauseReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PdfTransferMode":
+                return new io.webfolder.cdp.type.constant.PdfTransferMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.Platform":
+                return new io.webfolder.cdp.type.constant.Platform$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PointerType":
+                return new io.webfolder.cdp.type.constant.PointerType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PortraitType":
+                return new io.webfolder.cdp.type.constant.PortraitType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.PropertyPreviewType":
+                return new io.webfolder.cdp.type.constant.PropertyPreviewType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ReferrerPolicy":
+                return new io.webfolder.cdp.type.constant.ReferrerPolicy$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.RepaintReason":
+                return new io.webfolder.cdp.type.constant.RepaintReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ScopeType":
+                return new io.webfolder.cdp.type.constant.ScopeType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.SnapshotType":
+                return new io.webfolder.cdp.type.constant.SnapshotType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TargetCallFrames":
+                return new io.webfolder.cdp.type.constant.TargetCallFrames$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TargetLifecycleState":
+                return new io.webfolder.cdp.type.constant.TargetLifecycleState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TimeDomain":
+                return new io.webfolder.cdp.type.constant.TimeDomain$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TouchEventType":
+                return new io.webfolder.cdp.type.constant.TouchEventType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TraceRecordMode":
+                return new io.webfolder.cdp.type.constant.TraceRecordMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.TransferMode":
+                return new io.webfolder.cdp.type.constant.TransferMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.constant.ViolationType":
+                return new io.webfolder.cdp.type.constant.ViolationType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSComputedStyleProperty":
+                return new io.webfolder.cdp.type.css.CSSComputedStyleProperty$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSKeyframeRule":
+                return new io.webfolder.cdp.type.css.CSSKeyframeRule$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSKeyframesRule":
+                return new io.webfolder.cdp.type.css.CSSKeyframesRule$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSMedia":
+                return new io.webfolder.cdp.type.css.CSSMedia$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSProperty":
+                return new io.webfolder.cdp.type.css.CSSProperty$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSRule":
+                return new io.webfolder.cdp.type.css.CSSRule$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSStyle":
+                return new io.webfolder.cdp.type.css.CSSStyle$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.CSSStyleSheetHeader":
+                return new io.webfolder.cdp.type.css.CSSStyleSheetHeader$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.FontFace":
+                return new io.webfolder.cdp.type.css.FontFace$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.GetBackgroundColorsResult":
+                return new io.webfolder.cdp.type.css.GetBackgroundColorsResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.GetInlineStylesForNodeResult":
+                return new io.webfolder.cdp.type.css.GetInlineStylesForNodeResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.GetMatchedStylesForNodeResult":
+                return new io.webfolder.cdp.type.css.GetMatchedStylesForNodeResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.InheritedStyleEntry":
+                return new io.webfolder.cdp.type.css.InheritedStyleEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.MediaQuery":
+                return new io.webfolder.cdp.type.css.MediaQuery$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.MediaQueryExpression":
+                return new io.webfolder.cdp.type.css.MediaQueryExpression$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.PlatformFontUsage":
+                return new io.webfolder.cdp.type.css.PlatformFontUsage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.PseudoElementMatches":
+                return new io.webfolder.cdp.type.css.PseudoElementMatches$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.RuleMatch":
+                return new io.webfolder.cdp.type.css.RuleMatch$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.RuleUsage":
+                return new io.webfolder.cdp.type.css.RuleUsage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.SelectorList":
+                return new io.webfolder.cdp.type.css.SelectorList$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.ShorthandEntry":
+                return new io.webfolder.cdp.type.css.ShorthandEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.SourceRange":
+                return new io.webfolder.cdp.type.css.SourceRange$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.StyleDeclarationEdit":
+                return new io.webfolder.cdp.type.css.StyleDeclarationEdit$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.StyleSheetOrigin":
+                return new io.webfolder.cdp.type.css.StyleSheetOrigin$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.css.Value":
+                return new io.webfolder.cdp.type.css.Value$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.database.Database":
+                return new io.webfolder.cdp.type.database.Database$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.database.Error":
+                return new io.webfolder.cdp.type.database.Error$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.database.ExecuteSQLResult":
+                return new io.webfolder.cdp.type.database.ExecuteSQLResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.BreakLocation":
+                return new io.webfolder.cdp.type.debugger.BreakLocation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.CallFrame":
+                return new io.webfolder.cdp.type.debugger.CallFrame$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.EvaluateOnCallFrameResult":
+                return new io.webfolder.cdp.type.debugger.EvaluateOnCallFrameResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.GetScriptSourceResult":
+                return new io.webfolder.cdp.type.debugger.GetScriptSourceResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.Location":
+                return new io.webfolder.cdp.type.debugger.Location$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.RestartFrameResult":
+                return new io.webfolder.cdp.type.debugger.RestartFrameResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.Scope":
+                return new io.webfolder.cdp.type.debugger.Scope$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.ScriptPosition":
+                return new io.webfolder.cdp.type.debugger.ScriptPosition$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.SearchMatch":
+                return new io.webfolder.cdp.type.debugger.SearchMatch$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.SetBreakpointByUrlResult":
+                return new io.webfolder.cdp.type.debugger.SetBreakpointByUrlResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.SetBreakpointResult":
+                return new io.webfolder.cdp.type.debugger.SetBreakpointResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.debugger.SetScriptSourceResult":
+                return new io.webfolder.cdp.type.debugger.SetScriptSourceResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.BackendNode":
+                return new io.webfolder.cdp.type.dom.BackendNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.BoxModel":
+                return new io.webfolder.cdp.type.dom.BoxModel$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.GetFrameOwnerResult":
+                return new io.webfolder.cdp.type.dom.GetFrameOwnerResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.GetNodeForLocationResult":
+                return new io.webfolder.cdp.type.dom.GetNodeForLocationResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.Node":
+                return new io.webfolder.cdp.type.dom.Node$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.PerformSearchResult":
+                return new io.webfolder.cdp.type.dom.PerformSearchResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.PseudoType":
+                return new io.webfolder.cdp.type.dom.PseudoType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.RGBA":
+                return new io.webfolder.cdp.type.dom.RGBA$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.Rect":
+                return new io.webfolder.cdp.type.dom.Rect$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.ShadowRootType":
+                return new io.webfolder.cdp.type.dom.ShadowRootType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.dom.ShapeOutsideInfo":
+                return new io.webfolder.cdp.type.dom.ShapeOutsideInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domdebugger.DOMBreakpointType":
+                return new io.webfolder.cdp.type.domdebugger.DOMBreakpointType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domdebugger.EventListener":
+                return new io.webfolder.cdp.type.domdebugger.EventListener$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.CaptureSnapshotResult":
+                return new io.webfolder.cdp.type.domsnapshot.CaptureSnapshotResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.ComputedStyle":
+                return new io.webfolder.cdp.type.domsnapshot.ComputedStyle$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.DOMNode":
+                return new io.webfolder.cdp.type.domsnapshot.DOMNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.DocumentSnapshot":
+                return new io.webfolder.cdp.type.domsnapshot.DocumentSnapshot$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.GetSnapshotResult":
+                return new io.webfolder.cdp.type.domsnapshot.GetSnapshotResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.InlineTextBox":
+                return new io.webfolder.cdp.type.domsnapshot.InlineTextBox$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.LayoutTreeNode":
+                return new io.webfolder.cdp.type.domsnapshot.LayoutTreeNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.LayoutTreeSnapshot":
+                return new io.webfolder.cdp.type.domsnapshot.LayoutTreeSnapshot$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.NameValue":
+                return new io.webfolder.cdp.type.domsnapshot.NameValue$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.NodeTreeSnapshot":
+                return new io.webfolder.cdp.type.domsnapshot.NodeTreeSnapshot$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.RareBooleanData":
+                return new io.webfolder.cdp.type.domsnapshot.RareBooleanData$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.RareIntegerData":
+                return new io.webfolder.cdp.type.domsnapshot.RareIntegerData$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.RareStringData":
+                return new io.webfolder.cdp.type.domsnapshot.RareStringData$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domsnapshot.TextBoxSnapshot":
+                return new io.webfolder.cdp.type.domsnapshot.TextBoxSnapshot$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.domstorage.StorageId":
+                return new io.webfolder.cdp.type.domstorage.StorageId$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.emulation.MediaFeature":
+                return new io.webfolder.cdp.type.emulation.MediaFeature$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.emulation.ScreenOrientation":
+                return new io.webfolder.cdp.type.emulation.ScreenOrientation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.emulation.VirtualTimePolicy":
+                return new io.webfolder.cdp.type.emulation.VirtualTimePolicy$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.AuthChallenge":
+                return new io.webfolder.cdp.type.fetch.AuthChallenge$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.AuthChallengeResponse":
+                return new io.webfolder.cdp.type.fetch.AuthChallengeResponse$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.GetResponseBodyResult":
+                return new io.webfolder.cdp.type.fetch.GetResponseBodyResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.HeaderEntry":
+                return new io.webfolder.cdp.type.fetch.HeaderEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.RequestPattern":
+                return new io.webfolder.cdp.type.fetch.RequestPattern$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.fetch.RequestStage":
+                return new io.webfolder.cdp.type.fetch.RequestStage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.headlessexperimental.BeginFrameResult":
+                return new io.webfolder.cdp.type.headlessexperimental.BeginFrameResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.headlessexperimental.ScreenshotParams":
+                return new io.webfolder.cdp.type.headlessexperimental.ScreenshotParams$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.heapprofiler.SamplingHeapProfile":
+                return new io.webfolder.cdp.type.heapprofiler.SamplingHeapProfile$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.heapprofiler.SamplingHeapProfileNode":
+                return new io.webfolder.cdp.type.heapprofiler.SamplingHeapProfileNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.heapprofiler.SamplingHeapProfileSample":
+                return new io.webfolder.cdp.type.heapprofiler.SamplingHeapProfileSample$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.DataEntry":
+                return new io.webfolder.cdp.type.indexeddb.DataEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.DatabaseWithObjectStores":
+                return new io.webfolder.cdp.type.indexeddb.DatabaseWithObjectStores$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.GetMetadataResult":
+                return new io.webfolder.cdp.type.indexeddb.GetMetadataResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.Key":
+                return new io.webfolder.cdp.type.indexeddb.Key$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.KeyPath":
+                return new io.webfolder.cdp.type.indexeddb.KeyPath$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.KeyRange":
+                return new io.webfolder.cdp.type.indexeddb.KeyRange$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.ObjectStore":
+                return new io.webfolder.cdp.type.indexeddb.ObjectStore$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.ObjectStoreIndex":
+                return new io.webfolder.cdp.type.indexeddb.ObjectStoreIndex$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.indexeddb.RequestDataResult":
+                return new io.webfolder.cdp.type.indexeddb.RequestDataResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.input.GestureSourceType":
+                return new io.webfolder.cdp.type.input.GestureSourceType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.input.MouseButton":
+                return new io.webfolder.cdp.type.input.MouseButton$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.input.TouchPoint":
+                return new io.webfolder.cdp.type.input.TouchPoint$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.io.ReadResult":
+                return new io.webfolder.cdp.type.io.ReadResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.layertree.Layer":
+                return new io.webfolder.cdp.type.layertree.Layer$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.layertree.PictureTile":
+                return new io.webfolder.cdp.type.layertree.PictureTile$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.layertree.ScrollRect":
+                return new io.webfolder.cdp.type.layertree.ScrollRect$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.layertree.StickyPositionConstraint":
+                return new io.webfolder.cdp.type.layertree.StickyPositionConstraint$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.log.LogEntry":
+                return new io.webfolder.cdp.type.log.LogEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.log.ViolationSetting":
+                return new io.webfolder.cdp.type.log.ViolationSetting$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.media.PlayerEvent":
+                return new io.webfolder.cdp.type.media.PlayerEvent$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.media.PlayerEventType":
+                return new io.webfolder.cdp.type.media.PlayerEventType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.media.PlayerProperty":
+                return new io.webfolder.cdp.type.media.PlayerProperty$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.memory.GetDOMCountersResult":
+                return new io.webfolder.cdp.type.memory.GetDOMCountersResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.memory.Module":
+                return new io.webfolder.cdp.type.memory.Module$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.memory.PressureLevel":
+                return new io.webfolder.cdp.type.memory.PressureLevel$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.memory.SamplingProfile":
+                return new io.webfolder.cdp.type.memory.SamplingProfile$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.memory.SamplingProfileNode":
+                return new io.webfolder.cdp.type.memory.SamplingProfileNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.AuthChallenge":
+                return new io.webfolder.cdp.type.network.AuthChallenge$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.AuthChallengeResponse":
+                return new io.webfolder.cdp.type.network.AuthChallengeResponse$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.BlockedCookieWithReason":
+                return new io.webfolder.cdp.type.network.BlockedCookieWithReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.BlockedReason":
+                return new io.webfolder.cdp.type.network.BlockedReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.BlockedSetCookieWithReason":
+                return new io.webfolder.cdp.type.network.BlockedSetCookieWithReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CachedResource":
+                return new io.webfolder.cdp.type.network.CachedResource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CertificateTransparencyCompliance":
+                return new io.webfolder.cdp.type.network.CertificateTransparencyCompliance$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.ConnectionType":
+                return new io.webfolder.cdp.type.network.ConnectionType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.Cookie":
+                return new io.webfolder.cdp.type.network.Cookie$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CookieBlockedReason":
+                return new io.webfolder.cdp.type.network.CookieBlockedReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CookieParam":
+                return new io.webfolder.cdp.type.network.CookieParam$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CookiePriority":
+                return new io.webfolder.cdp.type.network.CookiePriority$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.CookieSameSite":
+                return new io.webfolder.cdp.type.network.CookieSameSite$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.ErrorReason":
+                return new io.webfolder.cdp.type.network.ErrorReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.GetResponseBodyForInterceptionResult":
+                return new io.webfolder.cdp.type.network.GetResponseBodyForInterceptionResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.GetResponseBodyResult":
+                return new io.webfolder.cdp.type.network.GetResponseBodyResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.Initiator":
+                return new io.webfolder.cdp.type.network.Initiator$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.InterceptionStage":
+                return new io.webfolder.cdp.type.network.InterceptionStage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.Request":
+                return new io.webfolder.cdp.type.network.Request$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.RequestPattern":
+                return new io.webfolder.cdp.type.network.RequestPattern$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.ResourcePriority":
+                return new io.webfolder.cdp.type.network.ResourcePriority$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.ResourceTiming":
+                return new io.webfolder.cdp.type.network.ResourceTiming$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.ResourceType":
+                return new io.webfolder.cdp.type.network.ResourceType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.Response":
+                return new io.webfolder.cdp.type.network.Response$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SecurityDetails":
+                return new io.webfolder.cdp.type.network.SecurityDetails$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SetCookieBlockedReason":
+                return new io.webfolder.cdp.type.network.SetCookieBlockedReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedCertificateTimestamp":
+                return new io.webfolder.cdp.type.network.SignedCertificateTimestamp$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedExchangeError":
+                return new io.webfolder.cdp.type.network.SignedExchangeError$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedExchangeErrorField":
+                return new io.webfolder.cdp.type.network.SignedExchangeErrorField$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedExchangeHeader":
+                return new io.webfolder.cdp.type.network.SignedExchangeHeader$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedExchangeInfo":
+                return new io.webfolder.cdp.type.network.SignedExchangeInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.SignedExchangeSignature":
+                return new io.webfolder.cdp.type.network.SignedExchangeSignature$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.WebSocketFrame":
+                return new io.webfolder.cdp.type.network.WebSocketFrame$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.WebSocketRequest":
+                return new io.webfolder.cdp.type.network.WebSocketRequest$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.network.WebSocketResponse":
+                return new io.webfolder.cdp.type.network.WebSocketResponse$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.overlay.HighlightConfig":
+                return new io.webfolder.cdp.type.overlay.HighlightConfig$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.overlay.InspectMode":
+                return new io.webfolder.cdp.type.overlay.InspectMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.AppManifestError":
+                return new io.webfolder.cdp.type.page.AppManifestError$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.AppManifestParsedProperties":
+                return new io.webfolder.cdp.type.page.AppManifestParsedProperties$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.ClientNavigationReason":
+                return new io.webfolder.cdp.type.page.ClientNavigationReason$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.DialogType":
+                return new io.webfolder.cdp.type.page.DialogType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.FontFamilies":
+                return new io.webfolder.cdp.type.page.FontFamilies$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.FontSizes":
+                return new io.webfolder.cdp.type.page.FontSizes$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.Frame":
+                return new io.webfolder.cdp.type.page.Frame$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.FrameResource":
+                return new io.webfolder.cdp.type.page.FrameResource$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.FrameResourceTree":
+                return new io.webfolder.cdp.type.page.FrameResourceTree$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.FrameTree":
+                return new io.webfolder.cdp.type.page.FrameTree$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.GetAppManifestResult":
+                return new io.webfolder.cdp.type.page.GetAppManifestResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.GetLayoutMetricsResult":
+                return new io.webfolder.cdp.type.page.GetLayoutMetricsResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.GetNavigationHistoryResult":
+                return new io.webfolder.cdp.type.page.GetNavigationHistoryResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.GetResourceContentResult":
+                return new io.webfolder.cdp.type.page.GetResourceContentResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.LayoutViewport":
+                return new io.webfolder.cdp.type.page.LayoutViewport$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.NavigateResult":
+                return new io.webfolder.cdp.type.page.NavigateResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.NavigationEntry":
+                return new io.webfolder.cdp.type.page.NavigationEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.PrintToPDFResult":
+                return new io.webfolder.cdp.type.page.PrintToPDFResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.ScreencastFrameMetadata":
+                return new io.webfolder.cdp.type.page.ScreencastFrameMetadata$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.TransitionType":
+                return new io.webfolder.cdp.type.page.TransitionType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.Viewport":
+                return new io.webfolder.cdp.type.page.Viewport$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.page.VisualViewport":
+                return new io.webfolder.cdp.type.page.VisualViewport$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.performance.Metric":
+                return new io.webfolder.cdp.type.performance.Metric$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.CounterInfo":
+                return new io.webfolder.cdp.type.profiler.CounterInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.CoverageRange":
+                return new io.webfolder.cdp.type.profiler.CoverageRange$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.FunctionCoverage":
+                return new io.webfolder.cdp.type.profiler.FunctionCoverage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.PositionTickInfo":
+                return new io.webfolder.cdp.type.profiler.PositionTickInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.Profile":
+                return new io.webfolder.cdp.type.profiler.Profile$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.ProfileNode":
+                return new io.webfolder.cdp.type.profiler.ProfileNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.ScriptCoverage":
+                return new io.webfolder.cdp.type.profiler.ScriptCoverage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.ScriptTypeProfile":
+                return new io.webfolder.cdp.type.profiler.ScriptTypeProfile$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.TypeObject":
+                return new io.webfolder.cdp.type.profiler.TypeObject$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.profiler.TypeProfileEntry":
+                return new io.webfolder.cdp.type.profiler.TypeProfileEntry$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.AwaitPromiseResult":
+                return new io.webfolder.cdp.type.runtime.AwaitPromiseResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.CallArgument":
+                return new io.webfolder.cdp.type.runtime.CallArgument$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.CallFrame":
+                return new io.webfolder.cdp.type.runtime.CallFrame$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.CallFunctionOnResult":
+                return new io.webfolder.cdp.type.runtime.CallFunctionOnResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.CompileScriptResult":
+                return new io.webfolder.cdp.type.runtime.CompileScriptResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.CustomPreview":
+                return new io.webfolder.cdp.type.runtime.CustomPreview$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.EntryPreview":
+                return new io.webfolder.cdp.type.runtime.EntryPreview$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.EvaluateResult":
+                return new io.webfolder.cdp.type.runtime.EvaluateResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.ExceptionDetails":
+                return new io.webfolder.cdp.type.runtime.ExceptionDetails$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.ExecutionContextDescription":
+                return new io.webfolder.cdp.type.runtime.ExecutionContextDescription$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.GetHeapUsageResult":
+                return new io.webfolder.cdp.type.runtime.GetHeapUsageResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.GetPropertiesResult":
+                return new io.webfolder.cdp.type.runtime.GetPropertiesResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.InternalPropertyDescriptor":
+                return new io.webfolder.cdp.type.runtime.InternalPropertyDescriptor$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.ObjectPreview":
+                return new io.webfolder.cdp.type.runtime.ObjectPreview$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.PrivatePropertyDescriptor":
+                return new io.webfolder.cdp.type.runtime.PrivatePropertyDescriptor$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.PropertyDescriptor":
+                return new io.webfolder.cdp.type.runtime.PropertyDescriptor$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.PropertyPreview":
+                return new io.webfolder.cdp.type.runtime.PropertyPreview$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.RemoteObject":
+                return new io.webfolder.cdp.type.runtime.RemoteObject$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.RunScriptResult":
+                return new io.webfolder.cdp.type.runtime.RunScriptResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.StackTrace":
+                return new io.webfolder.cdp.type.runtime.StackTrace$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.runtime.StackTraceId":
+                return new io.webfolder.cdp.type.runtime.StackTraceId$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.schema.Domain":
+                return new io.webfolder.cdp.type.schema.Domain$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.CertificateErrorAction":
+                return new io.webfolder.cdp.type.security.CertificateErrorAction$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.CertificateSecurityState":
+                return new io.webfolder.cdp.type.security.CertificateSecurityState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.InsecureContentStatus":
+                return new io.webfolder.cdp.type.security.InsecureContentStatus$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.MixedContentType":
+                return new io.webfolder.cdp.type.security.MixedContentType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.SafetyTipInfo":
+                return new io.webfolder.cdp.type.security.SafetyTipInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.SafetyTipStatus":
+                return new io.webfolder.cdp.type.security.SafetyTipStatus$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.SecurityState":
+                return new io.webfolder.cdp.type.security.SecurityState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.SecurityStateExplanation":
+                return new io.webfolder.cdp.type.security.SecurityStateExplanation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.security.VisibleSecurityState":
+                return new io.webfolder.cdp.type.security.VisibleSecurityState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.serviceworker.ServiceWorkerErrorMessage":
+                return new io.webfolder.cdp.type.serviceworker.ServiceWorkerErrorMessage$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.serviceworker.ServiceWorkerRegistration":
+                return new io.webfolder.cdp.type.serviceworker.ServiceWorkerRegistration$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.serviceworker.ServiceWorkerVersion":
+                return new io.webfolder.cdp.type.serviceworker.ServiceWorkerVersion$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.serviceworker.ServiceWorkerVersionRunningStatus":
+                return new io.webfolder.cdp.type.serviceworker.ServiceWorkerVersionRunningStatus$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.serviceworker.ServiceWorkerVersionStatus":
+                return new io.webfolder.cdp.type.serviceworker.ServiceWorkerVersionStatus$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.storage.GetUsageAndQuotaResult":
+                return new io.webfolder.cdp.type.storage.GetUsageAndQuotaResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.storage.StorageType":
+                return new io.webfolder.cdp.type.storage.StorageType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.storage.UsageForType":
+                return new io.webfolder.cdp.type.storage.UsageForType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.GPUDevice":
+                return new io.webfolder.cdp.type.systeminfo.GPUDevice$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.GPUInfo":
+                return new io.webfolder.cdp.type.systeminfo.GPUInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.GetInfoResult":
+                return new io.webfolder.cdp.type.systeminfo.GetInfoResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.ImageDecodeAcceleratorCapability":
+                return new io.webfolder.cdp.type.systeminfo.ImageDecodeAcceleratorCapability$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.ImageType":
+                return new io.webfolder.cdp.type.systeminfo.ImageType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.ProcessInfo":
+                return new io.webfolder.cdp.type.systeminfo.ProcessInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.Size":
+                return new io.webfolder.cdp.type.systeminfo.Size$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.SubsamplingFormat":
+                return new io.webfolder.cdp.type.systeminfo.SubsamplingFormat$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.VideoDecodeAcceleratorCapability":
+                return new io.webfolder.cdp.type.systeminfo.VideoDecodeAcceleratorCapability$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.systeminfo.VideoEncodeAcceleratorCapability":
+                return new io.webfolder.cdp.type.systeminfo.VideoEncodeAcceleratorCapability$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.target.RemoteLocation":
+                return new io.webfolder.cdp.type.target.RemoteLocation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.target.TargetInfo":
+                return new io.webfolder.cdp.type.target.TargetInfo$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.tracing.MemoryDumpConfig":
+                return new io.webfolder.cdp.type.tracing.MemoryDumpConfig$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.tracing.RequestMemoryDumpResult":
+                return new io.webfolder.cdp.type.tracing.RequestMemoryDumpResult$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.tracing.StreamCompression":
+                return new io.webfolder.cdp.type.tracing.StreamCompression$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.tracing.StreamFormat":
+                return new io.webfolder.cdp.type.tracing.StreamFormat$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.tracing.TraceConfig":
+                return new io.webfolder.cdp.type.tracing.TraceConfig$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.util.Point":
+                return new io.webfolder.cdp.type.util.Point$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.AudioListener":
+                return new io.webfolder.cdp.type.webaudio.AudioListener$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.AudioNode":
+                return new io.webfolder.cdp.type.webaudio.AudioNode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.AudioParam":
+                return new io.webfolder.cdp.type.webaudio.AudioParam$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.AutomationRate":
+                return new io.webfolder.cdp.type.webaudio.AutomationRate$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.BaseAudioContext":
+                return new io.webfolder.cdp.type.webaudio.BaseAudioContext$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.ChannelCountMode":
+                return new io.webfolder.cdp.type.webaudio.ChannelCountMode$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.ChannelInterpretation":
+                return new io.webfolder.cdp.type.webaudio.ChannelInterpretation$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.ContextRealtimeData":
+                return new io.webfolder.cdp.type.webaudio.ContextRealtimeData$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.ContextState":
+                return new io.webfolder.cdp.type.webaudio.ContextState$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webaudio.ContextType":
+                return new io.webfolder.cdp.type.webaudio.ContextType$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webauthn.AuthenticatorProtocol":
+                return new io.webfolder.cdp.type.webauthn.AuthenticatorProtocol$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webauthn.AuthenticatorTransport":
+                return new io.webfolder.cdp.type.webauthn.AuthenticatorTransport$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webauthn.Credential":
+                return new io.webfolder.cdp.type.webauthn.Credential$TypeAdapter(gson);
+            case "io.webfolder.cdp.type.webauthn.VirtualAuthenticatorOptions":
+                return new io.webfolder.cdp.type.webauthn.VirtualAuthenticatorOptions$TypeAdapter(gson);
+            default:
                 return null;
-            }
         }
-        return null;
     }
 
     @Override
     public void close() {
-        adapters.clear();
+        // no op
     }
 }
@@ -24,15 +24,45 @@ import io.webfolder.cdp.exception.CommandException;
 
 interface Context {
 
-    void await(int timeout);
+    /**
+     * Prepares this (possibly recycled) context for the command.
+     * 
+     * @param id command identifier
+     */
+    void reset(int id);
 
-    void release();
+    /**
+     * @return identifier of the pending command or {@code 0} if the context is not waiting
+     */
+    int getId();
 
-    void setData(JsonElement data);
+    /**
+     * Causes the current thread to wait until the command is completed or timeout elapses.
+     * 
+     * @return {@code true} if the command is completed
+     */
+    boolean await(int timeout);
 
-    JsonElement getData();
+    /**
+     * Completes the command if this context is still waiting for the given command.
+     * 
+     * @param size size of the response message
+     * 
+     * @return {@code true} if the command is completed by this call
+     */
+    boolean complete(int id, JsonElement data, CommandException error, int size);
+
+    /**
+     * Wakes up the waiting thread without completing the command.
+     */
+    void release();
 
-    void setError(CommandException error);
+    JsonElement getData();
 
     CommandException getError();
+
+    /**
+     * @return size of the response message
+     */
+    int getSize();
 }
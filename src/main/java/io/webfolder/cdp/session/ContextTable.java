@@ -0,0 +1,107 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Correlates command ids with the waiting {@link Context}.
+ * 
+ * Pending commands are stored in a fixed size slot table indexed by the
+ * low bits of the command id, so lookups don't box the id and completed
+ * commands leave nothing behind. Colliding ids (more in-flight commands
+ * than slots) spill over to a map.
+ */
+class ContextTable {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final AtomicReferenceArray<Context> slots;
+
+    private final int mask;
+
+    private final Map<Integer, Context> overflow = new ConcurrentHashMap<>();
+
+    ContextTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    ContextTable(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+        mask  = capacity - 1;
+    }
+
+    void put(int id, Context context) {
+        if ( ! slots.compareAndSet(id & mask, null, context) ) {
+            overflow.put(id, context);
+        }
+    }
+
+    Context get(int id) {
+        Context context = slots.get(id & mask);
+        if (context != null && context.getId() == id) {
+            return context;
+        }
+        return overflow.isEmpty() ? null : overflow.get(id);
+    }
+
+    void remove(int id, Context context) {
+        if ( ! slots.compareAndSet(id & mask, context, null) ) {
+            overflow.remove(id, context);
+        }
+    }
+
+    int size() {
+        int size = overflow.size();
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Wakes up all waiting threads.
+     */
+    void releaseAll() {
+        for (int i = 0; i < slots.length(); i++) {
+            Context context = slots.get(i);
+            if (context != null) {
+                release(context);
+            }
+        }
+        for (Context next : overflow.values()) {
+            release(next);
+        }
+    }
+
+    private void release(Context context) {
+        try {
+            context.release();
+        } catch (Throwable t) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.webfolder.cdp.exception.DeadlineExceededException;
+
+/**
+ * Overall time budget of a job.
+ * 
+ * <p>
+ * A deadline is bound to the current thread until it is closed. Commands and
+ * {@link Session} helpers ({@link Session#navigateAndWait(String, WaitUntil, int)},
+ * {@link Session#waitUntil(java.util.function.Predicate, int, int, boolean)},
+ * {@link Session#wait(int)} etc.) never wait longer than the remaining time and throw
+ * {@link DeadlineExceededException} once the deadline is exhausted.
+ * </p>
+ * 
+ * <pre>
+ * try (Deadline deadline = Deadline.start(30_000)) {
+ *     session.navigateAndWait(url, WaitUntil.Load);
+ *     session.click("#submit");
+ * }
+ * </pre>
+ */
+public final class Deadline implements AutoCloseable {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private static final long NANOS_PER_MILLI = MILLISECONDS.toNanos(1);
+
+    private final long deadline;
+
+    private final Deadline previous;
+
+    private Deadline(long deadline, Deadline previous) {
+        this.deadline = deadline;
+        this.previous = previous;
+    }
+
+    /**
+     * Starts a new deadline for the current thread.
+     * 
+     * A nested deadline can not extend the time budget of the enclosing deadline.
+     * 
+     * @param timeout time budget in milliseconds
+     * 
+     * @return deadline, must be closed by the caller
+     */
+    public static Deadline start(long timeout) {
+        Deadline previous = CURRENT.get();
+        long deadline = nanoTime() + MILLISECONDS.toNanos(timeout);
+        if (previous != null) {
+            deadline = min(deadline, previous.deadline);
+        }
+        Deadline current = new Deadline(deadline, previous);
+        CURRENT.set(current);
+        return current;
+    }
+
+    /**
+     * @return deadline of the current thread or {@code null} if there is no active deadline
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return remaining time in milliseconds
+     */
+    public long remaining() {
+        return max(0, NANOSECONDS.toMillis(deadline - nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadline - nanoTime() <= 0;
+    }
+
+    /**
+     * Throws {@link DeadlineExceededException} if the deadline is exhausted.
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded");
+        }
+    }
+
+    /**
+     * Limits the timeout to the remaining time of the current deadline.
+     * 
+     * @param timeout timeout in milliseconds
+     * 
+     * The remaining time is rounded up to whole milliseconds, a wait which is capped
+     * by the deadline always ends after the deadline is exhausted.
+     * 
+     * @return {@code timeout} or the remaining time, whichever is smaller
+     */
+    static int limit(int timeout) {
+        Deadline current = CURRENT.get();
+        if (current == null) {
+            return timeout;
+        }
+        current.check();
+        long remaining = (current.deadline - nanoTime() + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+        return (int) min(timeout, max(0, remaining));
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline [remaining=" + remaining() + "ms]";
+    }
+}
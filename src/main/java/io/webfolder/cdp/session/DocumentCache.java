@@ -0,0 +1,176 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.webfolder.cdp.command.DOM;
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.page.FrameNavigated;
+import io.webfolder.cdp.event.runtime.ExecutionContextCreated;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.dom.Node;
+import io.webfolder.cdp.type.runtime.ExecutionContextDescription;
+
+/**
+ * Caches the document root node id and the pushed node ids of a session.
+ * 
+ * The root is requested with {@code DOM.getDocument(depth=0)} once per document,
+ * every {@code DOM.getDocument} call invalidates the node ids pushed before.
+ * Cached ids are dropped on {@code DOM.documentUpdated}, main frame
+ * {@code Page.frameNavigated} and when the default execution context of the
+ * main frame is created.
+ */
+public class DocumentCache implements EventListener {
+
+    private static final String NODE_NOT_FOUND = "Could not find node with given id";
+
+    private final Session session;
+
+    private final Map<Integer, Integer> nodeIds = new ConcurrentHashMap<>();
+
+    private volatile Integer rootNodeId;
+
+    DocumentCache(Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        switch (event) {
+            case DOMDocumentUpdated:
+            case RuntimeExecutionContextsCleared:
+                invalidate();
+            break;
+            case PageFrameNavigated:
+                if (((FrameNavigated) value).getFrame().getParentId() == null) {
+                    invalidate();
+                }
+            break;
+            case RuntimeExecutionContextCreated:
+                ExecutionContextDescription context = ((ExecutionContextCreated) value).getContext();
+                Map<String, Object> auxData = context != null ? context.getAuxData() : null;
+                // main world of the main frame, main worlds of the iframes are default too
+                if (auxData != null && TRUE.equals(auxData.get("isDefault")) &&
+                        session.getTargetId().equals(auxData.get("frameId"))) {
+                    invalidate();
+                }
+            break;
+            default:
+            break;
+        }
+    }
+
+    /**
+     * @return node id of the document
+     */
+    public Integer getRootNodeId() {
+        Integer rootNodeId = this.rootNodeId;
+        if (rootNodeId == null) {
+            Node document = getDocument();
+            return document != null ? document.getNodeId() : null;
+        }
+        return rootNodeId;
+    }
+
+    /**
+     * Requests the document with {@code DOM.getDocument(depth=0)} and caches its root,
+     * the node ids pushed before are dropped.
+     * 
+     * @return document node or {@code null} if there is no document
+     */
+    public Node getDocument() {
+        Node document = session.getCommand().getDOM().getDocument(0, FALSE);
+        nodeIds.clear();
+        if (document == null || document.getNodeId() == null) {
+            rootNodeId = null;
+            return null;
+        }
+        if (document.getBackendNodeId() != null) {
+            nodeIds.put(document.getBackendNodeId(), document.getNodeId());
+        }
+        rootNodeId = document.getNodeId();
+        return document;
+    }
+
+    /**
+     * Gets the node id of a backend node, the node is pushed to the frontend once per document.
+     * 
+     * @return node id or {@code null} if the node does not exist
+     */
+    public Integer getNodeId(Integer backendNodeId) {
+        Integer nodeId = nodeIds.get(backendNodeId);
+        if (nodeId == null) {
+            getRootNodeId();
+            DOM dom = session.getCommand().getDOM();
+            List<Integer> pushed = dom.pushNodesByBackendIdsToFrontend(singletonList(backendNodeId));
+            if (pushed == null || pushed.isEmpty() || pushed.get(0) == null || pushed.get(0).intValue() == 0) {
+                return null;
+            }
+            nodeId = pushed.get(0);
+            nodeIds.put(backendNodeId, nodeId);
+        }
+        return nodeId;
+    }
+
+    /**
+     * Applies the function to the root node id, if the root node is stale
+     * the cache is dropped and the function is applied once more.
+     */
+    public <T> T withRootNodeId(Function<Integer, T> function) {
+        Integer rootNodeId = getRootNodeId();
+        if (rootNodeId == null) {
+            return null;
+        }
+        try {
+            return function.apply(rootNodeId);
+        } catch (CdpException e) {
+            // document is replaced before the invalidating event is processed
+            if (e.getMessage() == null || ! e.getMessage().contains(NODE_NOT_FOUND)) {
+                throw e;
+            }
+            invalidate();
+            rootNodeId = getRootNodeId();
+            return rootNodeId != null ? function.apply(rootNodeId) : null;
+        }
+    }
+
+    /**
+     * Drops the cached root and node ids.
+     */
+    public void invalidate() {
+        rootNodeId = null;
+        nodeIds.clear();
+    }
+
+    /**
+     * @return number of cached node ids, including the document
+     */
+    public int size() {
+        return nodeIds.size();
+    }
+}
@@ -108,7 +108,7 @@ public interface Dom {
      * @return this
      */
     default Session selectInputText(final String selector, final Object ...args) {
-        getThis().logEntry("selectInputText", format(selector, args));
+        getThis().logEntry("selectInputText", () -> format(selector, args));
         String objectId = getThis().getObjectId(selector, args);
         if (objectId == null) {
             throw new ElementNotFoundException(format(selector, args));
@@ -172,7 +172,7 @@ public interface Dom {
      * @return this
      */
     default Session focus(final Integer contextId, final String selector, final Object... args) {
-        getThis().logEntry("focus", format(selector, args));
+        getThis().logEntry("focus", () -> format(selector, args));
         Integer nodeId = getThis().getNodeId(contextId, selector, contextId, args);
         if (nodeId == null || Constant.EMPTY_NODE_ID.equals(nodeId)) {
             throw new ElementNotFoundException(format(selector, args));
@@ -214,7 +214,7 @@ public interface Dom {
         if (selectedIndex == null) {
             selectedIndex = -1D;
         }
-        getThis().logExit("getSelectedIndex", format(selector, args), selectedIndex.intValue());
+        getThis().logExit("getSelectedIndex", () -> format(selector, args), selectedIndex.intValue());
         return selectedIndex.intValue();
     }
 
@@ -254,7 +254,7 @@ public interface Dom {
             return getThis();
         }
         if (index != -1) {
-            getThis().logEntry("setSelectedIndex", format(selector, args) + "\", \"" + index);
+            getThis().logEntry("setSelectedIndex", () -> format(selector, args) + "\", \"" + index);
         }
         String objectId = getThis().getObjectId(selector, args);
         if (objectId == null) {
@@ -352,7 +352,7 @@ public interface Dom {
      * @return this
      */
     public default Session clearOptions(final String selector, Object ...args) {
-        getThis().logEntry("clearOptions", format(selector, args));
+        getThis().logEntry("clearOptions", () -> format(selector, args));
         return setSelectedIndex(selector, -1, args);
     }
 
@@ -390,7 +390,7 @@ public interface Dom {
         if (objectId == null) {
             throw new ElementNotFoundException(format(selector, args));
         }
-        getThis().logEntry("setSelectOptions", format(selector, args) + "\", \"" + Arrays.toString(indexes.toArray(new Integer[] { })));
+        getThis().logEntry("setSelectOptions", () -> format(selector, args) + "\", \"" + Arrays.toString(indexes.toArray(new Integer[] { })));
         PropertyDescriptor pd = getThis().getPropertyDescriptor(objectId, "options");
         if (pd != null) {
             if (pd.getValue() != null) {
@@ -463,7 +463,7 @@ public interface Dom {
         if (nodeId == null || Constant.EMPTY_NODE_ID.equals(nodeId)) {
             throw new ElementNotFoundException(format(selector));
         }
-        getThis().logEntry("setFiles", format(selector) + "\", \"" + Arrays.toString(files));
+        getThis().logEntry("setFiles", () -> format(selector) + "\", \"" + Arrays.toString(files));
         DOM dom = getThis().getCommand().getDOM();
         dom.setFileInputFiles(asList(files), nodeId, null, null);
         return getThis();
@@ -492,7 +492,7 @@ public interface Dom {
                         final String selector,
                         final Object ...args) {
         Boolean property = TRUE.equals(getThis().getProperty(selector, "disabled", args));
-        getThis().logExit("isDisabled", format(selector, args), property.booleanValue());
+        getThis().logExit("isDisabled", () -> format(selector, args), property.booleanValue());
         return property.booleanValue();
     }
 
@@ -523,7 +523,7 @@ public interface Dom {
                         final String selector,
                         final Object ...args) {
         Boolean property = TRUE.equals(getThis().getProperty(selector, "checked", args));
-        getThis().logExit("isChecked", format(selector, args), property.booleanValue());
+        getThis().logExit("isChecked", () -> format(selector, args), property.booleanValue());
         return property.booleanValue();
     }
 
@@ -558,7 +558,7 @@ public interface Dom {
                         final String selector,
                         final boolean checked,
                         final Object ...args) {
-        getThis().logEntry("setChecked", format(selector) + "\", \"" + checked);
+        getThis().logEntry("setChecked", () -> format(selector) + "\", \"" + checked);
         getThis().setProperty(selector, "checked", checked, args);
         return getThis();
     }
@@ -590,7 +590,7 @@ public interface Dom {
                         final String selector,
                         final boolean disabled,
                         final Object ...args) {
-        getThis().logEntry("setDisabled", format(selector) + "\", \"" + disabled);
+        getThis().logEntry("setDisabled", () -> format(selector) + "\", \"" + disabled);
         getThis().setProperty(selector, "disabled", disabled, args);
         return getThis();
     }
@@ -657,7 +657,7 @@ public interface Dom {
         if (value == null) {
             return null;
         }
-        getThis().logExit("getValue", format(selector, args), value);
+        getThis().logExit("getValue", () -> format(selector, args), value);
         return value;
     }
 
@@ -809,7 +809,7 @@ public interface Dom {
         if (nodeId == null || Constant.EMPTY_NODE_ID.equals(nodeId)) {
             throw new ElementNotFoundException(format(selector, args));
         }
-        getThis().logEntry("setAttribute", format(selector) + "\", \"" + name + "\", \"" + value);
+        getThis().logEntry("setAttribute", () -> format(selector) + "\", \"" + name + "\", \"" + value);
         getThis()
             .getCommand()
             .getDOM()
@@ -895,6 +895,13 @@ public interface Dom {
     }
 
     default void scrollIntoViewIfNeeded(String selector, Object... args) {
+        if (getThis().useUtilityWorld()) {
+            Object found = getThis().getUtilityWorld().call("scrollIntoViewIfNeeded", format(selector, args));
+            if ( ! TRUE.equals(found) ) {
+                throw new ElementNotFoundException(format(selector, args));
+            }
+            return;
+        }
         String objectId = getThis().getObjectId(selector, args);
         String fn = "function() {" +
                     "    var scrollIfNeeded = async function(element) {" +
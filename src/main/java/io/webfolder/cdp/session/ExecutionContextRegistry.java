@@ -0,0 +1,152 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.TRUE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.page.FrameDetached;
+import io.webfolder.cdp.event.page.FrameNavigated;
+import io.webfolder.cdp.event.runtime.ExecutionContextCreated;
+import io.webfolder.cdp.event.runtime.ExecutionContextDestroyed;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.page.Frame;
+import io.webfolder.cdp.type.runtime.ExecutionContextDescription;
+
+/**
+ * Frame to execution context mapping of a session.
+ * 
+ * Maintained from {@code Runtime.executionContextCreated}, {@code Runtime.executionContextDestroyed},
+ * {@code Runtime.executionContextsCleared}, {@code Page.frameNavigated} and {@code Page.frameDetached}
+ * events.
+ */
+public class ExecutionContextRegistry implements EventListener {
+
+    private final Map<String, FrameContexts> frames = new ConcurrentHashMap<>();
+
+    private final Map<Integer, String> contextFrames = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        switch (event) {
+            case RuntimeExecutionContextCreated:
+                ExecutionContextDescription context = ((ExecutionContextCreated) value).getContext();
+                Map<String, Object> auxData = context.getAuxData();
+                if (auxData == null || ! (auxData.get("frameId") instanceof String)) {
+                    break;
+                }
+                String frameId = (String) auxData.get("frameId");
+                boolean defaultWorld = TRUE.equals(auxData.get("isDefault")) ||
+                                            "default".equals(auxData.get("type"));
+                contextFrames.put(context.getId(), frameId);
+                getOrCreate(frameId).add(context.getId(), context.getName(), defaultWorld);
+            break;
+            case RuntimeExecutionContextDestroyed:
+                Integer contextId = ((ExecutionContextDestroyed) value).getExecutionContextId();
+                if (contextId != null) {
+                    String owner = contextFrames.remove(contextId);
+                    FrameContexts frame = owner != null ? frames.get(owner) : null;
+                    if (frame != null) {
+                        frame.remove(contextId);
+                    }
+                }
+            break;
+            case RuntimeExecutionContextsCleared:
+                contextFrames.clear();
+                for (FrameContexts next : frames.values()) {
+                    next.clear();
+                }
+            break;
+            case PageFrameNavigated:
+                Frame navigated = ((FrameNavigated) value).getFrame();
+                getOrCreate(navigated.getId()).setFrame(navigated.getParentId(), navigated.getUrl());
+            break;
+            case PageFrameDetached:
+                FrameContexts detached = frames.remove(((FrameDetached) value).getFrameId());
+                if (detached != null) {
+                    contextFrames.values().removeIf(next -> next.equals(detached.getFrameId()));
+                }
+            break;
+            default:
+            break;
+        }
+    }
+
+    void onWorldDestroyed(String frameId, String worldName) {
+        FrameContexts frame = frames.get(frameId);
+        if (frame != null) {
+            Integer contextId = frame.getIsolatedWorld(worldName);
+            if (contextId != null) {
+                frame.remove(contextId);
+                contextFrames.remove(contextId);
+            }
+        }
+    }
+
+    private FrameContexts getOrCreate(String frameId) {
+        return frames.computeIfAbsent(frameId, FrameContexts::new);
+    }
+
+    /**
+     * @return execution context id of the default world of the frame or {@code null}
+     */
+    public Integer getMainWorld(String frameId) {
+        if (frameId == null) {
+            return null;
+        }
+        FrameContexts frame = frames.get(frameId);
+        return frame != null ? frame.getMainWorld() : null;
+    }
+
+    /**
+     * @return execution context id of the isolated world of the frame or {@code null}
+     */
+    public Integer getIsolatedWorld(String frameId, String worldName) {
+        FrameContexts frame = frames.get(frameId);
+        return frame != null ? frame.getIsolatedWorld(worldName) : null;
+    }
+
+    /**
+     * @return frame of the execution context or {@code null}
+     */
+    public String getFrameId(Integer contextId) {
+        return contextFrames.get(contextId);
+    }
+
+    public FrameContexts getFrame(String frameId) {
+        return frames.get(frameId);
+    }
+
+    /**
+     * @return snapshot of the known frames
+     */
+    public List<FrameContexts> getFrames() {
+        return new ArrayList<>(frames.values());
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionContextRegistry [frames=" + frames.values() + "]";
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Execution contexts of a frame.
+ */
+public class FrameContexts {
+
+    private final String frameId;
+
+    private volatile String parentId;
+
+    private volatile String url;
+
+    private volatile Integer mainWorld;
+
+    private final Map<String, Integer> isolatedWorlds = new ConcurrentHashMap<>();
+
+    FrameContexts(String frameId) {
+        this.frameId = frameId;
+    }
+
+    public String getFrameId() {
+        return frameId;
+    }
+
+    /**
+     * @return parent frame id or {@code null} for the main frame
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return url of the last navigation, {@code null} if the frame is not navigated after the registry is created
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return execution context id of the default world or {@code null} if the context is not created yet
+     */
+    public Integer getMainWorld() {
+        return mainWorld;
+    }
+
+    /**
+     * @return execution context id of the isolated world or {@code null}
+     */
+    public Integer getIsolatedWorld(String worldName) {
+        return isolatedWorlds.get(worldName);
+    }
+
+    /**
+     * @return execution context ids of isolated worlds by world name
+     */
+    public Map<String, Integer> getIsolatedWorlds() {
+        return unmodifiableMap(isolatedWorlds);
+    }
+
+    void setFrame(String parentId, String url) {
+        this.parentId = parentId;
+        this.url      = url;
+    }
+
+    void add(Integer contextId, String worldName, boolean defaultWorld) {
+        if (defaultWorld) {
+            mainWorld = contextId;
+        } else {
+            isolatedWorlds.put(worldName == null ? "" : worldName, contextId);
+        }
+    }
+
+    void remove(Integer contextId) {
+        if (contextId.equals(mainWorld)) {
+            mainWorld = null;
+        }
+        isolatedWorlds.values().remove(contextId);
+    }
+
+    void clear() {
+        mainWorld = null;
+        isolatedWorlds.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "FrameContexts [frameId=" + frameId + ", mainWorld=" + mainWorld + ", isolatedWorlds=" + isolatedWorlds + "]";
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.TRUE;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.exception.DeadlineExceededException;
+import io.webfolder.cdp.type.runtime.EvaluateResult;
+
+/**
+ * Evaluates an expression in the main world of every frame in parallel,
+ * including the frames of the auto attached (out-of-process) iframes.
+ */
+class FrameEvaluator {
+
+    private FrameEvaluator() {
+        // no op
+    }
+
+    static Map<String, Object> evaluate(Session session, String expression, Executor executor) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            deadline.check();
+        }
+        List<String> frameIds = new ArrayList<>();
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        collect(session, expression, executor, deadline, frameIds, futures);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.put(frameIds.get(i), futures.get(i).join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof DeadlineExceededException) {
+                    throw (DeadlineExceededException) e.getCause();
+                }
+                // frame is navigated or detached meanwhile
+                if ( ! (e.getCause() instanceof CdpException) ) {
+                    throw e;
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void collect(Session session, String expression, Executor executor, Deadline deadline,
+                                List<String> frameIds, List<CompletableFuture<Object>> futures) {
+        for (FrameContexts frame : session.getExecutionContexts().getFrames()) {
+            Integer contextId = frame.getMainWorld();
+            if (contextId == null) {
+                continue;
+            }
+            frameIds.add(frame.getFrameId());
+            futures.add(supplyAsync(() -> evaluate(session, contextId, expression, deadline), executor));
+        }
+        for (Session child : session.getChildren()) {
+            if ("iframe".equals(child.getTargetType())) {
+                collect(child, expression, executor, deadline, frameIds, futures);
+            }
+        }
+    }
+
+    private static Object evaluate(Session session, Integer contextId, String expression, Deadline deadline) {
+        if (deadline == null) {
+            return evaluate(session, contextId, expression);
+        }
+        // deadlines are bound to the calling thread
+        try (Deadline inherited = Deadline.start(deadline.remaining())) {
+            inherited.check();
+            return evaluate(session, contextId, expression);
+        }
+    }
+
+    private static Object evaluate(Session session, Integer contextId, String expression) {
+        EvaluateResult result = session.getCommand()
+                                        .getRuntime()
+                                        .evaluate(expression, null, null, TRUE,
+                                                    contextId, TRUE, null, null,
+                                                    TRUE, null, null, null, null);
+        if (result == null || result.getResult() == null) {
+            return null;
+        }
+        if (result.getExceptionDetails() != null) {
+            throw new CdpException(result.getExceptionDetails().getText());
+        }
+        return result.getResult().getValue();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getDecoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Base64.Decoder;
+
+import io.webfolder.cdp.command.IO;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.type.io.ReadResult;
+
+/**
+ * Copies DevTools streams (trace data, pdf content etc.) chunk by chunk.
+ */
+class IOStream {
+
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024; // 1 MB
+
+    private IOStream() {
+        // no op
+    }
+
+    /**
+     * Reads the stream until eof and closes it.
+     * 
+     * @param binary if {@code true} only base64 encoded chunks are accepted (e.g. pdf content),
+     *               otherwise text chunks are written as UTF-8 (e.g. trace data)
+     * 
+     * @return number of bytes written
+     */
+    static long transferTo(IO io, String handle, WritableByteChannel out, int chunkSize, boolean binary) {
+        Decoder decoder = getDecoder();
+        byte[] buffer = new byte[0];
+        long total = 0;
+        boolean eof = false;
+        try {
+            while ( ! eof ) {
+                ReadResult result = io.read(handle, null, chunkSize);
+                eof = Boolean.TRUE.equals(result.getEof());
+                String data = result.getData();
+                if (data == null || data.isEmpty()) {
+                    continue;
+                }
+                ByteBuffer chunk;
+                if (Boolean.TRUE.equals(result.getBase64Encoded())) {
+                    byte[] encoded = data.getBytes(ISO_8859_1);
+                    int maxLength = encoded.length / 4 * 3;
+                    if (buffer.length < maxLength) {
+                        buffer = new byte[maxLength];
+                    }
+                    int length = decoder.decode(encoded, buffer);
+                    chunk = ByteBuffer.wrap(buffer, 0, length);
+                } else if (binary) {
+                    throw new CdpException("Inavlid content encoding: it must be base64");
+                } else {
+                    chunk = ByteBuffer.wrap(data.getBytes(UTF_8));
+                }
+                while (chunk.hasRemaining()) {
+                    total += out.write(chunk);
+                }
+            }
+        } catch (IOException e) {
+            throw new CdpException(e);
+        } finally {
+            io.close(handle);
+        }
+        return total;
+    }
+}
@@ -26,7 +26,9 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -70,6 +72,54 @@ public interface JavaScript {
         return value;
     }
 
+    /**
+     * Evaluates JavaScript expression in global scope, the expression is
+     * compiled once per execution context.
+     * 
+     * <strong>Performance tip</strong>: Prefer this method for the scripts which
+     * are executed repeatedly. Promises are awaited.
+     * 
+     * @param expression JavaScript expression
+     * 
+     * @return execution result by value
+     * 
+     * @see ScriptCache
+     */
+    default Object evaluateCompiled(String expression) {
+        Object value = getThis().getScriptCache().run(expression);
+        getThis().logExit("evaluateCompiled", expression, value);
+        return value;
+    }
+
+    /**
+     * Evaluates JavaScript expression in the main world of every frame in parallel.
+     * 
+     * Frames of the auto attached out-of-process iframes are included.
+     * Promises are awaited and the results are returned by value. The {@link Deadline}
+     * of the calling thread applies to every evaluation.
+     * 
+     * @param expression JavaScript expression
+     * 
+     * @return execution results by frame id
+     */
+    default Map<String, Object> evaluateInFrames(String expression) {
+        return evaluateInFrames(expression, getThis().getSessionFactory().getEvaluationExecutor());
+    }
+
+    /**
+     * Evaluates JavaScript expression in the main world of every frame in parallel.
+     * 
+     * @param expression JavaScript expression
+     * @param executor runs the blocking evaluate calls
+     * 
+     * @return execution results by frame id
+     */
+    default Map<String, Object> evaluateInFrames(String expression, Executor executor) {
+        Map<String, Object> results = FrameEvaluator.evaluate(getThis(), expression, executor);
+        getThis().logExit("evaluateInFrames", expression, results);
+        return results;
+    }
+
     /**
      * Calls JavaScript function.
      * 
@@ -0,0 +1,203 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.lang.String.valueOf;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.exception.CommandException;
+import io.webfolder.cdp.type.constant.ObjectType;
+import io.webfolder.cdp.type.runtime.CallArgument;
+import io.webfolder.cdp.type.runtime.CallFunctionOnResult;
+import io.webfolder.cdp.type.runtime.EvaluateResult;
+import io.webfolder.cdp.type.runtime.ExceptionDetails;
+import io.webfolder.cdp.type.runtime.RemoteObject;
+
+/**
+ * Invocation handler of the {@link Session#registerJsFunction(Class)} proxies.
+ * 
+ * <p>
+ * The installed function is resolved once per execution context and its handle
+ * (remote object id) is cached, every call is a single {@code Runtime.callFunctionOn}
+ * on the handle with {@code returnByValue}. The handle is resolved again when the
+ * execution context changes or the handle is no longer valid.
+ * </p>
+ */
+class JsFunctionInvoker implements InvocationHandler {
+
+    private static final String OBJECT_GROUP = "cdp4j-js-function";
+
+    private static final String OBJECT_NOT_FOUND = "Could not find object with given id";
+
+    private static final String CALL_DECLARATION = "function() { " +
+                                                        "const result = this.apply(this, Array.prototype.slice.call(arguments)); " +
+                                                        "return typeof result === 'undefined' ? undefined : JSON.stringify({ result : result }); " +
+                                                   "}";
+
+    // cache key of the calls which are made before an execution context is reported,
+    // protocol execution context ids start at 1
+    private static final Integer NO_CONTEXT = 0;
+
+    private final Session session;
+
+    private final String className;
+
+    // execution context id -> (method name -> function handle), guarded by itself
+    private final Map<Integer, Map<String, String>> handles = new HashMap<>();
+
+    JsFunctionInvoker(Session session, Class<?> klass) {
+        this.session   = session;
+        this.className = klass.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (Object.class.equals(method.getDeclaringClass())) {
+            return method.invoke(this, args);
+        }
+        Object[] arguments = args != null ? args : new Object[0];
+        List<CallArgument> callArguments = toCallArguments(arguments);
+        Integer contextId = session.getExecutionContextId();
+        String handle = getHandle(contextId, method.getName());
+        CallFunctionOnResult result;
+        try {
+            result = call(handle, callArguments);
+        } catch (CommandException e) {
+            if (e.getMessage() == null || ! e.getMessage().contains(OBJECT_NOT_FOUND)) {
+                throw e;
+            }
+            synchronized (handles) {
+                handles.remove(key(contextId));
+            }
+            result = call(getHandle(contextId, method.getName()), callArguments);
+        }
+        ExceptionDetails details = result.getExceptionDetails();
+        if (details != null && details.getException() != null) {
+            if (details.getException().getObjectId() != null) {
+                session.releaseObject(details.getException().getObjectId());
+            }
+            throw new CdpException(details.getException().getDescription());
+        }
+        Class<?> returnType = method.getReturnType();
+        Object value = null;
+        RemoteObject remoteObject = result.getResult();
+        if (remoteObject != null &&
+                ObjectType.String.equals(remoteObject.getType()) &&
+                ! void.class.equals(returnType) &&
+                ! Void.class.equals(returnType)) {
+            JsonObject object = session.getGson().fromJson(valueOf(remoteObject.getValue()), JsonObject.class);
+            JsonElement element = object.get("result");
+            value = session.getGson().fromJson(element, returnType);
+        }
+        Object retValue = value;
+        session.logExit("callFunction", () -> {
+            StringJoiner joiner = new StringJoiner("\", \"");
+            for (Object next : arguments) {
+                joiner.add(valueOf(next));
+            }
+            return "document." + className + "." + method.getName() + (arguments.length == 0 ? "" : "\", \"" + joiner.toString());
+        }, valueOf(retValue).replace("\n", "").replace("\r", ""));
+        return value;
+    }
+
+    private CallFunctionOnResult call(String handle, List<CallArgument> arguments) {
+        return session.getCommand()
+                      .getRuntime()
+                      .callFunctionOn(CALL_DECLARATION, handle, arguments,
+                                        FALSE, TRUE,
+                                        FALSE, FALSE,
+                                        FALSE, null, null);
+    }
+
+    private static Integer key(Integer contextId) {
+        return contextId != null ? contextId : NO_CONTEXT;
+    }
+
+    private String getHandle(Integer contextId, String methodName) {
+        Map<String, String> functions;
+        synchronized (handles) {
+            functions = handles.get(key(contextId));
+            if (functions == null) {
+                // handles of the previous execution contexts are released with their context
+                handles.clear();
+                functions = new ConcurrentHashMap<>();
+                handles.put(key(contextId), functions);
+            }
+        }
+        String handle = functions.get(methodName);
+        if (handle == null) {
+            handle = resolve(contextId, methodName);
+            functions.put(methodName, handle);
+        }
+        return handle;
+    }
+
+    private String resolve(Integer contextId, String methodName) {
+        String name = "document." + className + "." + methodName;
+        EvaluateResult result = session.getCommand()
+                                       .getRuntime()
+                                       .evaluate(name, OBJECT_GROUP, FALSE, TRUE,
+                                                    contextId, FALSE, FALSE, FALSE,
+                                                    FALSE, null, null, null, null);
+        if (result == null || result.getResult() == null) {
+            throw new CdpException(String.format("Function [%s] is not defined", name));
+        }
+        ExceptionDetails details = result.getExceptionDetails();
+        RemoteObject function = result.getResult();
+        if ((details != null && details.getException() != null) ||
+                ! ObjectType.Function.equals(function.getType()) ||
+                function.getObjectId() == null) {
+            if (function.getObjectId() != null) {
+                session.releaseObject(function.getObjectId());
+            }
+            throw new CdpException(String.format("Function [%s] is not defined", name));
+        }
+        return function.getObjectId();
+    }
+
+    private List<CallArgument> toCallArguments(Object[] arguments) {
+        List<CallArgument> list = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            CallArgument ca = new CallArgument();
+            if (argument != null) {
+                if (session.isPrimitive(argument.getClass())) {
+                    ca.setValue(argument);
+                } else {
+                    ca.setUnserializableValue(session.getGson().toJson(argument));
+                }
+            }
+            list.add(ca);
+        }
+        return list;
+    }
+}
@@ -19,25 +19,23 @@
 package io.webfolder.cdp.session;
 
 import static java.lang.Integer.parseInt;
-import static java.util.Collections.unmodifiableMap;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Executor;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import io.webfolder.cdp.channel.MessageProcessor;
+import io.webfolder.cdp.event.EventNames;
 import io.webfolder.cdp.event.Events;
 import io.webfolder.cdp.exception.CommandException;
 import io.webfolder.cdp.listener.EventListener;
 import io.webfolder.cdp.logger.CdpLogger;
+import io.webfolder.cdp.metrics.MetricsCollector;
 
-public final class MessageHandler {
-
-    private final Map<String, Events> events = listEvents();
+public final class MessageHandler implements MessageProcessor {
 
     private final Gson gson;
 
@@ -49,23 +47,30 @@ public final class MessageHandler {
 
     private final SessionFactory factory;
 
+    private final MetricsCollector metrics;
+
     MessageHandler(
             final Gson gson,
             final SessionFactory factory,
             final Executor workerThreadPool,
             final Executor eventHandlerThreadPool,
-            final CdpLogger log) {
+            final CdpLogger log,
+            final MetricsCollector metrics) {
         this.gson                   = gson;
         this.factory                = factory;
         this.workerThreadPool       = workerThreadPool;
         this.eventHandlerThreadPool = eventHandlerThreadPool;
         this.log                    = log; 
+        this.metrics                = metrics;
     }
 
+    @Override
     @SuppressWarnings("resource")
     public void process(final String content)  {
         Runnable runnable = () -> {
-            log.debug("<-- {}", content);
+            if (log.isDebugEnabled()) {
+                log.debug("<-- {}", content);
+            }
             JsonElement json = gson.fromJson(content, JsonElement.class);
             JsonObject  object = json.getAsJsonObject();
             JsonElement idElement = object.get("id");
@@ -88,16 +93,14 @@ public final class MessageHandler {
                 }
                 JsonObject error = object.getAsJsonObject("error");
                 if (error == null) {
-                    context.setData(json);
-                    context.release();
+                    context.complete(valId, json, null, content.length());
                 } else {
                     int code = (int) error.getAsJsonPrimitive("code").getAsDouble();
                     String message = error.getAsJsonPrimitive("message").getAsString();
                     JsonElement messageData = error.get("data");
-                    context.setError(new CommandException(code, message +
+                    context.complete(valId, null, new CommandException(code, message +
                                                 (messageData != null && messageData.isJsonPrimitive() ? ". " +
-                                                messageData.getAsString() : "")));
-                    context.release();
+                                                messageData.getAsString() : "")), content.length());
                 }
             } else {
                 // Process event response
@@ -106,10 +109,13 @@ public final class MessageHandler {
                     return;
                 }
                 String eventName = method.getAsString();
-                Events event = events.get(eventName);
+                Events event = EventNames.lookup(eventName);
                 if (event == null) {
                     return;
                 }
+                if (metrics != null) {
+                    metrics.eventReceived(eventName, content.length());
+                }
                 JsonElement params = object.get("params");
                 Object value = gson.fromJson(params, event.klass);
                 JsonElement sid = object.get("sessionId");
@@ -131,13 +137,4 @@ public final class MessageHandler {
         };
         workerThreadPool.execute(runnable);
     }
-
-    Map<String, Events> listEvents() {
-        Events[] values = Events.values();
-        Map<String, Events> map = new HashMap<>(values.length);
-        for (Events next : values) {
-            map.put(next.domain + "." + next.name, next);
-        }
-        return unmodifiableMap(map);
-    }
 }
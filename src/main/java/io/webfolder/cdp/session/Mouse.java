@@ -61,7 +61,7 @@ public interface Mouse {
      * @return this
      */
     default Session click(final String selector, final Object... args) {
-        getThis().logEntry("click", format(selector, args));
+        getThis().logEntry("click", () -> format(selector, args));
         getThis().scrollIntoViewIfNeeded(selector, args);
         Point point = getThis().getClickablePoint(selector, args);
         int clickCount = 1;
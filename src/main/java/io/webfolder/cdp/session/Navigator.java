@@ -29,6 +29,7 @@ import java.util.Map;
 import io.webfolder.cdp.command.DOM;
 import io.webfolder.cdp.command.Network;
 import io.webfolder.cdp.command.Page;
+import io.webfolder.cdp.type.dom.Node;
 import io.webfolder.cdp.type.page.GetNavigationHistoryResult;
 import io.webfolder.cdp.type.page.NavigationEntry;
 import io.webfolder.cdp.type.runtime.RemoteObject;
@@ -119,11 +120,9 @@ public interface Navigator {
      * @return document location
      */
     default String getLocation() {
-        return getThis()
-                    .getCommand()
-                    .getDOM()
-                    .getDocument()
-                    .getDocumentURL();
+        // DOM.getDocument invalidates the pushed node ids, the cache adopts the new root
+        Node document = getThis().getDocumentCache().getDocument();
+        return document != null ? document.getDocumentURL() : null;
     }
 
     /**
@@ -133,8 +132,8 @@ public interface Navigator {
      */
     public default String getPathname() {
         DOM dom = getThis().getCommand().getDOM();
-        Integer nodeId = dom.getDocument().getNodeId();
-        RemoteObject remoteObject = dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId());
+        RemoteObject remoteObject = getThis().getDocumentCache()
+                                             .withRootNodeId(nodeId -> dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId()));
         String pathname = (String) getThis().getPropertyByObjectId(remoteObject.getObjectId(), "location.pathname");
         getThis().releaseObject(remoteObject.getObjectId());
         return pathname;
@@ -178,8 +177,8 @@ public interface Navigator {
     default String getContent() {
         getThis().disableFlowLog();
         DOM dom = getThis().getCommand().getDOM();
-        Integer nodeId = dom.getDocument().getNodeId();
-        RemoteObject remoteObject = dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId());
+        RemoteObject remoteObject = getThis().getDocumentCache()
+                                             .withRootNodeId(nodeId -> dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId()));
         String title = (String) getThis().getPropertyByObjectId(remoteObject.getObjectId(), "documentElement.outerHTML");
         getThis().logExit("getContent", title);
         getThis().releaseObject(remoteObject.getObjectId());
@@ -193,8 +192,8 @@ public interface Navigator {
      */
     default String getTitle() {
         DOM dom = getThis().getCommand().getDOM();
-        Integer nodeId = dom.getDocument().getNodeId();
-        RemoteObject remoteObject = dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId());
+        RemoteObject remoteObject = getThis().getDocumentCache()
+                                             .withRootNodeId(nodeId -> dom.resolveNode(nodeId, null, null, getThis().getExecutionContextId()));
         String title = (String) getThis().getPropertyByObjectId(remoteObject.getObjectId(), "title");
         getThis().logExit("getTitle", title);
         getThis().releaseObject(remoteObject.getObjectId());
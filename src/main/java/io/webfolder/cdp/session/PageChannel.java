@@ -0,0 +1,208 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.event.Events.RuntimeBindingCalled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.runtime.BindingCalled;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.listener.EventListener;
+
+/**
+ * Push based messaging from the page to Java built on {@code Runtime.addBinding}.
+ * 
+ * <p>
+ * Page scripts post messages with <code>window[name].post(message)</code>. Messages
+ * which are posted in the same task are coalesced with a microtask and sent with a
+ * single {@code Runtime.bindingCalled} event, the handler receives the whole batch.
+ * Messages are serialized with <code>JSON.stringify</code> on the page and deserialized
+ * to the message type with the session {@link Gson}.
+ * </p>
+ * 
+ * <pre>
+ * try (PageChannel&lt;Product&gt; channel = PageChannel.open(session, "products", Product.class, products::addAll)) {
+ *     session.navigateAndWait(url, WaitUntil.Load);
+ *     session.evaluate("document.querySelectorAll('.product').forEach(p =&gt; products.post({ name: p.textContent }))");
+ * }
+ * </pre>
+ * 
+ * The handler is invoked on the event handler thread.
+ */
+public class PageChannel<T> implements EventListener, AutoCloseable {
+
+    private static final String BINDING_PREFIX = "__cdp4j_channel_";
+
+    private final Session session;
+
+    private final String name;
+
+    private final String bindingName;
+
+    private final Class<T> type;
+
+    private final Consumer<List<T>> handler;
+
+    private final String scriptId;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private final AtomicLong messages = new AtomicLong();
+
+    private PageChannel(Session session, String name, Class<T> type, Consumer<List<T>> handler) {
+        this.session     = session;
+        this.name        = name;
+        this.bindingName = BINDING_PREFIX + name;
+        this.type        = type;
+        this.handler     = handler;
+        String script = script(name, bindingName);
+        String scriptId = null;
+        session.getCommand().getRuntime().addBinding(bindingName);
+        try {
+            scriptId = session.getCommand().getPage().addScriptToEvaluateOnNewDocument(script);
+            session.addEventListener(this);
+            // install into the current document too
+            session.evaluate(script);
+        } catch (RuntimeException e) {
+            session.removeEventEventListener(this);
+            if (session.isConnected()) {
+                try {
+                    if (scriptId != null) {
+                        session.getCommand().getPage().removeScriptToEvaluateOnNewDocument(scriptId);
+                    }
+                    session.getCommand().getRuntime().removeBinding(bindingName);
+                } catch (CdpException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        this.scriptId = scriptId;
+    }
+
+    /**
+     * Opens a channel, the page side object is available in the current
+     * document and in the documents which are loaded afterwards.
+     * 
+     * @param session page session, {@code Page} domain must be enabled
+     * @param name global variable name of the page side channel object
+     * @param type message type
+     * @param handler receives the batches
+     */
+    public static <T> PageChannel<T> open(Session session, String name, Class<T> type, Consumer<List<T>> handler) {
+        if (name == null || ! name.matches("[A-Za-z_$][A-Za-z0-9_$]*")) {
+            throw new CdpException("Invalid channel name: " + name);
+        }
+        return new PageChannel<>(session, name, type, handler);
+    }
+
+    static String script(String name, String bindingName) {
+        return "(function() {" +
+                   "const binding = globalThis['" + bindingName + "'];" +
+                   "if (typeof binding !== 'function') return;" +
+                   "let queue = [];" +
+                   "let scheduled = false;" +
+                   "const flush = () => {" +
+                       "scheduled = false;" +
+                       "const batch = queue;" +
+                       "queue = [];" +
+                       "binding(JSON.stringify(batch));" +
+                   "};" +
+                   "globalThis['" + name + "'] = {" +
+                       "post(message) {" +
+                           "queue.push(message);" +
+                           "if (!scheduled) {" +
+                               "scheduled = true;" +
+                               "queueMicrotask(flush);" +
+                           "}" +
+                       "}" +
+                   "};" +
+               "})();";
+    }
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        if ( ! RuntimeBindingCalled.equals(event) || closed.get() ) {
+            return;
+        }
+        BindingCalled called = (BindingCalled) value;
+        if ( ! bindingName.equals(called.getName()) ) {
+            return;
+        }
+        JsonElement payload = JsonParser.parseString(called.getPayload());
+        if ( ! payload.isJsonArray() ) {
+            return;
+        }
+        JsonArray array = payload.getAsJsonArray();
+        Gson gson = session.getGson();
+        List<T> batch = new ArrayList<>(array.size());
+        for (JsonElement next : array) {
+            batch.add(gson.fromJson(next, type));
+        }
+        batches.incrementAndGet();
+        messages.addAndGet(batch.size());
+        handler.accept(batch);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of batches received
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return number of messages received
+     */
+    public long getMessages() {
+        return messages.get();
+    }
+
+    /**
+     * Removes the binding and the page side object.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            session.removeEventEventListener(this);
+            if (session.isConnected()) {
+                session.getCommand().getPage().removeScriptToEvaluateOnNewDocument(scriptId);
+                session.getCommand().getRuntime().removeBinding(bindingName);
+                session.evaluate("delete globalThis['" + name + "']");
+            }
+        }
+    }
+}
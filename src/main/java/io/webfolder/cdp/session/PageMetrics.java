@@ -0,0 +1,196 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+/**
+ * Performance summary of a page navigation.
+ * 
+ * Timings are relative to the navigation start in milliseconds,
+ * durations are cumulative main thread times in milliseconds and
+ * sizes are in bytes.
+ */
+public class PageMetrics {
+
+    String loaderId;
+
+    double navigationStart;
+
+    double domContentLoaded = -1;
+
+    double load = -1;
+
+    double networkIdle = -1;
+
+    double jsHeapUsedSize;
+
+    double jsHeapUsedSizeMax;
+
+    double jsHeapTotalSize;
+
+    double layoutDuration;
+
+    double recalcStyleDuration;
+
+    double scriptDuration;
+
+    double taskDuration;
+
+    int layoutCount;
+
+    int nodes;
+
+    int documents;
+
+    int frames;
+
+    int jsEventListeners;
+
+    int samples;
+
+    void copyTo(PageMetrics target) {
+        target.loaderId            = loaderId;
+        target.navigationStart     = navigationStart;
+        target.domContentLoaded    = domContentLoaded;
+        target.load                = load;
+        target.networkIdle         = networkIdle;
+        target.jsHeapUsedSize      = jsHeapUsedSize;
+        target.jsHeapUsedSizeMax   = jsHeapUsedSizeMax;
+        target.jsHeapTotalSize     = jsHeapTotalSize;
+        target.layoutDuration      = layoutDuration;
+        target.recalcStyleDuration = recalcStyleDuration;
+        target.scriptDuration      = scriptDuration;
+        target.taskDuration        = taskDuration;
+        target.layoutCount         = layoutCount;
+        target.nodes               = nodes;
+        target.documents           = documents;
+        target.frames              = frames;
+        target.jsEventListeners    = jsEventListeners;
+        target.samples             = samples;
+    }
+
+    void clear() {
+        new PageMetrics().copyTo(this);
+    }
+
+    /**
+     * Loader identifier of the navigation.
+     */
+    public String getLoaderId() {
+        return loaderId;
+    }
+
+    /**
+     * Navigation start, monotonic time in seconds.
+     */
+    public double getNavigationStart() {
+        return navigationStart;
+    }
+
+    /**
+     * @return {@code DOMContentLoaded} time or {@code -1} if the event is not fired
+     */
+    public double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    /**
+     * @return {@code load} time or {@code -1} if the event is not fired
+     */
+    public double getLoad() {
+        return load;
+    }
+
+    /**
+     * @return {@code networkIdle} time or {@code -1} if the event is not fired
+     */
+    public double getNetworkIdle() {
+        return networkIdle;
+    }
+
+    /**
+     * Used JavaScript heap size at the last sample.
+     */
+    public double getJsHeapUsedSize() {
+        return jsHeapUsedSize;
+    }
+
+    /**
+     * Maximum used JavaScript heap size of all samples.
+     */
+    public double getJsHeapUsedSizeMax() {
+        return jsHeapUsedSizeMax;
+    }
+
+    public double getJsHeapTotalSize() {
+        return jsHeapTotalSize;
+    }
+
+    public double getLayoutDuration() {
+        return layoutDuration;
+    }
+
+    public double getRecalcStyleDuration() {
+        return recalcStyleDuration;
+    }
+
+    public double getScriptDuration() {
+        return scriptDuration;
+    }
+
+    public double getTaskDuration() {
+        return taskDuration;
+    }
+
+    public int getLayoutCount() {
+        return layoutCount;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public int getDocuments() {
+        return documents;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public int getJsEventListeners() {
+        return jsEventListeners;
+    }
+
+    /**
+     * Number of {@code Performance.getMetrics} samples.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    @Override
+    public String toString() {
+        return "PageMetrics [loaderId=" + loaderId + ", domContentLoaded=" + domContentLoaded +
+                    ", load=" + load + ", networkIdle=" + networkIdle + ", jsHeapUsedSize=" + jsHeapUsedSize +
+                    ", jsHeapUsedSizeMax=" + jsHeapUsedSizeMax + ", layoutDuration=" + layoutDuration +
+                    ", recalcStyleDuration=" + recalcStyleDuration + ", scriptDuration=" + scriptDuration +
+                    ", taskDuration=" + taskDuration + ", nodes=" + nodes + ", documents=" + documents +
+                    ", samples=" + samples + "]";
+    }
+}
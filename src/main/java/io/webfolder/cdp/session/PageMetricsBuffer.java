@@ -0,0 +1,128 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Fixed size ring buffer of {@link PageMetrics}.
+ * 
+ * Slots are allocated once and overwritten in place, the oldest
+ * summary is dropped when the buffer is full.
+ */
+public class PageMetricsBuffer {
+
+    private final PageMetrics[] slots;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long written;
+
+    public PageMetricsBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        slots = new PageMetrics[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new PageMetrics();
+        }
+    }
+
+    void add(PageMetrics metrics) {
+        lock.lock();
+        try {
+            metrics.copyTo(slots[(int) (written % slots.length)]);
+            written++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visits the buffered summaries from oldest to newest.
+     * 
+     * @param consumer receives a reused instance, valid only during the callback
+     */
+    public void forEach(Consumer<PageMetrics> consumer) {
+        PageMetrics copy = new PageMetrics();
+        long start;
+        long end;
+        lock.lock();
+        try {
+            end = written;
+            start = Math.max(0, end - slots.length);
+        } finally {
+            lock.unlock();
+        }
+        for (long i = start; i < end; i++) {
+            lock.lock();
+            try {
+                if (i < written - slots.length) {
+                    // overwritten meanwhile
+                    continue;
+                }
+                slots[(int) (i % slots.length)].copyTo(copy);
+            } finally {
+                lock.unlock();
+            }
+            consumer.accept(copy);
+        }
+    }
+
+    /**
+     * @return copies of the buffered summaries from oldest to newest
+     */
+    public List<PageMetrics> snapshot() {
+        List<PageMetrics> list = new ArrayList<>(slots.length);
+        forEach(next -> {
+            PageMetrics copy = new PageMetrics();
+            next.copyTo(copy);
+            list.add(copy);
+        });
+        return list;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return (int) Math.min(written, slots.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return total number of summaries written, including the dropped ones
+     */
+    public long getWritten() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.event.Events.PageLifecycleEvent;
+import static java.lang.Math.max;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.webfolder.cdp.event.page.LifecycleEvent;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.performance.Metric;
+
+/**
+ * Collects per page performance summaries.
+ * 
+ * <p>
+ * {@code Performance.getMetrics} is sampled on {@code DOMContentLoaded}, {@code load}
+ * and {@code networkIdle} lifecycle events of the main frame and periodically.
+ * Lifecycle timings are correlated with the navigation start ({@code init} lifecycle event).
+ * The summary of a navigation is published to the {@link PageMetricsBuffer} when the next
+ * navigation starts or the collector is closed.
+ * </p>
+ * 
+ * <p>
+ * Sampling runs on the scheduler, never on the event handler thread. The tasks of a
+ * collector are executed one at a time in submission order, a multi-threaded scheduler
+ * can be shared by many collectors.
+ * </p>
+ * 
+ * <pre>
+ * PageMetricsBuffer buffer = new PageMetricsBuffer(1024);
+ * try (PageMetricsCollector collector = new PageMetricsCollector(session, buffer)) {
+ *     collector.start();
+ *     session.navigateAndWait(url, WaitUntil.NetworkIdle);
+ * }
+ * buffer.forEach(System.out::println);
+ * </pre>
+ */
+public class PageMetricsCollector implements AutoCloseable {
+
+    private static final long DEFAULT_INTERVAL = 1000; // 1 second
+
+    private final Session session;
+
+    private final PageMetricsBuffer buffer;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final boolean shutdownScheduler;
+
+    private final long interval;
+
+    private final PageMetrics current = new PageMetrics();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private volatile boolean navigating;
+
+    private EventListener listener;
+
+    private ScheduledFuture<?> task;
+
+    public PageMetricsCollector(Session session, PageMetricsBuffer buffer) {
+        this(session, buffer, null, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param session page session
+     * @param buffer target buffer, might be shared by many collectors
+     * @param scheduler executes sampling tasks, if {@code null} a dedicated thread is used.
+     *                  Tasks of this collector never run concurrently.
+     * @param interval periodic sampling interval in milliseconds, {@code 0} disables periodic sampling
+     */
+    public PageMetricsCollector(Session session,
+                                PageMetricsBuffer buffer,
+                                ScheduledExecutorService scheduler,
+                                long interval) {
+        this.session           = session;
+        this.buffer            = buffer;
+        this.shutdownScheduler = scheduler == null;
+        this.scheduler         = scheduler != null ? scheduler :
+                                        newSingleThreadScheduledExecutor(r -> {
+                                            Thread thread = new Thread(r, "cdp4j-PageMetricsCollector");
+                                            thread.setDaemon(true);
+                                            return thread;
+                                        });
+        this.interval          = interval;
+    }
+
+    /**
+     * Enables the {@code Performance} domain and starts collecting.
+     */
+    public void start() {
+        if (listener != null) {
+            throw new IllegalStateException("Collector is already started");
+        }
+        session.getCommand().getPage().setLifecycleEventsEnabled(true);
+        session.getCommand().getPerformance().enable();
+        listener = (event, value) -> {
+            if (PageLifecycleEvent.equals(event)) {
+                onLifecycleEvent((LifecycleEvent) value);
+            }
+        };
+        session.addEventListener(listener);
+        if (interval > 0) {
+            task = scheduler.scheduleWithFixedDelay(() -> execute(() -> {
+                if (navigating) {
+                    sample(null, 0);
+                }
+            }), interval, interval, MILLISECONDS);
+        }
+    }
+
+    private void onLifecycleEvent(LifecycleEvent event) {
+        if ( ! session.getTargetId().equals(event.getFrameId()) ) {
+            return;
+        }
+        String name = event.getName();
+        double timestamp = event.getTimestamp() != null ? event.getTimestamp().doubleValue() : 0;
+        if ("init".equals(name)) {
+            execute(() -> startNavigation(event.getLoaderId(), timestamp));
+        } else if ("DOMContentLoaded".equals(name) ||
+                        "load".equals(name) ||
+                        "networkIdle".equals(name)) {
+            execute(() -> sample(name, timestamp));
+        }
+    }
+
+    // lifecycle events must be processed in order (init before load etc.)
+    // even if the scheduler runs tasks concurrently
+    private void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                tasks.clear();
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable next;
+            while ((next = tasks.poll()) != null) {
+                next.run();
+            }
+        } finally {
+            draining.set(false);
+            if ( ! tasks.isEmpty() ) {
+                schedule();
+            }
+        }
+    }
+
+    private void startNavigation(String loaderId, double timestamp) {
+        lock.lock();
+        try {
+            publish();
+            current.loaderId        = loaderId;
+            current.navigationStart = timestamp;
+            navigating              = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(String lifecycleEvent, double timestamp) {
+        if ( ! session.isConnected() ) {
+            return;
+        }
+        List<Metric> metrics;
+        try {
+            metrics = session.getCommand().getPerformance().getMetrics();
+        } catch (RuntimeException e) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (lifecycleEvent != null && current.navigationStart > 0) {
+                double elapsed = (timestamp - current.navigationStart) * 1000;
+                switch (lifecycleEvent) {
+                    case "DOMContentLoaded": current.domContentLoaded = elapsed; break;
+                    case "load"            : current.load = elapsed; break;
+                    case "networkIdle"     : current.networkIdle = elapsed; break;
+                    default: break;
+                }
+            }
+            update(metrics);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(List<Metric> metrics) {
+        if (metrics == null) {
+            return;
+        }
+        for (int i = 0; i < metrics.size(); i++) {
+            Metric metric = metrics.get(i);
+            if (metric.getValue() == null) {
+                continue;
+            }
+            double value = metric.getValue().doubleValue();
+            switch (metric.getName()) {
+                case "JSHeapUsedSize"     : current.jsHeapUsedSize = value;
+                                            current.jsHeapUsedSizeMax = max(current.jsHeapUsedSizeMax, value);
+                                            break;
+                case "JSHeapTotalSize"    : current.jsHeapTotalSize = value; break;
+                case "LayoutDuration"     : current.layoutDuration = value * 1000; break;
+                case "RecalcStyleDuration": current.recalcStyleDuration = value * 1000; break;
+                case "ScriptDuration"     : current.scriptDuration = value * 1000; break;
+                case "TaskDuration"       : current.taskDuration = value * 1000; break;
+                case "LayoutCount"        : current.layoutCount = (int) value; break;
+                case "Nodes"              : current.nodes = (int) value; break;
+                case "Documents"          : current.documents = (int) value; break;
+                case "Frames"             : current.frames = (int) value; break;
+                case "JSEventListeners"   : current.jsEventListeners = (int) value; break;
+                case "NavigationStart"    : if (current.navigationStart <= 0) {
+                                                current.navigationStart = value;
+                                            }
+                                            break;
+                default: break;
+            }
+        }
+        current.samples++;
+    }
+
+    private void publish() {
+        if (navigating && current.samples > 0) {
+            buffer.add(current);
+        }
+        current.clear();
+        navigating = false;
+    }
+
+    /**
+     * Takes a sample immediately and publishes the summary of the current navigation.
+     */
+    public void flush() {
+        sample(null, 0);
+        lock.lock();
+        try {
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops collecting and publishes the summary of the current navigation.
+     */
+    @Override
+    public void close() {
+        if (listener == null) {
+            return;
+        }
+        if (task != null) {
+            task.cancel(false);
+        }
+        session.removeEventEventListener(listener);
+        listener = null;
+        if (session.isConnected()) {
+            flush();
+            try {
+                session.getCommand().getPerformance().disable();
+            } catch (RuntimeException e) {
+                // ignore
+            }
+        }
+        if (shutdownScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+}
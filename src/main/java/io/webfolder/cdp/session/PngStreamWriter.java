@@ -0,0 +1,184 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.fill;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a truecolor png image row by row.
+ * 
+ * Only the current and the previous rows are kept in memory, compressed
+ * data is flushed in {@code IDAT} chunks as soon as it is available.
+ */
+class PngStreamWriter implements AutoCloseable {
+
+    private static final byte[] SIGNATURE = { (byte) 137, 80, 78, 71, 13, 10, 26, 10 };
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int BYTES_PER_PIXEL = 3;
+
+    private static final byte FILTER_SUB = 1;
+
+    private final OutputStream out;
+
+    private final int width;
+
+    private final int height;
+
+    private final Deflater deflater;
+
+    private final CRC32 crc = new CRC32();
+
+    private final byte[] row;
+
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    private int rows;
+
+    private boolean finished;
+
+    PngStreamWriter(OutputStream out, int width, int height) throws IOException {
+        this(out, width, height, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    PngStreamWriter(OutputStream out, int width, int height, int compressionLevel) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+        }
+        this.out      = out;
+        this.width    = width;
+        this.height   = height;
+        this.deflater = new Deflater(compressionLevel);
+        this.row      = new byte[1 + width * BYTES_PER_PIXEL];
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8]  = 8; // bit depth
+        header[9]  = 2; // color type: truecolor
+        header[10] = 0; // compression: deflate
+        header[11] = 0; // filter: adaptive
+        header[12] = 0; // interlace: none
+        writeChunk("IHDR", header, header.length);
+    }
+
+    /**
+     * Writes the next row.
+     * 
+     * @param pixels argb pixels, alpha is ignored
+     * @param offset offset of the first pixel of the row
+     */
+    void writeRow(int[] pixels, int offset) throws IOException {
+        if (rows >= height) {
+            throw new IllegalStateException("All rows are written");
+        }
+        row[0] = FILTER_SUB;
+        int previous = 0;
+        for (int x = 0, i = 1; x < width; x++, i += BYTES_PER_PIXEL) {
+            int pixel = pixels[offset + x];
+            row[i]     = (byte) ((pixel >> 16) - (previous >> 16));
+            row[i + 1] = (byte) ((pixel >> 8) - (previous >> 8));
+            row[i + 2] = (byte) (pixel - previous);
+            previous = pixel;
+        }
+        deflater.setInput(row);
+        while ( ! deflater.needsInput() ) {
+            deflate();
+        }
+        rows++;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    private void deflate() throws IOException {
+        int length = deflater.deflate(chunk);
+        if (length > 0) {
+            writeChunk("IDAT", chunk, length);
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(US_ASCII);
+        byte[] lengthBytes = new byte[4];
+        writeInt(lengthBytes, 0, length);
+        out.write(lengthBytes);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        writeInt(crcBytes, 0, (int) crc.getValue());
+        out.write(crcBytes);
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset]     = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Writes the remaining compressed data and the {@code IEND} chunk.
+     * 
+     * Missing rows are filled with white.
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            if (rows < height) {
+                int[] white = new int[width];
+                fill(white, 0xFFFFFF);
+                while (rows < height) {
+                    writeRow(white, 0);
+                }
+            }
+            deflater.finish();
+            while ( ! deflater.finished() ) {
+                deflate();
+            }
+            writeChunk("IEND", new byte[0], 0);
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.lang.Integer.parseInt;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.command.Runtime;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.type.runtime.CallArgument;
+import io.webfolder.cdp.type.runtime.CallFunctionOnResult;
+import io.webfolder.cdp.type.runtime.ExceptionDetails;
+import io.webfolder.cdp.type.runtime.GetPropertiesResult;
+import io.webfolder.cdp.type.runtime.PropertyDescriptor;
+import io.webfolder.cdp.type.runtime.RemoteObject;
+
+/**
+ * Evaluates many named css or xpath selectors in a single in-page pass.
+ * 
+ * <p>
+ * Value queries ({@link Builder#text(String, String)}, {@link Builder#attribute(String, String, String)},
+ * {@link Builder#property(String, String, String)} and {@link Builder#count(String, String)}) are
+ * returned by value with one {@code Runtime.callFunctionOn}. If the plan contains
+ * {@link Builder#elements(String, String)} queries, the matching elements of all queries are
+ * returned as one array and resolved with one additional {@code Runtime.getProperties}.
+ * </p>
+ * 
+ * <pre>
+ * QueryPlan plan = QueryPlan.builder()
+ *                           .text("title", "h1")
+ *                           .attribute("links", "a", "href")
+ *                           .count("items", "//li")
+ *                           .elements("buttons", "button")
+ *                           .build();
+ * QueryResult result = session.query(plan);
+ * List&lt;String&gt; links = result.getStrings("links");
+ * </pre>
+ * 
+ * Plans are immutable and can be shared between sessions.
+ */
+public class QueryPlan {
+
+    private static final String RESULT_PROPERTY = "__cdp4j_result";
+
+    private static final String FUNCTION = "function(plan, handles) { " +
+        "const all = (s) => { " +
+            "if (s.charAt(0) === '/' || s.charAt(0) === '(') { " +
+                "const r = document.evaluate(s, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null); " +
+                "const nodes = []; " +
+                "for (let i = 0; i < r.snapshotLength; i++) nodes.push(r.snapshotItem(i)); " +
+                "return nodes; " +
+            "} " +
+            "return Array.from(document.querySelectorAll(s)); " +
+        "}; " +
+        "const values = {}; " +
+        "const counts = {}; " +
+        "const elements = []; " +
+        "for (const q of plan) { " +
+            "const nodes = all(q.selector); " +
+            "switch (q.type) { " +
+                "case 'count': values[q.name] = nodes.length; break; " +
+                "case 'text': values[q.name] = nodes.map(n => n.textContent); break; " +
+                "case 'attribute': values[q.name] = nodes.map(n => n.getAttribute ? n.getAttribute(q.key) : null); break; " +
+                "case 'property': values[q.name] = nodes.map(n => { const v = n[q.key]; return v === undefined ? null : v; }); break; " +
+                "case 'elements': counts[q.name] = nodes.length; nodes.forEach(n => elements.push(n)); break; " +
+            "} " +
+        "} " +
+        "const result = JSON.stringify({ values: values, counts: counts }); " +
+        "if (!handles) return result; " +
+        "elements." + RESULT_PROPERTY + " = result; " +
+        "return elements; " +
+    "}";
+
+    private final List<Map<String, String>> queries;
+
+    private final List<String> elementQueries;
+
+    private QueryPlan(List<Map<String, String>> queries, List<String> elementQueries) {
+        this.queries        = unmodifiableList(queries);
+        this.elementQueries = unmodifiableList(elementQueries);
+    }
+
+    public static class Builder {
+
+        private final List<Map<String, String>> queries = new ArrayList<>();
+
+        private final List<String> elementQueries = new ArrayList<>();
+
+        private final Set<String> names = new LinkedHashSet<>();
+
+        private Builder() {
+            // no op
+        }
+
+        private Builder add(String type, String name, String selector, String key) {
+            if (name == null || selector == null || selector.isEmpty()) {
+                throw new IllegalArgumentException();
+            }
+            if ( ! names.add(name) ) {
+                throw new CdpException("Duplicate query name: " + name);
+            }
+            Map<String, String> query = new LinkedHashMap<>();
+            query.put("type", type);
+            query.put("name", name);
+            query.put("selector", selector);
+            if (key != null) {
+                query.put("key", key);
+            }
+            queries.add(query);
+            if ("elements".equals(type)) {
+                elementQueries.add(name);
+            }
+            return this;
+        }
+
+        /**
+         * Text content of the matching elements.
+         */
+        public Builder text(String name, String selector) {
+            return add("text", name, selector, null);
+        }
+
+        /**
+         * Attribute value of the matching elements.
+         */
+        public Builder attribute(String name, String selector, String attribute) {
+            return add("attribute", name, selector, attribute);
+        }
+
+        /**
+         * Property value of the matching elements, property must be serializable to json.
+         */
+        public Builder property(String name, String selector, String property) {
+            return add("property", name, selector, property);
+        }
+
+        /**
+         * Number of the matching elements.
+         */
+        public Builder count(String name, String selector) {
+            return add("count", name, selector, null);
+        }
+
+        /**
+         * Remote object ids of the matching elements.
+         */
+        public Builder elements(String name, String selector) {
+            return add("elements", name, selector, null);
+        }
+
+        public QueryPlan build() {
+            if (queries.isEmpty()) {
+                throw new CdpException("Query plan is empty");
+            }
+            return new QueryPlan(new ArrayList<>(queries), new ArrayList<>(elementQueries));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Executes the plan in the main world of the session.
+     */
+    public QueryResult execute(Session session) {
+        boolean handles = ! elementQueries.isEmpty();
+        Runtime runtime = session.getCommand().getRuntime();
+        CallArgument plan = new CallArgument();
+        plan.setValue(queries);
+        CallArgument mode = new CallArgument();
+        mode.setValue(handles);
+        CallFunctionOnResult result = runtime.callFunctionOn(FUNCTION, null, asList(plan, mode),
+                                                                FALSE, handles ? FALSE : TRUE,
+                                                                FALSE, FALSE, FALSE,
+                                                                session.getExecutionContextId(), null);
+        if (result == null || result.getResult() == null) {
+            throw new CdpException("Query plan failed");
+        }
+        ExceptionDetails details = result.getExceptionDetails();
+        if (details != null && details.getException() != null) {
+            if (details.getException().getObjectId() != null) {
+                session.releaseObject(details.getException().getObjectId());
+            }
+            throw new CdpException(details.getException().getDescription());
+        }
+        if ( ! handles ) {
+            return toResult(session, (String) result.getResult().getValue(), null);
+        }
+        String arrayId = result.getResult().getObjectId();
+        try {
+            GetPropertiesResult properties = runtime.getProperties(arrayId, TRUE, FALSE, FALSE);
+            String json = null;
+            List<String> objectIds = new ArrayList<>();
+            for (PropertyDescriptor next : properties.getResult()) {
+                RemoteObject value = next.getValue();
+                if (value == null) {
+                    continue;
+                }
+                if (RESULT_PROPERTY.equals(next.getName())) {
+                    json = (String) value.getValue();
+                } else if (TRUE.equals(next.isEnumerable()) && isIndex(next.getName())) {
+                    int index = parseInt(next.getName());
+                    while (objectIds.size() <= index) {
+                        objectIds.add(null);
+                    }
+                    objectIds.set(index, value.getObjectId());
+                }
+            }
+            return toResult(session, json, objectIds);
+        } finally {
+            session.releaseObject(arrayId);
+        }
+    }
+
+    private static boolean isIndex(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ( ! Character.isDigit(name.charAt(i)) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private QueryResult toResult(Session session, String json, List<String> objectIds) {
+        if (json == null) {
+            throw new CdpException("Query plan failed");
+        }
+        JsonObject object = session.getGson().fromJson(json, JsonObject.class);
+        JsonObject values = object.getAsJsonObject("values");
+        JsonObject counts = object.getAsJsonObject("counts");
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map<String, String> next : queries) {
+            String name = next.get("name");
+            if (values.has(name)) {
+                map.put(name, session.getGson().fromJson(values.get(name), Object.class));
+            }
+        }
+        Map<String, List<String>> elements = new LinkedHashMap<>();
+        int offset = 0;
+        for (String name : elementQueries) {
+            int count = counts.get(name).getAsInt();
+            elements.put(name, unmodifiableList(new ArrayList<>(objectIds.subList(offset, offset + count))));
+            offset += count;
+        }
+        return new QueryResult(map, elements);
+    }
+}
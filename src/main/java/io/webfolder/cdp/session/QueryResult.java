@@ -0,0 +1,108 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of a {@link QueryPlan}, values and element handles keyed by query name.
+ */
+public class QueryResult {
+
+    private final Map<String, Object> values;
+
+    private final Map<String, List<String>> elements;
+
+    QueryResult(Map<String, Object> values, Map<String, List<String>> elements) {
+        this.values   = values;
+        this.elements = elements;
+    }
+
+    /**
+     * @return query names
+     */
+    public Set<String> getNames() {
+        Set<String> names = new LinkedHashSet<>(values.keySet());
+        names.addAll(elements.keySet());
+        return unmodifiableSet(names);
+    }
+
+    /**
+     * Values of a text, attribute or property query.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> getValues(String name) {
+        Object value = values.get(name);
+        return value instanceof List ? (List<Object>) value : emptyList();
+    }
+
+    /**
+     * Values of a text, attribute or property query as strings.
+     */
+    public List<String> getStrings(String name) {
+        List<Object> list = getValues(name);
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object next : list) {
+            strings.add(next != null ? String.valueOf(next) : null);
+        }
+        return strings;
+    }
+
+    /**
+     * First value of a text, attribute or property query.
+     */
+    public Object getFirst(String name) {
+        List<Object> list = getValues(name);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * Number of the matching elements of any query.
+     */
+    public int getCount(String name) {
+        Object value = values.get(name);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof List) {
+            return ((List<?>) value).size();
+        }
+        List<String> objectIds = elements.get(name);
+        return objectIds != null ? objectIds.size() : 0;
+    }
+
+    /**
+     * Remote object ids of an elements query, the caller is responsible to release them.
+     */
+    public List<String> getObjectIds(String name) {
+        List<String> objectIds = elements.get(name);
+        return objectIds != null ? objectIds : emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryResult [values=" + values + ", elements=" + elements + "]";
+    }
+}
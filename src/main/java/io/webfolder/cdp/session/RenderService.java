@@ -0,0 +1,439 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.type.constant.ImageFormat.Png;
+import static io.webfolder.cdp.type.constant.PdfTransferMode.ReturnAsStream;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.webfolder.cdp.command.Runtime;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.type.constant.ImageFormat;
+import io.webfolder.cdp.type.page.PrintToPDFResult;
+import io.webfolder.cdp.type.runtime.EvaluateResult;
+
+/**
+ * Renders html content to pdf and images in parallel.
+ * 
+ * <p>
+ * The service keeps a pool of pre-configured pages across one or more browsers.
+ * Device metrics and hidden scrollbars are set once per page and content is loaded with
+ * {@code Page.setDocumentContent} instead of a navigation.
+ * </p>
+ * 
+ * <pre>
+ * try (RenderService service = RenderService.builder(factory)
+ *                                     .sessions(4)
+ *                                     .viewport(1280, 800)
+ *                                     .build()) {
+ *     byte[] pdf = service.renderPdf("&lt;h1&gt;report&lt;/h1&gt;").join();
+ * }
+ * </pre>
+ */
+public class RenderService implements AutoCloseable {
+
+    private static final String WAIT_FOR_LOAD =
+                    "new Promise(resolve => document.readyState === 'complete' ? resolve() :" +
+                        " window.addEventListener('load', () => resolve(), { once: true }))" +
+                    ".then(() => document.fonts ? document.fonts.ready : null)" +
+                    ".then(() => true)";
+
+    private final List<SessionFactory> factories;
+
+    private final int width;
+
+    private final int height;
+
+    private final boolean hideScrollbar;
+
+    private final LinkedBlockingQueue<Session> sessions = new LinkedBlockingQueue<>();
+
+    private final Map<Session, SessionFactory> allSessions = new IdentityHashMap<>();
+
+    private final ExecutorService executor;
+
+    // replaces the crashed pages off the render path
+    private final ExecutorService replaceExecutor;
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder totalTime = new LongAdder();
+
+    private final LongAdder replaceFailed = new LongAdder();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final long startTime = nanoTime();
+
+    private volatile boolean closed;
+
+    public static class Builder {
+
+        private final List<SessionFactory> factories = new ArrayList<>();
+
+        private int sessions = 1;
+
+        private int width = 1280;
+
+        private int height = 800;
+
+        private boolean hideScrollbar = true;
+
+        private Builder() {
+            // no op
+        }
+
+        /**
+         * Adds a browser to render on.
+         */
+        public Builder factory(SessionFactory factory) {
+            factories.add(factory);
+            return this;
+        }
+
+        /**
+         * Number of pages per browser.
+         */
+        public Builder sessions(int sessions) {
+            this.sessions = sessions;
+            return this;
+        }
+
+        public Builder viewport(int width, int height) {
+            this.width  = width;
+            this.height = height;
+            return this;
+        }
+
+        public Builder hideScrollbar(boolean hideScrollbar) {
+            this.hideScrollbar = hideScrollbar;
+            return this;
+        }
+
+        public RenderService build() {
+            if (factories.isEmpty()) {
+                throw new IllegalArgumentException("At least one SessionFactory is required");
+            }
+            if (sessions <= 0) {
+                throw new IllegalArgumentException("sessions must be positive");
+            }
+            return new RenderService(this);
+        }
+    }
+
+    public static Builder builder(SessionFactory ...factories) {
+        Builder builder = new Builder();
+        for (SessionFactory next : factories) {
+            builder.factory(next);
+        }
+        return builder;
+    }
+
+    private RenderService(Builder builder) {
+        this.factories     = unmodifiableList(new ArrayList<>(builder.factories));
+        this.width         = builder.width;
+        this.height        = builder.height;
+        this.hideScrollbar = builder.hideScrollbar;
+        for (SessionFactory factory : factories) {
+            for (int i = 0; i < builder.sessions; i++) {
+                Session session = createSession(factory);
+                allSessions.put(session, factory);
+                sessions.add(session);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = newFixedThreadPool(allSessions.size(), r -> {
+                            Thread thread = new Thread(r, "cdp4j-RenderService-" + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.replaceExecutor = newSingleThreadExecutor(r -> {
+                            Thread thread = new Thread(r, "cdp4j-RenderService-Replace");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    private Session createSession(SessionFactory factory) {
+        Session session = factory.create();
+        session.getCommand().getEmulation().setDeviceMetricsOverride(width, height, 1D, false);
+        session.getCommand().getPage().enable();
+        if (hideScrollbar) {
+            // page level setting, survives setDocumentContent
+            session.getCommand().getEmulation().setScrollbarsHidden(true);
+        }
+        return session;
+    }
+
+    /**
+     * Renders html content as pdf.
+     */
+    public CompletableFuture<byte[]> renderPdf(String html) {
+        return render(html, this::printToPdf);
+    }
+
+    /**
+     * Renders html content as png image of the viewport.
+     */
+    public CompletableFuture<byte[]> renderImage(String html) {
+        return renderImage(html, ImageFormat.Png, null, false);
+    }
+
+    /**
+     * Renders html content as image.
+     * 
+     * @param format Image compression format.
+     * @param quality Compression quality from range [0..100] (jpeg only).
+     * @param fullPage captures the full scrollable page tile by tile instead of the viewport,
+     *                 full page images are always png
+     */
+    public CompletableFuture<byte[]> renderImage(String html, ImageFormat format, Integer quality, boolean fullPage) {
+        if (fullPage && format != null && ! Png.equals(format)) {
+            throw new IllegalArgumentException("Full page image format must be png");
+        }
+        return render(html, session -> captureScreenshot(session, format, quality, fullPage));
+    }
+
+    /**
+     * Loads the html content into a pooled page and applies the function.
+     */
+    public <T> CompletableFuture<T> render(String html, Function<Session, T> function) {
+        if (closed) {
+            throw new CdpException("RenderService is closed");
+        }
+        return supplyAsync(() -> {
+            long start = nanoTime();
+            active.incrementAndGet();
+            Session session = acquire();
+            boolean success = false;
+            try {
+                setContent(session, html);
+                T result = function.apply(session);
+                success = true;
+                return result;
+            } finally {
+                release(session);
+                active.decrementAndGet();
+                if (success) {
+                    completed.increment();
+                    totalTime.add(nanoTime() - start);
+                } else {
+                    failed.increment();
+                }
+            }
+        }, executor);
+    }
+
+    private Session acquire() {
+        try {
+            return sessions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CdpException(e);
+        }
+    }
+
+    private void release(Session session) {
+        if (closed) {
+            return;
+        }
+        if (session.isConnected()) {
+            sessions.offer(session);
+            return;
+        }
+        SessionFactory factory;
+        synchronized (allSessions) {
+            factory = allSessions.remove(session);
+        }
+        if (factory == null || factory.closed()) {
+            return;
+        }
+        try {
+            replaceExecutor.execute(() -> replace(session, factory));
+        } catch (RejectedExecutionException e) {
+            // service is closed
+        }
+    }
+
+    // replaces the crashed or closed page, the render result is not affected by a failure
+    private void replace(Session session, SessionFactory factory) {
+        if (closed || factory.closed()) {
+            return;
+        }
+        Session replacement;
+        try {
+            replacement = createSession(factory);
+        } catch (RuntimeException e) {
+            replaceFailed.increment();
+            session.error("Unable to replace the render page: {}", e.getMessage());
+            return;
+        }
+        synchronized (allSessions) {
+            if (closed) {
+                replacement.close();
+                return;
+            }
+            allSessions.put(replacement, factory);
+        }
+        sessions.offer(replacement);
+    }
+
+    private void setContent(Session session, String html) {
+        session.getCommand().getPage().setDocumentContent(session.getTargetId(), html);
+        Runtime runtime = session.getCommand().getRuntime();
+        EvaluateResult result = runtime.evaluate(WAIT_FOR_LOAD, null, null, true,
+                                                    null, true, null, null,
+                                                    true, null, null, null, null);
+        if (result != null && result.getExceptionDetails() != null) {
+            throw new CdpException(result.getExceptionDetails().getText());
+        }
+    }
+
+    private byte[] printToPdf(Session session) {
+        PrintToPDFResult result = session.getCommand()
+                                            .getPage()
+                                            .printToPDF(null, null,
+                                                        true, null,
+                                                        null, null,
+                                                        null, null,
+                                                        null, null,
+                                                        null, null,
+                                                        null, null,
+                                                        null, ReturnAsStream);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOStream.transferTo(session.getCommand().getIO(), result.getStream(),
+                                    Channels.newChannel(out), IOStream.DEFAULT_CHUNK_SIZE, true);
+        return out.toByteArray();
+    }
+
+    private byte[] captureScreenshot(Session session, ImageFormat format, Integer quality, boolean fullPage) {
+        if ( ! fullPage ) {
+            return session.getCommand().getPage().captureScreenshot(format, quality, null, true);
+        }
+        // the viewport is not resized, the device metrics of the pooled page stay intact
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TiledScreenshot(session, 0).capture(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * @return number of successful renders
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return number of failed renders
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of renders in progress or waiting for a page
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * @return average latency of the successful renders in milliseconds
+     */
+    public double getAverageLatency() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalTime.sum() / (double) count / 1_000_000D;
+    }
+
+    /**
+     * @return successful renders per second since the service is started
+     */
+    public double getThroughput() {
+        double elapsed = (nanoTime() - startTime) / (double) SECONDS.toNanos(1);
+        return elapsed <= 0 ? 0 : completed.sum() / elapsed;
+    }
+
+    /**
+     * @return number of crashed pages which could not be replaced
+     */
+    public long getReplaceFailures() {
+        return replaceFailed.sum();
+    }
+
+    /**
+     * @return number of pooled pages
+     */
+    public int getPoolSize() {
+        synchronized (allSessions) {
+            return allSessions.size();
+        }
+    }
+
+    public List<SessionFactory> getFactories() {
+        return factories;
+    }
+
+    /**
+     * Waits for the running renders and closes the pooled pages.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        replaceExecutor.shutdownNow();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (allSessions) {
+            for (Session next : allSessions.keySet()) {
+                if (next.isConnected()) {
+                    next.close();
+                }
+            }
+            allSessions.clear();
+        }
+        sessions.clear();
+    }
+}
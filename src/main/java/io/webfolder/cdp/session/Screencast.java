@@ -0,0 +1,348 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.event.Events.PageScreencastFrame;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Base64.getDecoder;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayDeque;
+import java.util.Base64.Decoder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import io.webfolder.cdp.event.page.ScreencastFrame;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.constant.ImageFormat;
+import io.webfolder.cdp.type.page.ScreencastFrameMetadata;
+
+/**
+ * Screencast frame pipeline.
+ * 
+ * <p>
+ * Frames are kept in a bounded queue, when the queue is full the oldest frame is
+ * dropped. Frames are acknowledged on a dedicated thread and decoded into pooled
+ * buffers by the consumer ({@link #poll()} caller or the {@link #onFrame(Consumer)}
+ * dispatcher thread), so that neither the acknowledgement round trip, the decoding
+ * nor a slow consumer blocks the event delivery of the session. Dropped frames are
+ * never decoded.
+ * </p>
+ * 
+ * <pre>
+ * try (Screencast screencast = new Screencast(session, 16)) {
+ *     screencast.start(ImageFormat.Jpeg, 80, null, null, null);
+ *     screencast.onFrame(image -&gt; image.writeTo(out));
+ *     ...
+ * }
+ * </pre>
+ */
+public class Screencast implements AutoCloseable {
+
+    private final Session session;
+
+    private final int capacity;
+
+    private final ArrayDeque<ScreencastImage> queue;
+
+    private final ArrayBlockingQueue<ScreencastImage> pool;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Decoder decoder = getDecoder();
+
+    private final AtomicLong received = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private ExecutorService ackExecutor;
+
+    private Thread dispatcher;
+
+    private EventListener listener;
+
+    private volatile boolean closed;
+
+    /**
+     * @param session page session
+     * @param capacity maximum number of frames waiting for the consumer
+     */
+    public Screencast(Session session, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.session  = session;
+        this.capacity = capacity;
+        this.queue    = new ArrayDeque<>(capacity);
+        // queued frames + one frame in use by the consumer + one frame in flight
+        this.pool     = new ArrayBlockingQueue<>(capacity + 2);
+    }
+
+    /**
+     * Starts the screencast.
+     * 
+     * @param format Image compression format.
+     * @param quality Compression quality from range [0..100].
+     * @param maxWidth Maximum screenshot width.
+     * @param maxHeight Maximum screenshot height.
+     * @param everyNthFrame Send every n-th frame.
+     */
+    public void start(ImageFormat format, Integer quality,
+                            Integer maxWidth, Integer maxHeight,
+                            Integer everyNthFrame) {
+        if (listener != null) {
+            throw new IllegalStateException("Screencast is already started");
+        }
+        closed      = false;
+        ackExecutor = newSingleThreadExecutor(r -> {
+                            Thread thread = new Thread(r, "cdp4j-ScreencastAck");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        listener    = (event, value) -> {
+                            if (PageScreencastFrame.equals(event)) {
+                                onFrame((ScreencastFrame) value);
+                            }
+                        };
+        session.addEventListener(listener);
+        session.getCommand().getPage().startScreencast(format, quality, maxWidth, maxHeight, everyNthFrame);
+    }
+
+    private void onFrame(ScreencastFrame frame) {
+        Integer frameId = frame.getSessionId();
+        // acknowledge first, the browser does not send the next frame until the ack arrives
+        if ( ! closed && frameId != null ) {
+            ackExecutor.execute(() -> {
+                if ( ! closed && session.isConnected() ) {
+                    session.getCommand().getPage().screencastFrameAck(frameId);
+                }
+            });
+        }
+        String data = frame.getData();
+        if (closed || data == null) {
+            return;
+        }
+        ScreencastImage image = pool.poll();
+        if (image == null) {
+            image = new ScreencastImage(this);
+        } else {
+            image.released.set(false);
+        }
+        image.encoded = data;
+        ScreencastFrameMetadata metadata = frame.getMetadata();
+        if (metadata != null) {
+            image.timestamp       = value(metadata.getTimestamp());
+            image.offsetTop       = value(metadata.getOffsetTop());
+            image.pageScaleFactor = value(metadata.getPageScaleFactor());
+            image.deviceWidth     = value(metadata.getDeviceWidth());
+            image.deviceHeight    = value(metadata.getDeviceHeight());
+            image.scrollOffsetX   = value(metadata.getScrollOffsetX());
+            image.scrollOffsetY   = value(metadata.getScrollOffsetY());
+        }
+        image.sequence = received.getAndIncrement();
+        ScreencastImage oldest = null;
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                oldest = queue.pollFirst();
+                dropped.incrementAndGet();
+            }
+            queue.offerLast(image);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (oldest != null) {
+            recycle(oldest);
+        }
+    }
+
+    private ScreencastImage decode(ScreencastImage image) {
+        if (image == null || image.encoded == null) {
+            return image;
+        }
+        byte[] encoded = image.encoded.getBytes(ISO_8859_1);
+        image.encoded = null;
+        int maxLength = encoded.length / 4 * 3;
+        if (image.data.length < maxLength) {
+            image.data = new byte[maxLength];
+        }
+        image.length = decoder.decode(encoded, image.data);
+        return image;
+    }
+
+    private static double value(Double value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    void recycle(ScreencastImage image) {
+        if (image.released.compareAndSet(false, true)) {
+            image.encoded = null;
+            image.length  = 0;
+            pool.offer(image);
+        }
+    }
+
+    /**
+     * Retrieves and removes the oldest frame, waiting if necessary.
+     * 
+     * @return frame or {@code null} if the timeout elapsed or the screencast is closed
+     */
+    public ScreencastImage poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        ScreencastImage image;
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (closed || nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            image = queue.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+        return decode(image);
+    }
+
+    /**
+     * Retrieves and removes the oldest frame without waiting.
+     */
+    public ScreencastImage poll() {
+        ScreencastImage image;
+        lock.lock();
+        try {
+            image = queue.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+        return decode(image);
+    }
+
+    /**
+     * Delivers the frames to the callback on a dedicated thread.
+     * 
+     * Images are released after the callback returns.
+     */
+    public void onFrame(Consumer<ScreencastImage> callback) {
+        if (dispatcher != null) {
+            throw new IllegalStateException("Frame callback is already registered");
+        }
+        dispatcher = new Thread(() -> {
+            while ( ! closed ) {
+                ScreencastImage image;
+                try {
+                    image = poll(100, MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (image == null) {
+                    continue;
+                }
+                try {
+                    callback.accept(image);
+                } finally {
+                    image.release();
+                }
+            }
+        }, "cdp4j-Screencast");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * @return number of frames received from the browser
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * @return number of frames dropped because the consumer was too slow
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of frames waiting for the consumer
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops the screencast and discards the pending frames.
+     */
+    @Override
+    public void close() {
+        if (listener == null) {
+            return;
+        }
+        closed = true;
+        session.removeEventEventListener(listener);
+        listener = null;
+        if (session.isConnected()) {
+            try {
+                session.getCommand().getPage().stopScreencast();
+            } catch (CdpException e) {
+                // ignore
+            }
+        }
+        ackExecutor.shutdown();
+        try {
+            ackExecutor.awaitTermination(1, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            ScreencastImage next;
+            while ((next = queue.pollFirst()) != null) {
+                recycle(next);
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // dispatcher exits after the running callback returns
+        dispatcher = null;
+    }
+}
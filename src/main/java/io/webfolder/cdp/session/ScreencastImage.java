@@ -0,0 +1,128 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decoded screencast frame backed by a pooled buffer.
+ * 
+ * The image must be released after use, the content of a released
+ * image is overwritten by the next frames.
+ */
+public class ScreencastImage {
+
+    private final Screencast screencast;
+
+    final AtomicBoolean released = new AtomicBoolean(false);
+
+    // base64 content, decoded by the consumer
+    String encoded;
+
+    byte[] data = new byte[0];
+
+    int length;
+
+    long sequence;
+
+    double timestamp;
+
+    double offsetTop;
+
+    double pageScaleFactor;
+
+    double deviceWidth;
+
+    double deviceHeight;
+
+    double scrollOffsetX;
+
+    double scrollOffsetY;
+
+    ScreencastImage(Screencast screencast) {
+        this.screencast = screencast;
+    }
+
+    /**
+     * Compressed image (jpeg or png), valid up to {@link #getLength()}.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(data, 0, length).asReadOnlyBuffer();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(data, 0, length);
+    }
+
+    /**
+     * Sequence number of the frame, gaps indicate dropped frames.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Frame swap timestamp in seconds.
+     */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    public double getOffsetTop() {
+        return offsetTop;
+    }
+
+    public double getPageScaleFactor() {
+        return pageScaleFactor;
+    }
+
+    public double getDeviceWidth() {
+        return deviceWidth;
+    }
+
+    public double getDeviceHeight() {
+        return deviceHeight;
+    }
+
+    public double getScrollOffsetX() {
+        return scrollOffsetX;
+    }
+
+    public double getScrollOffsetY() {
+        return scrollOffsetY;
+    }
+
+    /**
+     * Returns the buffer to the pool, subsequent calls are ignored.
+     */
+    public void release() {
+        screencast.recycle(this);
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.webfolder.cdp.command.Runtime;
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.runtime.ExecutionContextDestroyed;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.runtime.CompileScriptResult;
+import io.webfolder.cdp.type.runtime.EvaluateResult;
+import io.webfolder.cdp.type.runtime.ExceptionDetails;
+import io.webfolder.cdp.type.runtime.RemoteObject;
+import io.webfolder.cdp.type.runtime.RunScriptResult;
+
+/**
+ * Compiles scripts once per execution context and runs them by script id.
+ * 
+ * Scripts are compiled with {@code Runtime.compileScript(persistScript=true)}, the
+ * script id is cached by context and source. Cached scripts are dropped when the
+ * execution context is destroyed.
+ * 
+ * <p>
+ * The cache is intended for a fixed set of scripts. Persisted scripts can not be
+ * released in the browser, at most {@value #MAX_SCRIPTS} scripts are compiled per
+ * context, other scripts are evaluated without caching.
+ * </p>
+ */
+public class ScriptCache implements EventListener {
+
+    private static final String CONTEXT_NOT_FOUND = "Cannot find context with specified id";
+
+    public static final int MAX_SCRIPTS = 256;
+
+    private final Session session;
+
+    private final Map<Integer, Map<String, String>> scripts = new ConcurrentHashMap<>();
+
+    ScriptCache(Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        switch (event) {
+            case RuntimeExecutionContextDestroyed:
+                Integer contextId = ((ExecutionContextDestroyed) value).getExecutionContextId();
+                if (contextId != null) {
+                    scripts.remove(contextId);
+                }
+            break;
+            case RuntimeExecutionContextsCleared:
+                scripts.clear();
+            break;
+            default:
+            break;
+        }
+    }
+
+    /**
+     * Runs the script in the main world of the main frame.
+     * 
+     * @return script result by value
+     */
+    public Object run(String source) {
+        return run(session.getExecutionContextId(), source);
+    }
+
+    /**
+     * Runs the script in the execution context.
+     * 
+     * @return script result by value
+     */
+    public Object run(Integer contextId, String source) {
+        if (contextId == null) {
+            throw new CdpException("Execution context is not available");
+        }
+        Runtime runtime = session.getCommand().getRuntime();
+        RemoteObject remoteObject = null;
+        ExceptionDetails exceptionDetails = null;
+        for (int i = 0; i < 2; i++) {
+            String scriptId = compile(contextId, source);
+            try {
+                if (scriptId == null) {
+                    EvaluateResult result = runtime.evaluate(source, null, FALSE, TRUE,
+                                                                contextId, TRUE, FALSE, null,
+                                                                TRUE, null, null, null, null);
+                    if (result != null) {
+                        remoteObject     = result.getResult();
+                        exceptionDetails = result.getExceptionDetails();
+                    }
+                } else {
+                    RunScriptResult result = runtime.runScript(scriptId, contextId, null, TRUE,
+                                                                FALSE, TRUE, FALSE, TRUE);
+                    if (result != null) {
+                        remoteObject     = result.getResult();
+                        exceptionDetails = result.getExceptionDetails();
+                    }
+                }
+                break;
+            } catch (CdpException e) {
+                if (i > 0 || e.getMessage() == null || ! e.getMessage().contains(CONTEXT_NOT_FOUND)) {
+                    throw e;
+                }
+                // context is gone before the destroyed event is processed
+                scripts.remove(contextId);
+            }
+        }
+        throwIfFailed(exceptionDetails);
+        return remoteObject != null ? remoteObject.getValue() : null;
+    }
+
+    private String compile(Integer contextId, String source) {
+        Map<String, String> compiled = scripts.computeIfAbsent(contextId, id -> new ConcurrentHashMap<>());
+        String scriptId = compiled.get(source);
+        if (scriptId == null && compiled.size() < MAX_SCRIPTS) {
+            CompileScriptResult result = session.getCommand()
+                                                .getRuntime()
+                                                .compileScript(source, "", TRUE, contextId);
+            throwIfFailed(result.getExceptionDetails());
+            scriptId = result.getScriptId();
+            compiled.put(source, scriptId);
+        }
+        return scriptId;
+    }
+
+    private static void throwIfFailed(ExceptionDetails ex) {
+        if (ex != null) {
+            throw new CdpException(ex.getException() != null && ex.getException().getDescription() != null ?
+                                        ex.getException().getDescription() : ex.getText());
+        }
+    }
+
+    /**
+     * @return number of cached scripts of all contexts
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, String> next : scripts.values()) {
+            size += next.size();
+        }
+        return size;
+    }
+
+    /**
+     * Drops all cached script ids.
+     */
+    public void clear() {
+        scripts.clear();
+    }
+}
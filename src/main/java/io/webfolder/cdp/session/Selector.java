@@ -30,13 +30,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Locale.ENGLISH;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.webfolder.cdp.command.DOM;
 import io.webfolder.cdp.command.Runtime;
 import io.webfolder.cdp.exception.CdpException;
 import io.webfolder.cdp.exception.ElementNotFoundException;
-import io.webfolder.cdp.type.dom.Node;
 import io.webfolder.cdp.type.runtime.CallArgument;
 import io.webfolder.cdp.type.runtime.CallFunctionOnResult;
 import io.webfolder.cdp.type.runtime.EvaluateResult;
@@ -105,7 +106,7 @@ public interface Selector {
             return false;
         }
         boolean retValue = nodeId.intValue() > 0;
-        getThis().logExit("matches", format(selector, args), retValue);
+        getThis().logExit("matches", () -> format(selector, args), retValue);
         return retValue;
     }
 
@@ -144,7 +145,7 @@ public interface Selector {
         Object value = getPropertyByObjectId(objectId, propertyName);
         releaseObject(objectId);
         if ( ! DOM_PROPERTIES.contains(propertyName) ) {
-            getThis().logExit("getProperty", format(selector, args) + "\", \"" + propertyName,
+            getThis().logExit("getProperty", () -> format(selector, args) + "\", \"" + propertyName,
                                     valueOf(value).replace("\n", "").replace("\r", ""));
         }
         return value;
@@ -178,7 +179,7 @@ public interface Selector {
                     final Object value,
                     final Object ...args) {
         if ( ! DOM_PROPERTIES.contains(propertyName) ) {
-            getThis().logEntry("setProperty", format(selector) + "\", \"" + propertyName + "\", \"" + value);
+            getThis().logEntry("setProperty", () -> format(selector) + "\", \"" + propertyName + "\", \"" + value);
         }
         String objectId = getObjectId(selector, args);
         if (objectId == null) {
@@ -330,11 +331,8 @@ public interface Selector {
                 }
             }
         } else {
-            Integer rootNodeId = dom.getDocument().getNodeId();
-            if (rootNodeId == null) {
-                return null;
-            }
-            List<Integer> nodeIds = dom.querySelectorAll(rootNodeId, format(selector, args));
+            List<Integer> nodeIds = getThis().getDocumentCache()
+                                             .withRootNodeId(rootNodeId -> dom.querySelectorAll(rootNodeId, format(selector, args)));
             if (nodeIds == null || nodeIds.isEmpty()) {
                 return emptyList();
             }
@@ -370,14 +368,16 @@ public interface Selector {
                 final Object ...args) {
         final DOM     dom    = getThis().getCommand().getDOM();
         final boolean xpath  = isXPath(selector);
-        if (xpath) {
+        if (xpath && contextId == null && getThis().useUtilityWorld()) {
+            return getThis().getUtilityWorld().findObjectId(format(selector, args));
+        } else if (xpath) {
             RemoteObject docObjectId = null;
             if (contextId == null) {
-                Node document = dom.getDocument();
-                if (document == null) {
+                docObjectId = getThis().getDocumentCache()
+                                       .withRootNodeId(rootNodeId -> dom.resolveNode(rootNodeId, null, null, getThis().getExecutionContextId()));
+                if (docObjectId == null) {
                     return null;
                 }
-                docObjectId = dom.resolveNode(document.getNodeId(), null, null, getThis().getExecutionContextId());
             }
 
             List<CallArgument> arguments = new ArrayList<>(2);
@@ -428,15 +428,8 @@ public interface Selector {
             String objectId = result.getResult().getObjectId();
             return ex == null ? objectId : null;
         } else {
-            Node document = dom.getDocument();
-            if (document == null) {
-                return null;
-            }
-            Integer rootNodeId = document.getNodeId();
-            if (rootNodeId == null) {
-                return null;
-            }
-            Integer nodeId = dom.querySelector(rootNodeId, format(selector, args));
+            Integer nodeId = getThis().getDocumentCache()
+                                      .withRootNodeId(rootNodeId -> dom.querySelector(rootNodeId, format(selector, args)));
             if (nodeId == null || nodeId.intValue() == 0) {
                 return null;
             }
@@ -466,26 +459,26 @@ public interface Selector {
         Integer nodeId = EMPTY_NODE_ID;
         DOM dom = getThis().getCommand().getDOM();
         final boolean xpath = isXPath(selector);
-        if (xpath) {
+        if (xpath && context == null && getThis().useUtilityWorld()) {
+            Integer found = getThis().getUtilityWorld().findNodeId(format(selector, args));
+            if (found != null) {
+                nodeId = found;
+            }
+        } else if (xpath) {
             String objectId = getThis().getObjectId(context, format(selector, args));
             if ( objectId != null ) {
                 nodeId = dom.requestNode(objectId);
                 getThis().releaseObject(objectId);
             }
         } else {
-            Node document = dom.getDocument();
-            if ( document != null ) {
-                Integer documentNodeId = document.getNodeId();
-                if (documentNodeId != null) {
-                    try {
-                        nodeId = dom.querySelector(documentNodeId, format(selector, args));
-                    } catch (CdpException e) {
-                        throw new CdpException(
-                                    format("Method invoke error: querySelector(%s). %s",
-                                            format(selector, args),
-                                            e.getMessage()));
-                    }
-                }
+            try {
+                nodeId = getThis().getDocumentCache()
+                                  .withRootNodeId(rootNodeId -> dom.querySelector(rootNodeId, format(selector, args)));
+            } catch (CdpException e) {
+                throw new CdpException(
+                            format("Method invoke error: querySelector(%s). %s",
+                                    format(selector, args),
+                                    e.getMessage()));
             }
         }
         return nodeId;
@@ -506,9 +499,44 @@ public interface Selector {
         return getThis();
     }
 
+    /**
+     * Evaluates all queries of the plan in a single in-page pass.
+     * 
+     * @param plan query plan
+     * 
+     * @return values and element handles keyed by query name
+     */
+    default QueryResult query(QueryPlan plan) {
+        return plan.execute(getThis());
+    }
+
     static boolean isXPath(String selector) {
         return selector.charAt(0) == '/' || selector.charAt(0) == '(';
     }
 
+    /**
+     * Gets the property values of the matching elements in every frame in parallel.
+     * 
+     * @param selector css selector
+     * @param property property name
+     * 
+     * @return property values by frame id, frames without a match are omitted
+     * 
+     * @see JavaScript#evaluateInFrames(String)
+     */
+    @SuppressWarnings("unchecked")
+    default Map<String, List<Object>> getPropertiesInFrames(final String selector, final String property) {
+        String expression = format("Array.from(document.querySelectorAll(%s), e => e[%s])",
+                                        getThis().getGson().toJson(selector),
+                                        getThis().getGson().toJson(property));
+        Map<String, List<Object>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> next : getThis().evaluateInFrames(expression).entrySet()) {
+            if (next.getValue() instanceof List && ! ((List<Object>) next.getValue()).isEmpty()) {
+                results.put(next.getKey(), (List<Object>) next.getValue());
+            }
+        }
+        return results;
+    }
+
     Session getThis();
 }
@@ -18,54 +18,32 @@
  */
 package io.webfolder.cdp.session;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.util.concurrent.Semaphore;
 
-import com.google.gson.JsonElement;
-
 import io.webfolder.cdp.exception.CdpReadTimeoutException;
-import io.webfolder.cdp.exception.CommandException;
-
-class SemaphoreContext implements Context {
 
-    private JsonElement data;
-
-    private CommandException error;
+class SemaphoreContext extends AbstractContext {
 
     private final Semaphore semaphore = new Semaphore(0);
 
     @Override
-    public void await(final int timeout) {
+    protected void park(final long nanos) {
         try {
-            semaphore.tryAcquire(timeout, MILLISECONDS);
+            semaphore.tryAcquire(nanos, NANOSECONDS);
         } catch (InterruptedException e) {
-            throw new CdpReadTimeoutException(timeout + " ms");
+            throw new CdpReadTimeoutException(NANOSECONDS.toMillis(nanos) + " ms");
         }
     }
 
     @Override
-    public void setData(final JsonElement data) {
-        this.data = data;
-    }
-
-    @Override
-    public JsonElement getData() {
-        return data;
-    }
-
-    @Override
-    public void setError(final CommandException error) {
-        this.error = error;
-    }
-
-    @Override
-    public CommandException getError() {
-        return error;
+    protected void unpark() {
+        semaphore.release();
     }
 
     @Override
-    public void release() {
-        semaphore.release();
+    protected void clear() {
+        semaphore.drainPermits();
     }
 }
@@ -36,26 +36,31 @@ import static java.lang.String.valueOf;
 import static java.lang.ThreadLocal.withInitial;
 import static java.lang.reflect.Proxy.newProxyInstance;
 import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Base64.getDecoder;
 import static java.util.Locale.ENGLISH;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationHandler;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import com.google.gson.Gson;
 
@@ -158,6 +163,7 @@ import io.webfolder.cdp.event.network.ResponseReceived;
 import io.webfolder.cdp.event.page.LifecycleEvent;
 import io.webfolder.cdp.event.runtime.ConsoleAPICalled;
 import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.exception.DeadlineExceededException;
 import io.webfolder.cdp.exception.DestinationUnreachableException;
 import io.webfolder.cdp.exception.LoadTimeoutException;
 import io.webfolder.cdp.listener.EventListener;
@@ -166,7 +172,6 @@ import io.webfolder.cdp.logger.LoggerFactory;
 import io.webfolder.cdp.type.constant.ImageFormat;
 import io.webfolder.cdp.type.css.SourceRange;
 import io.webfolder.cdp.type.dom.Rect;
-import io.webfolder.cdp.type.io.ReadResult;
 import io.webfolder.cdp.type.log.LogEntry;
 import io.webfolder.cdp.type.network.Response;
 import io.webfolder.cdp.type.page.GetLayoutMetricsResult;
@@ -214,11 +219,25 @@ public class Session implements AutoCloseable,
 
     private String browserContextId;
 
-    private volatile Integer executionContextId;
+    private final ExecutionContextRegistry executionContexts = new ExecutionContextRegistry();
+
+    private final boolean useUtilityWorld;
+
+    private volatile UtilityWorld utilityWorld;
+
+    private volatile ScriptCache scriptCache;
+
+    private volatile DocumentCache documentCache;
 
     private final Map<Class<?>, Object> jsFunctions;
 
-    private final Map<Integer, Context> contexts;
+    private final ContextTable contexts;
+
+    private volatile Session parent;
+
+    private volatile String targetType = "page";
+
+    private final List<Session> children = new CopyOnWriteArrayList<>();
 
     private static final ThreadLocal<Boolean> ENABLE_ENTRY_EXIT_LOG = 
                                                     withInitial(() -> { return TRUE; });
@@ -230,7 +249,7 @@ public class Session implements AutoCloseable,
             final String targetId,
             final String browserContextId,
             final Channel channel,
-            final Map<Integer, Context> contexts,
+            final ContextTable contexts,
             final SessionFactory sessionFactory,
             final List<EventListener> eventListeners,
             final LoggerFactory loggerFactory) {
@@ -244,7 +263,7 @@ public class Session implements AutoCloseable,
                                                         this,
                                                         loggerFactory.getLogger("cdp4j.ws.request", options.consoleLoggerLevel()),
                                                         sessionId,
-                                                        options.readTimeout(),
+                                                        options,
                                                         options.waitingStrategy());
         this.targetId         = targetId; 
         this.sesessionFactory = sessionFactory;
@@ -255,6 +274,7 @@ public class Session implements AutoCloseable,
         this.gson             = gson;
         this.jsFunctions      = new ConcurrentHashMap<>();
         this.command          = new Command(this);
+        this.useUtilityWorld  = options.useUtilityWorld();
     }
 
     /**
@@ -349,7 +369,11 @@ public class Session implements AutoCloseable,
                     final int period,
                     final boolean log) {
         final int count = (int) floor(timeout / period);
+        final Deadline deadline = Deadline.current();
         for (int i = 0; i < count; i++) {
+            if (deadline != null) {
+                deadline.check();
+            }
             final boolean wakeup = predicate.test(getThis());
             if (wakeup) {
                 return true;
@@ -442,14 +466,22 @@ public class Session implements AutoCloseable,
 
         addEventListener(loadListener);
 
+        boolean loaded;
         try {
-            latch.await(timeout, MILLISECONDS);
+            loaded = latch.await(Deadline.limit(timeout), MILLISECONDS);
         } catch (InterruptedException e) {
             throw new LoadTimeoutException(e);
         } finally {
             removeEventEventListener(loadListener);
         }
 
+        if ( ! loaded ) {
+            Deadline deadline = Deadline.current();
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Page not loaded, deadline exceeded");
+            }
+        }
+
         long elapsedTime = System.currentTimeMillis() - start;
         if (elapsedTime > timeout) {
             throw new LoadTimeoutException("Page not loaded within " + timeout + " ms");
@@ -613,6 +645,29 @@ public class Session implements AutoCloseable,
         return data;
     }
 
+    /**
+     * Captures the full page as png without resizing the viewport.
+     * 
+     * The page is scrolled and captured one viewport at a time, tiles are
+     * streamed to the output as they arrive. Fixed position elements are
+     * repeated on every tile.
+     * 
+     * @param out png output, not closed by this method
+     */
+    public void captureFullPageScreenshot(OutputStream out) {
+        captureFullPageScreenshot(out, 0);
+    }
+
+    /**
+     * Captures the full page as png without resizing the viewport.
+     * 
+     * @param out png output, not closed by this method
+     * @param tileHeight maximum tile height in css pixels, {@code 0} uses the viewport height
+     */
+    public void captureFullPageScreenshot(OutputStream out, int tileHeight) {
+        new TiledScreenshot(getThis(), tileHeight).capture(out);
+    }
+
     /**
      * Print page as PDF.
      * 
@@ -644,29 +699,10 @@ public class Session implements AutoCloseable,
                                                     null, null,
                                                     null, null,
                                                     null, ReturnAsStream);
-        IO io = getCommand().getIO();
-        String stream = pdfResult.getStream();
-        boolean eof = false;
-        try {
-            while ( ! eof ) {
-                ReadResult streamResult = io.read(stream);
-                eof = streamResult.getEof();
-                if (streamResult.getBase64Encoded()) {
-                    if ( streamResult.getData() != null &&
-                            ! streamResult.getData().isEmpty() ) {
-                        byte[] content = getDecoder().decode(streamResult.getData());
-                        try {
-                            Files.write(file, content, APPEND);
-                        } catch (IOException e) {
-                            throw new CdpException(e);
-                        }
-                    }
-                } else {
-                    throw new CdpException("Inavlid content encoding: it must be base64");
-                }
-            }
-        } finally {
-            io.close(stream);
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, APPEND)) {
+            IOStream.transferTo(getCommand().getIO(), pdfResult.getStream(), channel, IOStream.DEFAULT_CHUNK_SIZE, true);
+        } catch (IOException e) {
+            throw new CdpException(e);
         }
     }
 
@@ -699,7 +735,7 @@ public class Session implements AutoCloseable,
                 if (log) {
                     logEntry("wait", timeout + "ms");
                 }
-                condition.await(timeout, MILLISECONDS);
+                condition.await(Deadline.limit(timeout), MILLISECONDS);
             } catch (InterruptedException e) {
                 if (channel.isOpen() && connected.get()) {
                     throw new CdpException(e);
@@ -766,13 +802,22 @@ public class Session implements AutoCloseable,
     }
 
     void logEntry(final String method) {
-        logEntry(method, null);
+        logEntry(method, (String) null);
+    }
+
+    void logEntry(
+            final String method,
+            final Supplier<String> args) {
+        if ( ! logFlow.isInfoEnabled() || ! ENABLE_ENTRY_EXIT_LOG.get() ) {
+            return;
+        }
+        logEntry(method, args.get());
     }
 
     void logEntry(
             final String method,
             final String args) {
-        if ( ! ENABLE_ENTRY_EXIT_LOG.get() ) {
+        if ( ! logFlow.isInfoEnabled() || ! ENABLE_ENTRY_EXIT_LOG.get() ) {
             return;
         }
         boolean hasArgs = args != null ? true : false;
@@ -787,14 +832,24 @@ public class Session implements AutoCloseable,
     void logExit(
             final String method,
             final Object retValue) {
-        logExit(method, null, retValue);
+        logExit(method, (String) null, retValue);
+    }
+
+    void logExit(
+            final String method,
+            final Supplier<String> args,
+            final Object retValue) {
+        if ( ! logFlow.isInfoEnabled() || ! ENABLE_ENTRY_EXIT_LOG.get() ) {
+            return;
+        }
+        logExit(method, args.get(), retValue);
     }
 
     void logExit(
             final String method,
             final String args,
             final Object retValue) {
-        if ( ! ENABLE_ENTRY_EXIT_LOG.get() ) {
+        if ( ! logFlow.isInfoEnabled() || ! ENABLE_ENTRY_EXIT_LOG.get() ) {
             return;
         }
         boolean hasArgs = args != null ? true : false;
@@ -980,18 +1035,7 @@ public class Session implements AutoCloseable,
         page.addScriptToEvaluateOnNewDocument(builder.toString());
         Object instance = newProxyInstance(getClass().getClassLoader(),
                                             new Class<?>[] { klass },
-                                            (InvocationHandler) (proxy, method, args) -> {
-            String className = method.getDeclaringClass().getSimpleName();
-            String methodName = method.getName();
-            Class<?> returnType = method.getReturnType();
-            if ((void.class.equals(returnType) || Void.class.equals(returnType)) && (args == null || args.length == 0)) {
-                callFunction("document." + className + "." + methodName);
-                return null;
-            } else {
-                Object result = callFunction("document." + className + "." + methodName, returnType, args);
-                return result;
-            }
-        });
+                                            new JsFunctionInvoker(this, klass));
         jsFunctions.put(klass, instance);
         return (T) instance;
     }
@@ -1034,12 +1078,120 @@ public class Session implements AutoCloseable,
         return browserContextId;
     }
 
+    /**
+     * Gets the session which auto attached to this target.
+     * 
+     * @return parent session or {@code null} if this is a top level session
+     */
+    public Session getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the target type (page, iframe, worker, service_worker etc.).
+     */
+    public String getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Gets the auto attached child sessions (out-of-process iframes, workers and popups).
+     * 
+     * The list is populated as the child targets are attached.
+     * 
+     * @see Options.Builder#autoAttach(boolean)
+     */
+    public List<Session> getChildren() {
+        return unmodifiableList(children);
+    }
+
+    void setParent(Session parent, String targetType) {
+        this.parent     = parent;
+        this.targetType = targetType;
+    }
+
+    void addChild(Session child) {
+        children.add(child);
+    }
+
+    void removeChild(Session child) {
+        children.remove(child);
+    }
+
+    /**
+     * Gets the execution context id of the main world of the main frame.
+     */
     public Integer getExecutionContextId() {
-        return executionContextId;
+        return executionContexts.getMainWorld(targetId);
+    }
+
+    /**
+     * Gets the execution contexts of the frames (main and isolated worlds).
+     */
+    public ExecutionContextRegistry getExecutionContexts() {
+        return executionContexts;
+    }
+
+    /**
+     * Gets the isolated world with the preinstalled helper library.
+     */
+    public UtilityWorld getUtilityWorld() {
+        UtilityWorld utilityWorld = this.utilityWorld;
+        if (utilityWorld == null) {
+            synchronized (this) {
+                utilityWorld = this.utilityWorld;
+                if (utilityWorld == null) {
+                    utilityWorld = new UtilityWorld(this);
+                    addEventListener(utilityWorld);
+                    this.utilityWorld = utilityWorld;
+                }
+            }
+        }
+        return utilityWorld;
+    }
+
+    /**
+     * Gets the compiled script cache of this session.
+     */
+    public ScriptCache getScriptCache() {
+        ScriptCache scriptCache = this.scriptCache;
+        if (scriptCache == null) {
+            synchronized (this) {
+                scriptCache = this.scriptCache;
+                if (scriptCache == null) {
+                    scriptCache = new ScriptCache(this);
+                    addEventListener(scriptCache);
+                    this.scriptCache = scriptCache;
+                }
+            }
+        }
+        return scriptCache;
+    }
+
+    /**
+     * Gets the document root and node id cache of this session.
+     */
+    public DocumentCache getDocumentCache() {
+        DocumentCache documentCache = this.documentCache;
+        if (documentCache == null) {
+            synchronized (this) {
+                documentCache = this.documentCache;
+                if (documentCache == null) {
+                    documentCache = new DocumentCache(this);
+                    addEventListener(documentCache);
+                    this.documentCache = documentCache;
+                }
+            }
+        }
+        return documentCache;
+    }
+
+    SessionFactory getSessionFactory() {
+        return sesessionFactory;
     }
 
-    void setExecutionContextId(Integer executionContextId) {
-        this.executionContextId = executionContextId;
+    boolean useUtilityWorld() {
+        return useUtilityWorld;
     }
 
     @Override
@@ -19,10 +19,10 @@
 package io.webfolder.cdp.session;
 
 import static io.webfolder.cdp.CustomTypeAdapter.Generated;
-import static io.webfolder.cdp.event.Events.RuntimeExecutionContextCreated;
-import static io.webfolder.cdp.event.Events.RuntimeExecutionContextDestroyed;
 import static java.lang.Boolean.TRUE;
 import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.util.List;
 import java.util.Map;
@@ -30,7 +30,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -38,15 +41,13 @@ import com.google.gson.TypeAdapterFactory;
 
 import io.webfolder.cdp.CustomTypeAdapter;
 import io.webfolder.cdp.Options;
-import io.webfolder.cdp.Stag;
 import io.webfolder.cdp.channel.Channel;
 import io.webfolder.cdp.channel.ChannelFactory;
 import io.webfolder.cdp.channel.Connection;
 import io.webfolder.cdp.command.Target;
-import io.webfolder.cdp.event.runtime.ExecutionContextCreated;
-import io.webfolder.cdp.event.runtime.ExecutionContextDestroyed;
 import io.webfolder.cdp.exception.CdpException;
 import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.logger.AsyncLogWriter;
 import io.webfolder.cdp.logger.CdpLoggerFactory;
 import io.webfolder.cdp.logger.CdpLoggerType;
 import io.webfolder.cdp.logger.LoggerFactory;
@@ -76,6 +77,13 @@ public class SessionFactory implements AutoCloseable {
 
     private AtomicBoolean closed = new AtomicBoolean(false);
 
+    // paused children are initialized in parallel, each child on a single thread
+    private static final int AUTO_ATTACH_THREADS = 4;
+
+    private volatile ExecutorService attachExecutor;
+
+    private volatile ExecutorService evaluationExecutor;
+
     private TypeAdapterFactory typeAdapterFactory;
 
     public SessionFactory(Options options, ChannelFactory channelFactory, Connection connection) {
@@ -84,10 +92,10 @@ public class SessionFactory implements AutoCloseable {
 
     public SessionFactory(Options options, ChannelFactory channelFactory, Connection connection, boolean init) {
         this.options            = options;
-        this.loggerFactory      = createLoggerFactory(options.loggerType());
-        this.typeAdapterFactory = options.useCustomTypeAdapter() != null ? createTypeAdapterFactory(options.useCustomTypeAdapter()) : null;
+        this.loggerFactory      = createLoggerFactory(options.loggerType(), options.logWriter());
+        this.typeAdapterFactory = Generated.equals(options.useCustomTypeAdapter()) ? createTypeAdapterFactory(options.useCustomTypeAdapter()) : null;
         GsonBuilder builder     = new GsonBuilder().disableHtmlEscaping();
-        if ( options.useCustomTypeAdapter() != null ) {
+        if ( typeAdapterFactory != null ) {
             this.gson = builder.registerTypeAdapterFactory(typeAdapterFactory)
                                .create();
         } else {
@@ -95,7 +103,8 @@ public class SessionFactory implements AutoCloseable {
         }
         MessageHandler handler = new MessageHandler(gson, this,
                                                     options.workerThreadPool(), options.eventHandlerThreadPool(),
-                                                    loggerFactory.getLogger("cdp4j.ws.response", options.consoleLoggerLevel()));
+                                                    loggerFactory.getLogger("cdp4j.ws.response", options.consoleLoggerLevel()),
+                                                    options.metricsCollector());
         channel = channelFactory.createChannel(connection, this, handler);
         if (init) {
             connect();
@@ -112,9 +121,7 @@ public class SessionFactory implements AutoCloseable {
     }
 
     private TypeAdapterFactory createTypeAdapterFactory(CustomTypeAdapter adapter) {
-        if (Generated.equals(adapter)) {
-            return new Stag.Factory();
-        }
+        // single switch based factory of the generated adapters, see CdpTypeAdapterFactory
         return new CdpTypeAdapterFactory();
     }
 
@@ -230,7 +237,7 @@ public class SessionFactory implements AutoCloseable {
         Target target = bs.getCommand().getTarget();
         String sessionId = target.attachToTarget(targetId, TRUE);
 
-        Map<Integer, Context> contexts = new ConcurrentHashMap<>();
+        ContextTable contexts = new ContextTable();
         List<EventListener> eventListeners = new CopyOnWriteArrayList<>();
 
         Session session = new Session(options, gson, sessionId,
@@ -240,33 +247,136 @@ public class SessionFactory implements AutoCloseable {
                                       loggerFactory);
         sessions.put(sessionId, session);
 
+        initPageSession(session);
+
+        if (options.autoAttach()) {
+            enableAutoAttach(session);
+        }
+
+        return session;
+    }
+
+    private void initPageSession(Session session) {
+        // registers the execution contexts which are reported by Runtime.enable
+        session.addEventListener(session.getExecutionContexts());
+
         session.getCommand().getRuntime().enable();
 
-        session.addEventListener((event, value) -> {
-            if (RuntimeExecutionContextCreated.equals(event)) {
-                ExecutionContextCreated ecc = (ExecutionContextCreated) value;
-                if (targetId.equals(ecc.getContext().getAuxData().get("frameId"))) {
-                    session.setExecutionContextId(ecc.getContext().getId());
+        Command command = session.getCommand();
+
+        command.getPage().enable();
+        command.getPage().setLifecycleEventsEnabled(true);
+    }
+
+    void enableAutoAttach(Session session) {
+        session.addEventListener(new AutoAttachListener(this, session));
+        boolean page = "page".equals(session.getTargetType());
+        session.getCommand()
+               .getTarget()
+               .setAutoAttach(TRUE, TRUE, TRUE, page ? TRUE : null);
+    }
+
+    Session attachChild(Session parent, String sessionId, TargetInfo targetInfo) {
+        Session child = new Session(options, gson, sessionId,
+                                    targetInfo.getTargetId(), targetInfo.getBrowserContextId(),
+                                    channel, new ContextTable(),
+                                    this, new CopyOnWriteArrayList<>(),
+                                    loggerFactory);
+        child.setParent(parent, targetInfo.getType());
+        sessions.put(sessionId, child);
+        parent.addChild(child);
+        return child;
+    }
+
+    /**
+     * Enables the domains of an auto attached child and resumes it.
+     * 
+     * Runs on a small dedicated pool, blocking on the event handler thread would stall
+     * event delivery of all sessions and the worker thread processes the responses.
+     * A slow child does not delay the resume of the other children.
+     */
+    void initChild(Session child, TargetInfo targetInfo, boolean waitingForDebugger) {
+        getAttachExecutor().execute(() -> {
+            try {
+                if ("page".equals(targetInfo.getType())) {
+                    // popup
+                    initPageSession(child);
+                } else if ("iframe".equals(targetInfo.getType())) {
+                    child.addEventListener(child.getExecutionContexts());
+                    child.getCommand().getRuntime().enable();
+                    // frameNavigated and frameDetached of the out-of-process frames
+                    child.getCommand().getPage().enable();
                 }
-            } else if (RuntimeExecutionContextDestroyed.equals(event)) {
-                ExecutionContextDestroyed ecd = (ExecutionContextDestroyed) value;
-                if ( ecd.getExecutionContextId() != null &&
-                        ecd.getExecutionContextId().equals(session.getExecutionContextId()) ) {
-                    session.setExecutionContextId(null);
+                // nested out-of-process iframes and workers of the iframes
+                if ("iframe".equals(targetInfo.getType()) || "page".equals(targetInfo.getType())) {
+                    enableAutoAttach(child);
+                }
+            } catch (CdpException e) {
+                // target might be gone already
+            } finally {
+                if (waitingForDebugger && child.isConnected()) {
+                    try {
+                        child.getCommand().getRuntime().runIfWaitingForDebugger();
+                    } catch (CdpException e) {
+                        // target might be gone already
+                    }
                 }
             }
         });
+    }
 
-        Command command = session.getCommand();
+    /**
+     * Runs the blocking per frame evaluations of {@link JavaScript#evaluateInFrames(String)}.
+     */
+    Executor getEvaluationExecutor() {
+        ExecutorService evaluationExecutor = this.evaluationExecutor;
+        if (evaluationExecutor == null) {
+            synchronized (this) {
+                evaluationExecutor = this.evaluationExecutor;
+                if (evaluationExecutor == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    this.evaluationExecutor = evaluationExecutor = newCachedThreadPool(r -> {
+                        Thread thread = new Thread(r, "cdp4j-FrameEvaluator-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return evaluationExecutor;
+    }
 
-        command.getPage().enable();
-        command.getPage().setLifecycleEventsEnabled(true);
- 
-        return session;
+    private ExecutorService getAttachExecutor() {
+        ExecutorService attachExecutor = this.attachExecutor;
+        if (attachExecutor == null) {
+            synchronized (this) {
+                attachExecutor = this.attachExecutor;
+                if (attachExecutor == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(AUTO_ATTACH_THREADS, AUTO_ATTACH_THREADS,
+                                                        30, SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "cdp4j-AutoAttach-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    this.attachExecutor = attachExecutor = executor;
+                }
+            }
+        }
+        return attachExecutor;
+    }
+
+    void detachChild(Session parent, String sessionId) {
+        Session child = sessions.remove(sessionId);
+        if (child != null) {
+            parent.removeChild(child);
+            child.dispose();
+        }
     }
 
     private String initBrowserSession() {
-        Map<Integer, Context> contexts = new ConcurrentHashMap<>();
+        ContextTable contexts = new ContextTable();
         List<EventListener> eventlisteners = new CopyOnWriteArrayList<>();
         browserSession = new Session(options, gson, null,
                                      null, null,
@@ -290,6 +400,20 @@ public class SessionFactory implements AutoCloseable {
     }
 
     void close(Session session) {
+        Session parent = session.getParent();
+        if (parent != null && ! "page".equals(session.getTargetType())) {
+            // iframes and workers can not be closed, detach only
+            browserSession.getCommand()
+                          .getTarget()
+                          .detachFromTarget(session.getId(), null);
+            session.dispose();
+            sessions.remove(session.getId());
+            parent.removeChild(session);
+            return;
+        }
+        if (parent != null) {
+            parent.removeChild(session);
+        }
         session.getCommand()
                .getPage()
                .close();
@@ -343,6 +467,12 @@ public class SessionFactory implements AutoCloseable {
                 }
                 browserSession.dispose();
             }
+            if (attachExecutor != null) {
+                attachExecutor.shutdownNow();
+            }
+            if (evaluationExecutor != null) {
+                evaluationExecutor.shutdownNow();
+            }
             channel.disconnect();
             sessions.clear();
             browserContexts.clear();
@@ -362,8 +492,7 @@ public class SessionFactory implements AutoCloseable {
                     }
                 }
             }
-            if ( options.useCustomTypeAdapter() != null &&
-                    typeAdapterFactory instanceof AutoCloseable ) {
+            if ( typeAdapterFactory instanceof AutoCloseable ) {
                 try {
                     ((AutoCloseable) typeAdapterFactory).close();
                 } catch (Exception e) {
@@ -442,6 +571,10 @@ public class SessionFactory implements AutoCloseable {
         return new CdpLoggerFactory(loggerType);
     }
 
+    protected LoggerFactory createLoggerFactory(CdpLoggerType loggerType, AsyncLogWriter logWriter) {
+        return logWriter == null ? createLoggerFactory(loggerType) : new CdpLoggerFactory(loggerType, logWriter);
+    }
+
     @Override
     public String toString() {
         return "SessionFactory [sessions=" + sessions + "]";
@@ -24,11 +24,11 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static java.lang.Integer.valueOf;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.util.Base64.getDecoder;
 
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -38,10 +38,14 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
+import io.webfolder.cdp.Options;
 import io.webfolder.cdp.channel.Channel;
 import io.webfolder.cdp.exception.CdpException;
 import io.webfolder.cdp.exception.CdpReadTimeoutException;
+import io.webfolder.cdp.exception.DeadlineExceededException;
+import io.webfolder.cdp.exception.CommandException;
 import io.webfolder.cdp.logger.CdpLogger;
+import io.webfolder.cdp.metrics.MetricsCollector;
 
 public class SessionInvocationHandler {
 
@@ -53,7 +57,7 @@ public class SessionInvocationHandler {
 
     private final Channel               channel;
 
-    private final Map<Integer, Context> contexts;
+    private final ContextTable          contexts;
 
     private final CdpLogger             log;
 
@@ -61,18 +65,23 @@ public class SessionInvocationHandler {
 
     private final String                sessionId;
 
-    private final int                   readTimeout;
+    private final Options               options;
+
+    private final MetricsCollector      metrics;
 
     private final WaitingStrategy       waitingStrategy;
 
+    // a thread waits for one command at a time, so the completion objects are recycled per thread
+    private final ThreadLocal<Context>  threadContexts;
+
     SessionInvocationHandler(
                     final Gson                  gson,
                     final Channel               channel,
-                    final Map<Integer, Context> contexts,
+                    final ContextTable          contexts,
                     final Session               session,
                     final CdpLogger             log,
                     final String                sessionId,
-                    final int                   readTimeOut,
+                    final Options               options,
                     final WaitingStrategy       waitingStrategy) {
         this.gson            = gson;
         this.channel         = channel;
@@ -80,8 +89,11 @@ public class SessionInvocationHandler {
         this.session         = session;
         this.log             = log;
         this.sessionId       = sessionId;
-        this.readTimeout     = readTimeOut;
+        this.options         = options;
+        this.metrics         = options.metricsCollector();
         this.waitingStrategy = waitingStrategy;
+        this.threadContexts  = ThreadLocal.withInitial(Semaphore.equals(waitingStrategy) ?
+                                                            SemaphoreContext::new : ThreadContext::new);
     }
 
     public Object invoke(
@@ -100,26 +112,54 @@ public class SessionInvocationHandler {
             throw new CdpException("WebSocket connection is not alive.");
         }
 
+        final int readTimeout = Deadline.limit(options.readTimeout(domain, method));
+
         final int id = counter.incrementAndGet();
 
         String json = toJson(method, id, parameters, args);
-        log.debug("--> {}", json);
+        if (log.isDebugEnabled()) {
+            log.debug("--> {}", json);
+        }
 
-        final Context context = Semaphore.equals(waitingStrategy) ? new SemaphoreContext() : new ThreadContext();
+        final Context context = threadContexts.get();
+        context.reset(id);
         contexts.put(id, context);
 
         final long start = ParkThread.equals(waitingStrategy) ? currentTimeMillis() : 0;
 
-        channel.sendText(json);
+        final long metricsStart;
+        if (metrics != null) {
+            metrics.commandStarted(method);
+            metricsStart = nanoTime();
+        } else {
+            metricsStart = 0;
+        }
 
-        context.await(readTimeout);
+        boolean completed = false;
+        try {
+            channel.sendText(json);
+            completed = context.await(readTimeout);
+        } finally {
+            contexts.remove(id, context);
+            if (metrics != null) {
+                CommandException error = completed ? context.getError() : null;
+                metrics.commandCompleted(method, nanoTime() - metricsStart,
+                                            json.length(), context.getSize(),
+                                            completed ? (error != null ? error.getCode() : 0) : MetricsCollector.TIMEOUT);
+            }
+        }
+
+        if ( ! completed ) {
+            Deadline deadline = Deadline.current();
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException(method + " is cancelled, deadline exceeded");
+            }
+        }
 
         // This rule must be applied only to ParkThread not for Semaphore.
-        // SemaphoreContext implicitly throw an exception if timeout is occurred.
-        // ThreadContext.await() can't detect if timeout occurred.
-        // We must check explicitly timeout value if waiting strategy is ParkThread.
+        // Semaphore strategy returns null if timeout is occurred (v3.x behaviour).
         if (ParkThread.equals(waitingStrategy) &&
-                   (context.getData() == null && context.getError() == null) &&
+                   ! completed &&
                    (currentTimeMillis() - start) >= readTimeout) {
             throw new CdpReadTimeoutException(readTimeout + "ms");
         }
@@ -223,12 +263,6 @@ public class SessionInvocationHandler {
 
     void dispose() {
         enabledDomains.clear();
-        for (Context context : contexts.values()) {
-            try {
-                context.release();
-            } catch (Throwable t) {
-                // ignore
-            }
-        }
+        contexts.releaseAll();
     }
 }
@@ -0,0 +1,401 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.type.network.Cookie;
+import io.webfolder.cdp.type.network.CookieParam;
+import io.webfolder.cdp.type.network.CookiePriority;
+import io.webfolder.cdp.type.network.CookieSameSite;
+import io.webfolder.cdp.type.runtime.EvaluateResult;
+
+/**
+ * Snapshot of the cookies and the web storage of a session.
+ * 
+ * <p>
+ * A state captured after a login can be applied to a fresh (e.g. incognito) session
+ * before its first navigation: cookies are set with a single {@code Network.setCookies}
+ * call and the web storage is seeded by a single script registered with
+ * {@code Page.addScriptToEvaluateOnNewDocument}. IndexedDB is not captured.
+ * </p>
+ * 
+ * <pre>
+ * StorageState.capture(session).save(path);
+ * ...
+ * Session fresh = factory.create(factory.createBrowserContext());
+ * StorageState.load(path).applyTo(fresh);
+ * fresh.navigate(url);
+ * </pre>
+ */
+public class StorageState {
+
+    private static final int MAGIC = 0x43445353; // CDSS
+
+    private static final int VERSION = 1;
+
+    // strings larger than this are read in chunks, the buffer grows with the actual input
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final String CAPTURE_STORAGE =
+                    "JSON.stringify({ origin: location.origin," +
+                        " local: Object.entries(localStorage)," +
+                        " session: Object.entries(sessionStorage) })";
+
+    private static final String SEED_MARKER = "__cdp4j_storage_state__";
+
+    private static final int FLAG_SECURE = 1;
+
+    private static final int FLAG_HTTP_ONLY = 2;
+
+    private static final int FLAG_EXPIRES = 4;
+
+    private final List<CookieParam> cookies;
+
+    private final Map<String, Map<String, String>> localStorage;
+
+    private final Map<String, Map<String, String>> sessionStorage;
+
+    public StorageState(List<CookieParam> cookies,
+                        Map<String, Map<String, String>> localStorage,
+                        Map<String, Map<String, String>> sessionStorage) {
+        this.cookies        = unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage   = unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+    }
+
+    /**
+     * Captures all cookies of the browser context and the web storage
+     * of the origin which is loaded in the session.
+     */
+    public static StorageState capture(Session session) {
+        List<CookieParam> cookies = new ArrayList<>();
+        for (Cookie next : session.getCommand().getNetwork().getAllCookies()) {
+            cookies.add(toParam(next));
+        }
+        Map<String, Map<String, String>> localStorage = new LinkedHashMap<>();
+        Map<String, Map<String, String>> sessionStorage = new LinkedHashMap<>();
+        EvaluateResult result = session.getCommand()
+                                        .getRuntime()
+                                        .evaluate(CAPTURE_STORAGE, null, null, true,
+                                                    null, true, null, null,
+                                                    null, null, null, null, null);
+        // opaque origins (about:blank, data urls) have no web storage
+        if (result != null && result.getExceptionDetails() == null &&
+                    result.getResult() != null && result.getResult().getValue() instanceof String) {
+            JsonObject storage = JsonParser.parseString((String) result.getResult().getValue()).getAsJsonObject();
+            String origin = storage.get("origin").getAsString();
+            if ( ! "null".equals(origin) ) {
+                putEntries(localStorage, origin, storage.getAsJsonArray("local"));
+                putEntries(sessionStorage, origin, storage.getAsJsonArray("session"));
+            }
+        }
+        return new StorageState(cookies, localStorage, sessionStorage);
+    }
+
+    private static void putEntries(Map<String, Map<String, String>> storage, String origin, JsonArray entries) {
+        if (entries == null || entries.size() == 0) {
+            return;
+        }
+        Map<String, String> items = new LinkedHashMap<>();
+        for (JsonElement next : entries) {
+            JsonArray entry = next.getAsJsonArray();
+            items.put(entry.get(0).getAsString(), entry.get(1).getAsString());
+        }
+        storage.put(origin, items);
+    }
+
+    private static CookieParam toParam(Cookie cookie) {
+        CookieParam param = new CookieParam();
+        param.setName(cookie.getName());
+        param.setValue(cookie.getValue());
+        param.setDomain(cookie.getDomain());
+        param.setPath(cookie.getPath());
+        param.setSecure(cookie.isSecure());
+        param.setHttpOnly(cookie.isHttpOnly());
+        param.setSameSite(cookie.getSameSite());
+        param.setPriority(cookie.getPriority());
+        if ( ! Boolean.TRUE.equals(cookie.isSession()) && cookie.getExpires() != null ) {
+            param.setExpires(cookie.getExpires());
+        }
+        return param;
+    }
+
+    /**
+     * Applies the state to a session, must be called before the first navigation.
+     */
+    public void applyTo(Session session) {
+        if ( ! cookies.isEmpty() ) {
+            session.getCommand().getNetwork().setCookies(cookies);
+        }
+        if ( ! localStorage.isEmpty() || ! sessionStorage.isEmpty() ) {
+            session.getCommand().getPage().addScriptToEvaluateOnNewDocument(seedScript());
+        }
+    }
+
+    String seedScript() {
+        JsonObject local = toJson(localStorage);
+        JsonObject session = toJson(sessionStorage);
+        // seeds each origin once per tab, later changes made by the page are preserved on reload
+        return "(function(local, session) {" +
+                    "try {" +
+                        "const origin = location.origin;" +
+                        "if (sessionStorage.getItem('" + SEED_MARKER + "') !== null) return;" +
+                        "sessionStorage.setItem('" + SEED_MARKER + "', '1');" +
+                        "for (const [k, v] of Object.entries(local[origin] || {})) localStorage.setItem(k, v);" +
+                        "for (const [k, v] of Object.entries(session[origin] || {})) sessionStorage.setItem(k, v);" +
+                    "} catch (e) { }" +
+                "})(" + local + ", " + session + ");";
+    }
+
+    private static JsonObject toJson(Map<String, Map<String, String>> storage) {
+        JsonObject json = new JsonObject();
+        for (Entry<String, Map<String, String>> origin : storage.entrySet()) {
+            JsonObject items = new JsonObject();
+            for (Entry<String, String> next : origin.getValue().entrySet()) {
+                items.addProperty(next.getKey(), next.getValue());
+            }
+            json.add(origin.getKey(), items);
+        }
+        return json;
+    }
+
+    public List<CookieParam> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * @return localStorage items by origin
+     */
+    public Map<String, Map<String, String>> getLocalStorage() {
+        return localStorage;
+    }
+
+    /**
+     * @return sessionStorage items by origin
+     */
+    public Map<String, Map<String, String>> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    /**
+     * Writes the state in binary format.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(cookies.size());
+        for (CookieParam next : cookies) {
+            writeString(data, next.getName());
+            writeString(data, next.getValue());
+            writeString(data, next.getDomain());
+            writeString(data, next.getPath());
+            int flags = 0;
+            if (Boolean.TRUE.equals(next.isSecure())) {
+                flags |= FLAG_SECURE;
+            }
+            if (Boolean.TRUE.equals(next.isHttpOnly())) {
+                flags |= FLAG_HTTP_ONLY;
+            }
+            if (next.getExpires() != null) {
+                flags |= FLAG_EXPIRES;
+            }
+            data.writeByte(flags);
+            writeString(data, next.getSameSite() == null ? null : next.getSameSite().value);
+            writeString(data, next.getPriority() == null ? null : next.getPriority().value);
+            if (next.getExpires() != null) {
+                data.writeDouble(next.getExpires());
+            }
+        }
+        writeStorage(data, localStorage);
+        writeStorage(data, sessionStorage);
+        data.flush();
+    }
+
+    /**
+     * Reads a state written by {@link #write(OutputStream)}.
+     */
+    public static StorageState read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new CdpException("Invalid storage state");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new CdpException("Unsupported storage state version: " + version);
+        }
+        int count = readCount(data);
+        List<CookieParam> cookies = new ArrayList<>(min(count, 64));
+        for (int i = 0; i < count; i++) {
+            CookieParam cookie = new CookieParam();
+            cookie.setName(readString(data));
+            cookie.setValue(readString(data));
+            cookie.setDomain(readString(data));
+            cookie.setPath(readString(data));
+            int flags = data.readUnsignedByte();
+            String sameSite = readString(data);
+            String priority = readString(data);
+            cookie.setSecure((flags & FLAG_SECURE) != 0);
+            cookie.setHttpOnly((flags & FLAG_HTTP_ONLY) != 0);
+            cookie.setSameSite(toSameSite(sameSite));
+            cookie.setPriority(toPriority(priority));
+            if ((flags & FLAG_EXPIRES) != 0) {
+                cookie.setExpires(data.readDouble());
+            }
+            cookies.add(cookie);
+        }
+        Map<String, Map<String, String>> localStorage = readStorage(data);
+        Map<String, Map<String, String>> sessionStorage = readStorage(data);
+        return new StorageState(cookies, localStorage, sessionStorage);
+    }
+
+    public void save(Path file) {
+        try (OutputStream out = new BufferedOutputStream(newOutputStream(file))) {
+            write(out);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    public static StorageState load(Path file) {
+        try (InputStream in = new BufferedInputStream(newInputStream(file))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    private static void writeStorage(DataOutputStream data, Map<String, Map<String, String>> storage) throws IOException {
+        data.writeInt(storage.size());
+        for (Entry<String, Map<String, String>> origin : storage.entrySet()) {
+            writeString(data, origin.getKey());
+            data.writeInt(origin.getValue().size());
+            for (Entry<String, String> next : origin.getValue().entrySet()) {
+                writeString(data, next.getKey());
+                writeString(data, next.getValue());
+            }
+        }
+    }
+
+    private static Map<String, Map<String, String>> readStorage(DataInputStream data) throws IOException {
+        int origins = readCount(data);
+        Map<String, Map<String, String>> storage = new LinkedHashMap<>();
+        for (int i = 0; i < origins; i++) {
+            String origin = readString(data);
+            int count = readCount(data);
+            Map<String, String> items = new LinkedHashMap<>();
+            for (int j = 0; j < count; j++) {
+                items.put(readString(data), readString(data));
+            }
+            storage.put(origin, items);
+        }
+        return storage;
+    }
+
+    private static CookieSameSite toSameSite(String value) {
+        for (CookieSameSite next : CookieSameSite.values()) {
+            if (next.value.equals(value)) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private static CookiePriority toPriority(String value) {
+        for (CookiePriority next : CookiePriority.values()) {
+            if (next.value.equals(value)) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    // length prefixed utf-8, DataOutput.writeUTF is limited to 64 KB
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    // the length is not trusted, a corrupt or truncated input must fail
+    // with EOFException instead of allocating the declared length
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new CdpException("Invalid storage state");
+        }
+        if (length <= CHUNK_SIZE) {
+            byte[] bytes = new byte[length];
+            data.readFully(bytes);
+            return new String(bytes, UTF_8);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(CHUNK_SIZE);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int remaining = length;
+        while (remaining > 0) {
+            int len = min(remaining, CHUNK_SIZE);
+            data.readFully(chunk, 0, len);
+            out.write(chunk, 0, len);
+            remaining -= len;
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    private static int readCount(DataInputStream data) throws IOException {
+        int count = data.readInt();
+        if (count < 0) {
+            throw new CdpException("Invalid storage state");
+        }
+        return count;
+    }
+}
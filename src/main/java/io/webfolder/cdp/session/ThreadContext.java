@@ -18,54 +18,31 @@
  */
 package io.webfolder.cdp.session;
 
-import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
-import static java.util.concurrent.locks.LockSupport.parkUntil;
-import static java.util.concurrent.locks.LockSupport.unpark;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
 
-import com.google.gson.JsonElement;
+import java.util.concurrent.locks.LockSupport;
 
-import io.webfolder.cdp.exception.CommandException;
-
-class ThreadContext implements Context {
+class ThreadContext extends AbstractContext {
 
     private final Thread thread;
 
-    private JsonElement data;
-
-    private CommandException error;
-
     public ThreadContext() {
         thread = currentThread();
     }
 
     @Override
-    public void await(final int timeout) {
-        parkUntil(currentTimeMillis() + timeout);
-    }
-
-    @Override
-    public void setData(final JsonElement data) {
-        this.data = data;
-    }
-
-    @Override
-    public JsonElement getData() {
-        return data;
-    }
-
-    @Override
-    public void setError(final CommandException error) {
-        this.error = error;
+    protected void park(final long nanos) {
+        parkNanos(this, nanos);
     }
 
     @Override
-    public CommandException getError() {
-        return error;
+    protected void unpark() {
+        LockSupport.unpark(thread);
     }
 
     @Override
-    public void release() {
-        unpark(thread);
+    protected void clear() {
+        // no op, await() tolerates spurious wakeups
     }
 }
@@ -0,0 +1,110 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.type.constant.ImageFormat.Png;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+import io.webfolder.cdp.command.Page;
+import io.webfolder.cdp.command.Runtime;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.type.page.GetLayoutMetricsResult;
+import io.webfolder.cdp.type.page.Viewport;
+
+/**
+ * Captures the full page tile by tile.
+ * 
+ * Each tile is at most one viewport high, tiles are decoded one at a time
+ * and their rows are appended to a {@link PngStreamWriter}.
+ */
+class TiledScreenshot {
+
+    private final Session session;
+
+    private final int tileHeight;
+
+    TiledScreenshot(Session session, int tileHeight) {
+        this.session    = session;
+        this.tileHeight = tileHeight;
+    }
+
+    void capture(OutputStream out) {
+        Page page = session.getCommand().getPage();
+        Runtime runtime = session.getCommand().getRuntime();
+        GetLayoutMetricsResult metrics = page.getLayoutMetrics();
+        int viewportWidth = metrics.getLayoutViewport().getClientWidth();
+        int viewportHeight = metrics.getLayoutViewport().getClientHeight();
+        int scrollX = metrics.getLayoutViewport().getPageX();
+        int scrollY = metrics.getLayoutViewport().getPageY();
+        int contentHeight = (int) ceil(metrics.getContentSize().getHeight());
+        int tile = tileHeight > 0 ? min(tileHeight, viewportHeight) : viewportHeight;
+        if (viewportWidth <= 0 || tile <= 0 || contentHeight <= 0) {
+            throw new CdpException("Invalid layout metrics");
+        }
+        PngStreamWriter writer = null;
+        int[] pixels = null;
+        double ratio = 1;
+        try {
+            for (int y = 0; y < contentHeight; y += tile) {
+                int height = min(tile, contentHeight - y);
+                runtime.evaluate("window.scrollTo(0, " + y + ")");
+                Viewport clip = new Viewport();
+                clip.setX(0D);
+                clip.setY((double) y);
+                clip.setWidth((double) viewportWidth);
+                clip.setHeight((double) height);
+                clip.setScale(1D);
+                byte[] data = page.captureScreenshot(Png, null, clip, true);
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+                if (image == null) {
+                    throw new CdpException("Unable to decode screenshot tile");
+                }
+                if (writer == null) {
+                    // tiles are captured in device pixels
+                    ratio  = image.getWidth() / (double) viewportWidth;
+                    writer = new PngStreamWriter(out, image.getWidth(), (int) round(contentHeight * ratio));
+                    pixels = new int[image.getWidth()];
+                }
+                int width = min(writer.getWidth(), image.getWidth());
+                int rows = min(image.getHeight(), writer.getHeight() - writer.getRows());
+                for (int row = 0; row < rows; row++) {
+                    image.getRGB(0, row, width, 1, pixels, 0, width);
+                    writer.writeRow(pixels, 0);
+                }
+                image.flush();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            throw new CdpException(e);
+        } finally {
+            runtime.evaluate("window.scrollTo(" + scrollX + ", " + scrollY + ")");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+/**
+ * Trace event parsed by {@link TraceEventParser}.
+ * 
+ * <strong>Note:</strong> instances are reused by the parser,
+ * copy the fields if the event must be retained.
+ */
+public class TraceEvent {
+
+    String name;
+
+    String category;
+
+    char phase;
+
+    long timestamp;
+
+    long duration;
+
+    long threadDuration;
+
+    int processId;
+
+    int threadId;
+
+    String id;
+
+    void clear() {
+        name           = null;
+        category       = null;
+        phase          = 0;
+        timestamp      = 0;
+        duration       = 0;
+        threadDuration = 0;
+        processId      = 0;
+        threadId       = 0;
+        id             = null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Event type, e.g. {@code B} (begin), {@code E} (end), {@code X} (complete), {@code I} (instant)
+     */
+    public char getPhase() {
+        return phase;
+    }
+
+    /**
+     * Tracing clock timestamp in microseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Duration of the complete ({@code X}) events in microseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Thread clock duration of the complete ({@code X}) events in microseconds.
+     */
+    public long getThreadDuration() {
+        return threadDuration;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public int getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Identifier of the async and flow events.
+     */
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceEvent [name=" + name + ", category=" + category + ", phase=" + phase +
+                    ", timestamp=" + timestamp + ", duration=" + duration + ", processId=" + processId +
+                    ", threadId=" + threadId + "]";
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static com.google.gson.stream.JsonToken.BEGIN_ARRAY;
+import static com.google.gson.stream.JsonToken.NUMBER;
+import static com.google.gson.stream.JsonToken.STRING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.stream.JsonReader;
+
+import io.webfolder.cdp.exception.CdpException;
+
+/**
+ * Incremental parser for Chrome trace files.
+ * 
+ * Supports both JSON array format and JSON object format ({@code traceEvents} property).
+ * Events are read one by one with a streaming reader, {@code args} and other nested
+ * properties are skipped, so the heap usage does not depend on the trace size.
+ */
+public class TraceEventParser {
+
+    private final Map<String, String> names = new HashMap<>();
+
+    /**
+     * Parses a trace file, gzip compressed files are supported.
+     * 
+     * @return number of events
+     */
+    public long parse(Path file, TraceEventHandler handler) {
+        try (InputStream is = Files.newInputStream(file)) {
+            return parse(is, handler);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    /**
+     * Parses trace events, the stream is not closed.
+     * 
+     * Gzip compressed content is detected by its magic number.
+     * 
+     * @return number of events
+     */
+    public long parse(InputStream is, TraceEventHandler handler) {
+        try {
+            PushbackInputStream pis = new PushbackInputStream(is, 2);
+            InputStream in = isGzip(pis) ? new GZIPInputStream(pis, 64 * 1024) : pis;
+            return parse(new BufferedReader(new InputStreamReader(in, UTF_8), 64 * 1024), handler);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    public long parse(Reader reader, TraceEventHandler handler) {
+        JsonReader json = new JsonReader(reader);
+        json.setLenient(true);
+        TraceEvent event = new TraceEvent();
+        long count = 0;
+        try {
+            if (json.peek() == BEGIN_ARRAY) {
+                count = parseEvents(json, event, handler);
+            } else {
+                json.beginObject();
+                while (json.hasNext()) {
+                    if ("traceEvents".equals(json.nextName())) {
+                        count += parseEvents(json, event, handler);
+                    } else {
+                        json.skipValue();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+        return count;
+    }
+
+    private long parseEvents(JsonReader json, TraceEvent event, TraceEventHandler handler) throws IOException {
+        long count = 0;
+        json.beginArray();
+        while (json.hasNext()) {
+            event.clear();
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                switch (name) {
+                    case "name": event.name = intern(json.nextString()); break;
+                    case "cat" : event.category = intern(json.nextString()); break;
+                    case "ph"  : String ph = json.nextString();
+                                 event.phase = ph.isEmpty() ? 0 : ph.charAt(0);
+                                 break;
+                    case "ts"  : event.timestamp = nextLong(json); break;
+                    case "dur" : event.duration = nextLong(json); break;
+                    case "tdur": event.threadDuration = nextLong(json); break;
+                    case "pid" : event.processId = (int) nextLong(json); break;
+                    case "tid" : event.threadId = (int) nextLong(json); break;
+                    case "id"  : if (json.peek() == STRING || json.peek() == NUMBER) {
+                                     event.id = json.nextString();
+                                 } else {
+                                     json.skipValue();
+                                 }
+                                 break;
+                    default    : json.skipValue(); break;
+                }
+            }
+            json.endObject();
+            handler.onEvent(event);
+            count++;
+        }
+        json.endArray();
+        return count;
+    }
+
+    private boolean isGzip(PushbackInputStream is) throws IOException {
+        byte[] magic = new byte[2];
+        int len = 0;
+        while (len < magic.length) {
+            int read = is.read(magic, len, magic.length - len);
+            if (read < 0) {
+                break;
+            }
+            len += read;
+        }
+        if (len > 0) {
+            is.unread(magic, 0, len);
+        }
+        return len == magic.length &&
+                    (magic[0] & 0xff) == 0x1f &&
+                    (magic[1] & 0xff) == 0x8b;
+    }
+
+    private long nextLong(JsonReader json) throws IOException {
+        if (json.peek() == NUMBER) {
+            // timestamps might be fractional (e.g. 1234.5)
+            return (long) json.nextDouble();
+        }
+        json.skipValue();
+        return 0;
+    }
+
+    // event names and categories are repeated many times
+    private String intern(String value) {
+        String existing = names.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.event.Events.TracingTracingComplete;
+import static io.webfolder.cdp.session.IOStream.DEFAULT_CHUNK_SIZE;
+import static io.webfolder.cdp.type.constant.TransferMode.ReturnAsStream;
+import static io.webfolder.cdp.type.tracing.StreamCompression.Gzip;
+import static io.webfolder.cdp.type.tracing.StreamCompression.None;
+import static io.webfolder.cdp.type.tracing.StreamFormat.Json;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.webfolder.cdp.command.Tracing;
+import io.webfolder.cdp.event.tracing.TracingComplete;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.exception.CdpReadTimeoutException;
+import io.webfolder.cdp.listener.EventListener;
+
+/**
+ * Records a trace directly to disk.
+ * 
+ * <p>
+ * Tracing is started with {@code ReturnAsStream} transfer mode, trace data is
+ * never delivered with {@code Tracing.dataCollected} events. When tracing is stopped
+ * the browser side stream is copied chunk by chunk to a {@link FileChannel}.
+ * </p>
+ * 
+ * <pre>
+ * TraceRecorder recorder = new TraceRecorder(session);
+ * recorder.start("devtools.timeline,v8.execute");
+ * session.navigateAndWait(url, WaitUntil.Load);
+ * Path trace = recorder.stop(Paths.get("trace.json"));
+ * new TraceEventParser().parse(trace, event -&gt; { ... });
+ * </pre>
+ */
+public class TraceRecorder {
+
+    public static final String DEFAULT_CATEGORIES = "-*,devtools.timeline,v8.execute,disabled-by-default-devtools.timeline," +
+                                                        "disabled-by-default-devtools.timeline.frame,toplevel,blink.user_timing," +
+                                                        "loading,latencyInfo";
+
+    private static final int DEFAULT_TIMEOUT = 60 * 1000; // 60 seconds
+
+    private final Session session;
+
+    private final boolean compress;
+
+    private CountDownLatch latch;
+
+    private AtomicReference<String> stream;
+
+    private EventListener listener;
+
+    /**
+     * @param session page session
+     */
+    public TraceRecorder(Session session) {
+        this(session, false);
+    }
+
+    /**
+     * @param session page session
+     * @param compress gzip compress the trace data in the browser (smaller transfer, {@code .gz} file)
+     */
+    public TraceRecorder(Session session, boolean compress) {
+        this.session  = session;
+        this.compress = compress;
+    }
+
+    public void start() {
+        start(DEFAULT_CATEGORIES);
+    }
+
+    /**
+     * Starts tracing.
+     * 
+     * @param categories comma separated category filter
+     */
+    public void start(String categories) {
+        if (listener != null) {
+            throw new IllegalStateException("Tracing is already started");
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> stream = new AtomicReference<>();
+        EventListener listener = (event, value) -> {
+            if (TracingTracingComplete.equals(event)) {
+                stream.set(((TracingComplete) value).getStream());
+                latch.countDown();
+            }
+        };
+        session.addEventListener(listener);
+        try {
+            session.getCommand()
+                   .getTracing()
+                   .start(categories, null, null, ReturnAsStream, Json, compress ? Gzip : None, null);
+        } catch (RuntimeException e) {
+            session.removeEventEventListener(listener);
+            throw e;
+        }
+        this.latch    = latch;
+        this.stream   = stream;
+        this.listener = listener;
+    }
+
+    public Path stop(Path file) {
+        return stop(file, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Stops tracing and writes the trace data to a file.
+     * 
+     * @param file target file, overwritten if exists
+     * @param timeout maximum time in milliseconds to wait for the trace stream
+     * 
+     * @return trace file
+     */
+    public Path stop(Path file, int timeout) {
+        if (listener == null) {
+            throw new IllegalStateException("Tracing is not started");
+        }
+        Tracing tracing = session.getCommand().getTracing();
+        try {
+            tracing.end();
+            if ( ! latch.await(Deadline.limit(timeout), MILLISECONDS) ) {
+                throw new CdpReadTimeoutException("Trace stream is not received within " + timeout + " ms");
+            }
+        } catch (InterruptedException e) {
+            throw new CdpException(e);
+        } finally {
+            session.removeEventEventListener(listener);
+            listener = null;
+        }
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            IOStream.transferTo(session.getCommand().getIO(), stream.get(), channel, DEFAULT_CHUNK_SIZE, false);
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+        return file;
+    }
+
+    /**
+     * Stops tracing and parses the trace data incrementally.
+     * 
+     * @param file temporary trace file
+     * @param handler trace event callback
+     * 
+     * @return number of trace events
+     */
+    public long stop(Path file, TraceEventHandler handler) {
+        return new TraceEventParser().parse(stop(file), handler);
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.webfolder.cdp.command.Runtime;
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.page.FrameDetached;
+import io.webfolder.cdp.event.runtime.ExecutionContextDestroyed;
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.listener.EventListener;
+import io.webfolder.cdp.type.dom.Node;
+import io.webfolder.cdp.type.runtime.CallArgument;
+import io.webfolder.cdp.type.runtime.CallFunctionOnResult;
+import io.webfolder.cdp.type.runtime.ExceptionDetails;
+import io.webfolder.cdp.type.runtime.RemoteObject;
+
+/**
+ * Isolated world with a preinstalled helper library.
+ * 
+ * <p>
+ * The library ({@code cdp4j-utility-world.js}) is installed once per document with
+ * {@code Page.addScriptToEvaluateOnNewDocument} and into the current document with
+ * {@code Page.createIsolatedWorld}. Helpers are invoked by name, page scripts which
+ * override built-ins (e.g. {@code document.evaluate}) do not affect the isolated world.
+ * </p>
+ * 
+ * <p>
+ * Helpers: {@code find}, {@code findAll}, {@code xpath}, {@code xpathAll}, {@code matches},
+ * {@code count}, {@code getText} and {@code scrollIntoViewIfNeeded}.
+ * </p>
+ */
+public class UtilityWorld implements EventListener {
+
+    public static final String WORLD_NAME = "__cdp4j_utility_world__";
+
+    private static final String LIBRARY = loadLibrary();
+
+    private static final String CONTEXT_NOT_FOUND = "Cannot find context with specified id";
+
+    private final Session session;
+
+    private final AtomicBoolean installed = new AtomicBoolean(false);
+
+    private final Map<String, String> declarations = new ConcurrentHashMap<>();
+
+    // worlds created by this instance, kept until the execution context is reported
+    // destroyed, executionContextCreated is delivered asynchronously
+    private final Map<String, Integer> created = new ConcurrentHashMap<>();
+
+    // serializes the world creation per frame, ReentrantLock does not pin
+    // the carrier of a virtual thread across the round trips
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    UtilityWorld(Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public void onEvent(Events event, Object value) {
+        switch (event) {
+            case RuntimeExecutionContextDestroyed:
+                Integer contextId = ((ExecutionContextDestroyed) value).getExecutionContextId();
+                created.entrySet().removeIf(next -> {
+                    if (next.getValue().equals(contextId)) {
+                        locks.remove(next.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+            break;
+            case RuntimeExecutionContextsCleared:
+                created.clear();
+                locks.clear();
+            break;
+            case PageFrameDetached:
+                String frameId = ((FrameDetached) value).getFrameId();
+                created.remove(frameId);
+                locks.remove(frameId);
+            break;
+            default:
+            break;
+        }
+    }
+
+    private static String loadLibrary() {
+        ClassLoader cl = UtilityWorld.class.getClassLoader();
+        try (InputStream is = cl.getResourceAsStream("cdp4j-utility-world.js");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(is, UTF_8))) {
+            return reader.lines().collect(joining("\n"));
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+    }
+
+    /**
+     * Gets the execution context of the utility world of the main frame.
+     */
+    public Integer getContextId() {
+        return getContextId(session.getTargetId());
+    }
+
+    /**
+     * Gets the execution context of the utility world of the frame,
+     * the world is created if it does not exist.
+     */
+    public Integer getContextId(String frameId) {
+        if (installed.compareAndSet(false, true)) {
+            session.getCommand().getPage().addScriptToEvaluateOnNewDocument(LIBRARY, WORLD_NAME);
+        }
+        Integer contextId = session.getExecutionContexts().getIsolatedWorld(frameId, WORLD_NAME);
+        if (contextId != null) {
+            return contextId;
+        }
+        ReentrantLock lock = locks.computeIfAbsent(frameId, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            contextId = session.getExecutionContexts().getIsolatedWorld(frameId, WORLD_NAME);
+            if (contextId == null) {
+                contextId = created.get(frameId);
+            }
+            if (contextId == null) {
+                contextId = session.getCommand().getPage().createIsolatedWorld(frameId, WORLD_NAME, FALSE);
+                session.getCommand().getRuntime().evaluate(LIBRARY, null, null, TRUE,
+                                                            contextId, null, null, null,
+                                                            null, null, null, null, null);
+                created.put(frameId, contextId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return contextId;
+    }
+
+    /**
+     * Invokes a helper in the main frame and returns its result by value.
+     * 
+     * @param helper helper name
+     * @param args helper arguments, must be serializable to json
+     */
+    public Object call(String helper, Object... args) {
+        RemoteObject result = invoke(session.getTargetId(), helper, TRUE, args);
+        return result != null ? result.getValue() : null;
+    }
+
+    /**
+     * Finds the element in the utility world and resolves it in the main world.
+     * 
+     * @param selector css or xpath selector
+     * 
+     * @return object id in the main world or {@code null} if not found
+     */
+    public String findObjectId(String selector) {
+        Integer backendNodeId = findBackendNodeId(selector);
+        if (backendNodeId == null) {
+            return null;
+        }
+        RemoteObject mainWorld = session.getCommand()
+                                            .getDOM()
+                                            .resolveNode(null, backendNodeId,
+                                                            null, session.getExecutionContextId());
+        return mainWorld != null ? mainWorld.getObjectId() : null;
+    }
+
+    /**
+     * Finds the element in the utility world, node ids are reused through the {@link DocumentCache}.
+     * 
+     * @param selector css or xpath selector
+     * 
+     * @return node id or {@code null} if not found
+     */
+    public Integer findNodeId(String selector) {
+        Integer backendNodeId = findBackendNodeId(selector);
+        return backendNodeId != null ? session.getDocumentCache().getNodeId(backendNodeId) : null;
+    }
+
+    private Integer findBackendNodeId(String selector) {
+        RemoteObject result = invoke(session.getTargetId(), "find", FALSE, selector);
+        if (result == null || result.getObjectId() == null) {
+            return null;
+        }
+        try {
+            Node node = session.getCommand().getDOM().describeNode(null, null, result.getObjectId(), null, null);
+            return node != null ? node.getBackendNodeId() : null;
+        } finally {
+            session.releaseObject(result.getObjectId());
+        }
+    }
+
+    RemoteObject invoke(String frameId, String helper, Boolean returnByValue, Object... args) {
+        String declaration = declarations.computeIfAbsent(helper,
+                                    name -> "function() { return __cdp4j." + name + ".apply(null, arguments); }");
+        List<CallArgument> arguments = new ArrayList<>(args.length);
+        for (Object next : args) {
+            CallArgument argument = new CallArgument();
+            argument.setValue(next);
+            arguments.add(argument);
+        }
+        Runtime runtime = session.getCommand().getRuntime();
+        CallFunctionOnResult result = null;
+        for (int i = 0; i < 2; i++) {
+            Integer contextId = getContextId(frameId);
+            try {
+                result = runtime.callFunctionOn(declaration, null, arguments,
+                                                    TRUE, returnByValue, FALSE,
+                                                    FALSE, TRUE, contextId,
+                                                    null);
+                break;
+            } catch (CdpException e) {
+                // context destroyed by a navigation, the registry is not updated yet
+                if (i > 0 || e.getMessage() == null || ! e.getMessage().contains(CONTEXT_NOT_FOUND)) {
+                    throw e;
+                }
+                session.getExecutionContexts().onWorldDestroyed(frameId, WORLD_NAME);
+                created.remove(frameId, contextId);
+            }
+        }
+        if (result == null) {
+            return null;
+        }
+        ExceptionDetails ex = result.getExceptionDetails();
+        if (ex != null) {
+            throw new CdpException(ex.getException() != null ? ex.getException().getDescription() : ex.getText());
+        }
+        return result.getResult();
+    }
+}
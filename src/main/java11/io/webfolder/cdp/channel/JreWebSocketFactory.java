@@ -28,7 +28,6 @@ import java.net.http.WebSocket;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class JreWebSocketFactory implements ChannelFactory {
@@ -55,7 +54,7 @@ public class JreWebSocketFactory implements ChannelFactory {
     }
 
     @Override
-    public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+    public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
         String url = ((WebSocketConnection) connection).getUrl();
         CompletableFuture<WebSocket> future = client
                                                 .newWebSocketBuilder()
@@ -22,18 +22,17 @@ import java.net.http.WebSocket;
 import java.net.http.WebSocket.Listener;
 import java.util.concurrent.CompletionStage;
 
-import io.webfolder.cdp.session.MessageHandler;
 import io.webfolder.cdp.session.SessionFactory;
 
 public class JreWebSocketListener implements Listener {
 
     private final SessionFactory factory;
 
-    private final MessageHandler handler;
+    private final MessageProcessor handler;
 
     private final StringBuilder buffer = new StringBuilder(0);
 
-    public JreWebSocketListener(SessionFactory factory, MessageHandler handler) {
+    public JreWebSocketListener(SessionFactory factory, MessageProcessor handler) {
         this.factory = factory;
         this.handler = handler;
     }
@@ -58,7 +57,10 @@ public class JreWebSocketListener implements Listener {
 
     @Override
     public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
-        factory.close();
+        if (factory != null) {
+            factory.close();
+        }
+        handler.onClose();
         buffer.setLength(0);
         return Listener.super.onClose(webSocket, statusCode, reason);
     }
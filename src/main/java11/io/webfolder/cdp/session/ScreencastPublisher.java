@@ -0,0 +1,165 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Publisher} view of a {@link Screencast}.
+ * 
+ * Supports a single subscriber. Frames are delivered only when requested,
+ * frames that arrive without demand are dropped by the bounded queue of the
+ * screencast. Images are released after {@code onNext} returns.
+ */
+public class ScreencastPublisher implements Publisher<ScreencastImage> {
+
+    private final Screencast screencast;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    public ScreencastPublisher(Screencast screencast) {
+        this.screencast = screencast;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ScreencastImage> subscriber) {
+        if ( ! subscribed.compareAndSet(false, true) ) {
+            subscriber.onSubscribe(new Subscription() {
+
+                @Override
+                public void request(long n) {
+                    // no op
+                }
+
+                @Override
+                public void cancel() {
+                    // no op
+                }
+            });
+            subscriber.onError(new IllegalStateException("Publisher supports a single subscriber"));
+            return;
+        }
+        ScreencastSubscription subscription = new ScreencastSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        Thread thread = new Thread(subscription, "cdp4j-ScreencastPublisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private class ScreencastSubscription implements Subscription, Runnable {
+
+        private final Subscriber<? super ScreencastImage> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition hasDemand = lock.newCondition();
+
+        private volatile boolean cancelled;
+
+        ScreencastSubscription(Subscriber<? super ScreencastImage> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("request must be positive"));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, requested) -> {
+                long sum = current + requested;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            lock.lock();
+            try {
+                hasDemand.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void awaitDemand() throws InterruptedException {
+            lock.lock();
+            try {
+                if (demand.get() == 0 && ! cancelled) {
+                    hasDemand.await(100, MILLISECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while ( ! cancelled ) {
+                    if (demand.get() == 0) {
+                        if (screencast.isClosed()) {
+                            break;
+                        }
+                        awaitDemand();
+                        continue;
+                    }
+                    ScreencastImage image = screencast.poll(100, MILLISECONDS);
+                    if (image == null) {
+                        if (screencast.isClosed()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    try {
+                        demand.decrementAndGet();
+                        subscriber.onNext(image);
+                    } finally {
+                        image.release();
+                    }
+                }
+                if ( ! cancelled ) {
+                    subscriber.onComplete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                cancelled = true;
+                subscriber.onError(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+(function() {
+  if (globalThis.__cdp4j) {
+    return;
+  }
+
+  const xpath = (expression, root) =>
+    document.evaluate(expression, root || document, null,
+                      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+
+  const xpathAll = (expression, root) => {
+    const result = document.evaluate(expression, root || document, null,
+                                     XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+    const nodes = [];
+    for (let i = 0; i < result.snapshotLength; i++) {
+      nodes.push(result.snapshotItem(i));
+    }
+    return nodes;
+  };
+
+  const isXPath = selector => selector.charAt(0) === '/' || selector.charAt(0) === '(';
+
+  const find = selector => isXPath(selector) ? xpath(selector) : document.querySelector(selector);
+
+  const findAll = selector => isXPath(selector) ? xpathAll(selector) : Array.from(document.querySelectorAll(selector));
+
+  const visibleRatio = element => new Promise(resolve => {
+    const observer = new IntersectionObserver(entries => {
+      resolve(entries[0].intersectionRatio);
+      observer.disconnect();
+    });
+    observer.observe(element);
+  });
+
+  globalThis.__cdp4j = {
+    xpath,
+    xpathAll,
+    find,
+    findAll,
+    matches: selector => find(selector) !== null,
+    count: selector => findAll(selector).length,
+    getText: selector => {
+      const element = find(selector);
+      return element ? element.textContent : null;
+    },
+    scrollIntoViewIfNeeded: async selector => {
+      const element = find(selector);
+      if (!element) {
+        return false;
+      }
+      if (await visibleRatio(element) !== 1.0) {
+        element.scrollIntoView({ block: 'center', inline: 'center', behavior: 'instant' });
+      }
+      return true;
+    }
+  };
+})();
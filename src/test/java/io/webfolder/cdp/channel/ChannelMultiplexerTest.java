@@ -0,0 +1,112 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.session.MessageHandler;
+import io.webfolder.cdp.session.SessionFactory;
+
+public class ChannelMultiplexerTest {
+
+    private static class UpstreamFactory implements ChannelFactory {
+
+        final AtomicReference<MessageProcessor> upstream = new AtomicReference<>();
+
+        @Override
+        public Channel createChannel(Connection connection, SessionFactory factory, MessageProcessor handler) {
+            upstream.set(handler);
+            return new Channel() {
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void disconnect() {
+                }
+
+                @Override
+                public void sendText(String message) {
+                }
+
+                @Override
+                public void connect() {
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testUpstreamCloseIsForwarded() {
+        UpstreamFactory delegate = new UpstreamFactory();
+        ChannelMultiplexer multiplexer = new ChannelMultiplexer(delegate, new WebSocketConnection("ws://localhost"));
+        AtomicBoolean first = new AtomicBoolean();
+        AtomicBoolean second = new AtomicBoolean();
+        Channel c1 = multiplexer.createChannel(null, null, newProcessor(first));
+        Channel c2 = multiplexer.createChannel(null, null, newProcessor(second));
+        c1.connect();
+        assertTrue(c1.isOpen());
+        assertEquals(2, multiplexer.getChannelCount());
+
+        delegate.upstream.get().onClose();
+
+        assertTrue(first.get());
+        assertTrue(second.get());
+        assertFalse(c1.isOpen());
+        assertFalse(c2.isOpen());
+        assertEquals(0, multiplexer.getChannelCount());
+    }
+
+    @Test(expected = CdpException.class)
+    public void testLegacyFactoryRejectsForeignProcessor() {
+        @SuppressWarnings("deprecation")
+        ChannelFactory legacy = new ChannelFactory() {
+
+            @Override
+            public Channel createChannel(Connection connection, SessionFactory factory, MessageHandler handler) {
+                throw new IllegalStateException();
+            }
+        };
+        legacy.createChannel(null, null, content -> { });
+    }
+
+    private static MessageProcessor newProcessor(AtomicBoolean closed) {
+        return new MessageProcessor() {
+
+            @Override
+            public void process(String content) {
+            }
+
+            @Override
+            public void onClose() {
+                closed.set(true);
+            }
+        };
+    }
+}
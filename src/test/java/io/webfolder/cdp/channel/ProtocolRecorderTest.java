@@ -0,0 +1,146 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.channel;
+
+import static io.webfolder.cdp.channel.ProtocolRecorder.FRAME_HEADER_LENGTH;
+import static io.webfolder.cdp.channel.ProtocolRecorder.HEADER_LENGTH;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Test;
+
+import io.webfolder.cdp.channel.ProtocolRecording.Frame;
+
+public class ProtocolRecorderTest {
+
+    @Test
+    public void testRecordAndReplay() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("cdp4j", ".rec");
+        try {
+            try (ProtocolRecorder recorder = new ProtocolRecorder(file)) {
+                recorder.outbound("{\"id\":1,\"method\":\"Target.getTargetInfo\"}");
+                recorder.inbound("{\"id\":1,\"result\":{}}");
+                recorder.inbound("{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":1}}");
+                assertEquals(3, recorder.getFrames());
+            }
+
+            List<Frame> frames = new ArrayList<>();
+            new ProtocolRecording(file).forEach(frames::add);
+            assertEquals(3, frames.size());
+            assertFalse(frames.get(0).isInbound());
+            assertTrue(frames.get(1).isInbound());
+            assertTrue(frames.get(1).getTimestamp() >= frames.get(0).getTimestamp());
+            assertEquals("{\"id\":1,\"result\":{}}", frames.get(1).getMessage());
+
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            ReplayChannelFactory factory = new ReplayChannelFactory(file, Double.POSITIVE_INFINITY);
+            Channel channel = factory.createChannel(factory.getConnection(), null, new MessageProcessor() {
+
+                @Override
+                public void process(String content) {
+                    received.add(content);
+                }
+            });
+            channel.connect();
+            assertTrue(channel.isOpen());
+            channel.sendText("{\"id\":42,\"method\":\"Target.getTargetInfo\"}");
+            assertEquals("{\"id\":42,\"result\":{}}", received.poll(5, SECONDS));
+            assertEquals(frames.get(2).getMessage(), received.poll(5, SECONDS));
+            channel.disconnect();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLargeFrame() throws IOException {
+        Path file = Files.createTempFile("cdp4j", ".rec");
+        try {
+            StringBuilder large = new StringBuilder();
+            while (large.length() < 256 * 1024) {
+                large.append("0123456789");
+            }
+            try (ProtocolRecorder recorder = new ProtocolRecorder(file)) {
+                recorder.inbound("{\"id\":1,\"result\":{}}");
+                recorder.inbound(large.toString());
+                recorder.inbound("{\"id\":2,\"result\":{}}");
+                assertEquals(HEADER_LENGTH + 3 * FRAME_HEADER_LENGTH + 2 * 20 + large.length(), recorder.getSize());
+            }
+            assertEquals(HEADER_LENGTH + 3 * FRAME_HEADER_LENGTH + 2 * 20 + large.length(), Files.size(file));
+            List<Frame> frames = new ArrayList<>();
+            new ProtocolRecording(file).forEach(frames::add);
+            assertEquals(3, frames.size());
+            assertEquals(large.toString(), frames.get(1).getMessage());
+            assertEquals("{\"id\":2,\"result\":{}}", frames.get(2).getMessage());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMatchByMethod() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("cdp4j", ".rec");
+        try {
+            try (ProtocolRecorder recorder = new ProtocolRecorder(file)) {
+                recorder.outbound("{\"id\":1,\"method\":\"DOM.enable\"}");
+                recorder.outbound("{\"id\":2,\"method\":\"Page.enable\"}");
+                recorder.inbound("{\"id\":2,\"result\":{}}");
+                recorder.inbound("{\"id\":1,\"result\":{}}");
+            }
+
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            CountDownLatch closed = new CountDownLatch(1);
+            ReplayChannelFactory factory = new ReplayChannelFactory(file, Double.POSITIVE_INFINITY);
+            Channel channel = factory.createChannel(factory.getConnection(), null, new MessageProcessor() {
+
+                @Override
+                public void process(String content) {
+                    received.add(content);
+                }
+
+                @Override
+                public void onClose() {
+                    closed.countDown();
+                }
+            });
+            channel.connect();
+            // sent in the reverse order of the recording
+            channel.sendText("{\"id\":11,\"method\":\"Page.enable\"}");
+            channel.sendText("{\"id\":10,\"method\":\"DOM.enable\"}");
+            assertEquals("{\"id\":11,\"result\":{}}", received.poll(5, SECONDS));
+            assertEquals("{\"id\":10,\"result\":{}}", received.poll(5, SECONDS));
+            // recording is exhausted
+            assertTrue(closed.await(5, SECONDS));
+            assertFalse(channel.isOpen());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
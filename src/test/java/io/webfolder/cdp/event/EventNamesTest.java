@@ -0,0 +1,79 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class EventNamesTest {
+
+    @Test
+    public void testNoCollisions() {
+        if ( ! isPerfect(EventNames.SEED, EventNames.SIZE) ) {
+            throw new AssertionError("EventNames.SEED/SIZE collide, use " + findSeed());
+        }
+    }
+
+    @Test
+    public void testAllEvents() {
+        for (Events next : Events.values()) {
+            String method = next.domain + "." + next.name;
+            assertSame(next, EventNames.lookup(method));
+            assertSame(next, EventNames.lookup("x" + method + "x", 1, method.length() + 1));
+        }
+    }
+
+    @Test
+    public void testUnknownEvents() {
+        assertNull(EventNames.lookup(null));
+        assertNull(EventNames.lookup(""));
+        assertNull(EventNames.lookup("Page.loadEventFire"));
+        assertNull(EventNames.lookup("Page.loadEventFiredx"));
+        assertNull(EventNames.lookup("Page.foo"));
+        assertEquals(Events.PageLoadEventFired, EventNames.lookup("Page.loadEventFired"));
+    }
+
+    private static boolean isPerfect(int seed, int size) {
+        Set<Integer> indexes = new HashSet<>();
+        for (Events next : Events.values()) {
+            String name = next.toString();
+            if ( ! indexes.add(EventNames.hash(name, 0, name.length(), seed) & (size - 1)) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // smallest table first, then the smallest seed
+    private static String findSeed() {
+        for (int size = Integer.highestOneBit(Events.values().length * 4 - 1) << 1; ; size <<= 1) {
+            for (int seed = 0; seed < 1 << 16; seed++) {
+                if (isPerfect(seed, size)) {
+                    return "SEED = " + seed + ", SIZE = " + size;
+                }
+            }
+        }
+    }
+}
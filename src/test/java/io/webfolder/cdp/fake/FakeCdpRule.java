@@ -0,0 +1,121 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.fake;
+
+import org.junit.rules.ExternalResource;
+
+import io.webfolder.cdp.LinuxProcessManager;
+import io.webfolder.cdp.Options;
+import io.webfolder.cdp.channel.NvWebSocketFactory;
+import io.webfolder.cdp.session.Session;
+import io.webfolder.cdp.session.SessionFactory;
+
+/**
+ * Runs a test against a {@link FakeCdpServer}.
+ *
+ * <p>
+ * The server is created before the test and can be scripted with {@link #getServer()},
+ * {@link #start()} starts it and connects a session. Session, session factory, server and
+ * channel factory are closed after the test.
+ * </p>
+ *
+ * <pre>
+ * &#64;Rule
+ * public FakeCdpRule fake = new FakeCdpRule();
+ *
+ * &#64;Test
+ * public void test() {
+ *     fake.getServer().handler("Runtime.evaluate", params -&gt; ...);
+ *     Session session = fake.start();
+ *     ...
+ * }
+ * </pre>
+ */
+public class FakeCdpRule extends ExternalResource {
+
+    private final Options options;
+
+    private FakeCdpServer server;
+
+    private NvWebSocketFactory channelFactory;
+
+    private SessionFactory factory;
+
+    private Session session;
+
+    public FakeCdpRule() {
+        this(Options.builder()
+                    .processManager(new LinuxProcessManager())
+                    .shutdownThreadPoolOnClose(true)
+                    .build());
+    }
+
+    public FakeCdpRule(Options options) {
+        this.options = options;
+    }
+
+    @Override
+    protected void before() {
+        server = new FakeCdpServer();
+        channelFactory = new NvWebSocketFactory();
+    }
+
+    public FakeCdpServer getServer() {
+        return server;
+    }
+
+    /**
+     * Starts the server and connects the session factory.
+     */
+    public SessionFactory connect() {
+        if (factory == null) {
+            server.start();
+            factory = new SessionFactory(options, channelFactory, server.getConnection());
+        }
+        return factory;
+    }
+
+    /**
+     * Starts the server and creates a session.
+     */
+    public Session start() {
+        if (session == null) {
+            session = connect().create();
+        }
+        return session;
+    }
+
+    @Override
+    protected void after() {
+        try {
+            if (session != null) {
+                session.close();
+            }
+        } finally {
+            try {
+                if (factory != null) {
+                    factory.close();
+                }
+            } finally {
+                server.close();
+                channelFactory.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,489 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.fake;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import io.webfolder.cdp.channel.WebSocketConnection;
+import io.webfolder.cdp.exception.CdpException;
+
+/**
+ * In-process fake of the browser side of the DevTools protocol.
+ *
+ * <p>
+ * Implements the subset of Target, Page, Runtime, DOM and Browser domains which is
+ * required to create sessions, navigate and evaluate scripts. Every other command
+ * succeeds with an empty result. Latency and payload size of the responses can be
+ * scripted per method to benchmark the client without a browser.
+ * </p>
+ *
+ * <pre>
+ * try (FakeCdpServer server = new FakeCdpServer().latency("Page.navigate", 5).payloadSize(1024)) {
+ *     server.start();
+ *     SessionFactory factory = new SessionFactory(options, new NvWebSocketFactory(), server.getConnection());
+ *     ...
+ * }
+ * </pre>
+ */
+public class FakeCdpServer implements AutoCloseable {
+
+    private static final String BROWSER_TARGET_ID = "browser";
+
+    /**
+     * Thrown by a handler to reply with a protocol error instead of a result.
+     */
+    public static class ProtocolError extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int code;
+
+        public ProtocolError(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+
+    private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+
+    private final Map<String, Function<JsonObject, JsonObject>> handlers = new ConcurrentHashMap<>();
+
+    // sessionId -> targetId
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, String> targets = new ConcurrentHashMap<>();
+
+    // executionContextId -> sessionId
+    private final Map<Integer, String> executionContexts = new ConcurrentHashMap<>();
+
+    private final Set<String> browserContexts = newSetFromMap(new ConcurrentHashMap<>());
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private final AtomicLong commands = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cdp4j-FakeCdpServer-Scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService connections = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "cdp4j-FakeCdpServer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<FakeWebSocket> sockets = newSetFromMap(new ConcurrentHashMap<>());
+
+    private volatile ServerSocket serverSocket;
+
+
+    private volatile long defaultLatency;
+
+    private volatile String payload = "";
+
+    public FakeCdpServer() {
+        targets.put(newId("target"), "about:blank");
+    }
+
+    /**
+     * Delays the responses of the method.
+     */
+    public FakeCdpServer latency(String method, long millis) {
+        latencies.put(method, millis);
+        return this;
+    }
+
+    /**
+     * Delays the responses of all methods which have no method specific latency.
+     */
+    public FakeCdpServer defaultLatency(long millis) {
+        this.defaultLatency = millis;
+        return this;
+    }
+
+    /**
+     * Size of the string value returned by <code>Runtime.evaluate</code>,
+     * <code>Runtime.callFunctionOn</code> and <code>DOM.getOuterHTML</code>.
+     */
+    public FakeCdpServer payloadSize(int chars) {
+        StringBuilder builder = new StringBuilder(chars);
+        for (int i = 0; i < chars; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        this.payload = builder.toString();
+        return this;
+    }
+
+    /**
+     * Overrides the result of the method, handler receives the command params.
+     */
+    public FakeCdpServer handler(String method, Function<JsonObject, JsonObject> handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * Binds to a random local port and starts accepting connections.
+     */
+    public void start() {
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new CdpException(e);
+        }
+        connections.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public WebSocketConnection getConnection() {
+        return new WebSocketConnection("ws://127.0.0.1:" + getPort() + "/devtools/browser/" + BROWSER_TARGET_ID);
+    }
+
+    /**
+     * @return number of commands received
+     */
+    public long getCommands() {
+        return commands.get();
+    }
+
+    /**
+     * @return number of attached sessions, including the browser session
+     */
+    public int getSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * @return number of execution contexts of the attached sessions
+     */
+    public int getExecutionContexts() {
+        return executionContexts.size();
+    }
+
+    /**
+     * @return number of browser contexts which are not disposed
+     */
+    public int getBrowserContexts() {
+        return browserContexts.size();
+    }
+
+    private void accept() {
+        while ( ! serverSocket.isClosed() ) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        FakeWebSocket conn = null;
+        try {
+            conn = new FakeWebSocket(socket);
+            sockets.add(conn);
+            conn.handshake();
+            String message;
+            while ((message = conn.read()) != null) {
+                onMessage(conn, message);
+            }
+        } catch (IOException e) {
+            // disconnected
+        } finally {
+            if (conn != null) {
+                sockets.remove(conn);
+                conn.close();
+            }
+        }
+    }
+
+    private void onMessage(FakeWebSocket conn, String message) {
+        commands.incrementAndGet();
+        JsonObject request = JsonParser.parseString(message).getAsJsonObject();
+        int id = request.get("id").getAsInt();
+        String method = request.get("method").getAsString();
+        JsonElement sid = request.get("sessionId");
+        String sessionId = sid == null ? null : sid.getAsString();
+        JsonObject params = request.has("params") ? request.getAsJsonObject("params") : new JsonObject();
+        Long latency = latencies.get(method);
+        long delay = latency != null ? latency.longValue() : defaultLatency;
+        Runnable reply = () -> reply(conn, id, method, sessionId, params);
+        if (delay > 0) {
+            scheduler.schedule(reply, delay, MILLISECONDS);
+        } else {
+            reply.run();
+        }
+    }
+
+    private void reply(FakeWebSocket conn, int id, String method, String sessionId, JsonObject params) {
+        if ( ! conn.isOpen() ) {
+            return;
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("id", id);
+        Function<JsonObject, JsonObject> handler = handlers.get(method);
+        try {
+            response.add("result", handler != null ? handler.apply(params) : result(method, sessionId, params));
+        } catch (ProtocolError e) {
+            JsonObject error = new JsonObject();
+            error.addProperty("code", e.code);
+            error.addProperty("message", e.getMessage());
+            response.add("error", error);
+        }
+        if (sessionId != null) {
+            response.addProperty("sessionId", sessionId);
+        }
+        conn.send(response.toString());
+        afterReply(conn, method, sessionId, params);
+    }
+
+    private JsonObject result(String method, String sessionId, JsonObject params) {
+        JsonObject result = new JsonObject();
+        switch (method) {
+            case "Target.getTargetInfo":
+                String targetId = params.has("targetId") ? params.get("targetId").getAsString() : BROWSER_TARGET_ID;
+                result.add("targetInfo", targetInfo(targetId));
+                break;
+            case "Target.getTargets":
+                JsonArray infos = new JsonArray();
+                for (String next : targets.keySet()) {
+                    infos.add(targetInfo(next));
+                }
+                result.add("targetInfos", infos);
+                break;
+            case "Target.createTarget":
+                String created = newId("target");
+                targets.put(created, params.get("url").getAsString());
+                result.addProperty("targetId", created);
+                break;
+            case "Target.attachToTarget":
+                String attached = newId("session");
+                sessions.put(attached, params.get("targetId").getAsString());
+                result.addProperty("sessionId", attached);
+                break;
+            case "Target.closeTarget":
+                String closed = params.get("targetId").getAsString();
+                targets.remove(closed);
+                sessions.entrySet().removeIf(next -> {
+                    if (closed.equals(next.getValue())) {
+                        detach(next.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+                result.addProperty("success", true);
+                break;
+            case "Target.detachFromTarget":
+                if (params.has("sessionId")) {
+                    String detached = params.get("sessionId").getAsString();
+                    sessions.remove(detached);
+                    detach(detached);
+                }
+                break;
+            case "Target.createBrowserContext":
+                String browserContextId = newId("context");
+                browserContexts.add(browserContextId);
+                result.addProperty("browserContextId", browserContextId);
+                break;
+            case "Target.disposeBrowserContext":
+                browserContexts.remove(params.get("browserContextId").getAsString());
+                break;
+            case "Page.navigate":
+                result.addProperty("frameId", getTargetId(sessionId));
+                result.addProperty("loaderId", newId("loader"));
+                break;
+            case "Page.getFrameTree":
+                JsonObject frame = new JsonObject();
+                frame.addProperty("id", getTargetId(sessionId));
+                frame.addProperty("loaderId", "loader");
+                frame.addProperty("url", targets.getOrDefault(getTargetId(sessionId), "about:blank"));
+                frame.addProperty("securityOrigin", "://");
+                frame.addProperty("mimeType", "text/html");
+                JsonObject frameTree = new JsonObject();
+                frameTree.add("frame", frame);
+                result.add("frameTree", frameTree);
+                break;
+            case "Runtime.evaluate":
+            case "Runtime.callFunctionOn":
+                JsonObject remoteObject = new JsonObject();
+                remoteObject.addProperty("type", "string");
+                remoteObject.addProperty("value", payload);
+                result.add("result", remoteObject);
+                break;
+            case "DOM.getDocument":
+                JsonObject root = new JsonObject();
+                root.addProperty("nodeId", 1);
+                root.addProperty("backendNodeId", 1);
+                root.addProperty("nodeType", 9);
+                root.addProperty("nodeName", "#document");
+                root.addProperty("localName", "");
+                root.addProperty("nodeValue", "");
+                result.add("root", root);
+                break;
+            case "DOM.querySelector":
+                result.addProperty("nodeId", 2);
+                break;
+            case "DOM.getOuterHTML":
+                result.addProperty("outerHTML", "<html><body>" + payload + "</body></html>");
+                break;
+            case "Browser.getVersion":
+                result.addProperty("protocolVersion", "1.3");
+                result.addProperty("product", "HeadlessChrome/86.0.4240.0");
+                result.addProperty("revision", "fake");
+                result.addProperty("userAgent", "Mozilla/5.0 HeadlessChrome/86.0.4240.0");
+                result.addProperty("jsVersion", "8.6");
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    private void afterReply(FakeWebSocket conn, String method, String sessionId, JsonObject params) {
+        if (sessionId == null) {
+            return;
+        }
+        String frameId = getTargetId(sessionId);
+        switch (method) {
+            case "Runtime.enable":
+                JsonObject auxData = new JsonObject();
+                auxData.addProperty("isDefault", true);
+                auxData.addProperty("type", "default");
+                auxData.addProperty("frameId", frameId);
+                int contextId = counter.incrementAndGet();
+                executionContexts.put(contextId, sessionId);
+                JsonObject context = new JsonObject();
+                context.addProperty("id", contextId);
+                context.addProperty("origin", "://");
+                context.addProperty("name", "");
+                context.add("auxData", auxData);
+                JsonObject created = new JsonObject();
+                created.add("context", context);
+                event(conn, "Runtime.executionContextCreated", created, sessionId);
+                break;
+            case "Page.navigate":
+                targets.put(frameId, params.get("url").getAsString());
+                JsonObject loading = new JsonObject();
+                loading.addProperty("frameId", frameId);
+                event(conn, "Page.frameStartedLoading", loading, sessionId);
+                for (String name : new String[] { "init", "DOMContentLoaded", "load", "networkIdle" }) {
+                    JsonObject lifecycle = new JsonObject();
+                    lifecycle.addProperty("frameId", frameId);
+                    lifecycle.addProperty("loaderId", "loader");
+                    lifecycle.addProperty("name", name);
+                    lifecycle.addProperty("timestamp", System.nanoTime() / 1e9);
+                    event(conn, "Page.lifecycleEvent", lifecycle, sessionId);
+                }
+                JsonObject loaded = new JsonObject();
+                loaded.addProperty("timestamp", System.nanoTime() / 1e9);
+                event(conn, "Page.loadEventFired", loaded, sessionId);
+                event(conn, "Page.frameStoppedLoading", loading, sessionId);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Sends an event to all connected clients.
+     * 
+     * @param sessionId target session or {@code null} for browser level events
+     */
+    public void emit(String sessionId, String method, JsonObject params) {
+        for (FakeWebSocket next : sockets) {
+            if (next.isOpen()) {
+                event(next, method, params, sessionId);
+            }
+        }
+    }
+
+    private void event(FakeWebSocket conn, String method, JsonObject params, String sessionId) {
+        JsonObject event = new JsonObject();
+        event.addProperty("method", method);
+        event.add("params", params);
+        event.addProperty("sessionId", sessionId);
+        conn.send(event.toString());
+    }
+
+    private JsonObject targetInfo(String targetId) {
+        JsonObject info = new JsonObject();
+        info.addProperty("targetId", targetId);
+        info.addProperty("type", BROWSER_TARGET_ID.equals(targetId) ? "browser" : "page");
+        info.addProperty("title", "");
+        info.addProperty("url", targets.getOrDefault(targetId, ""));
+        info.addProperty("attached", true);
+        info.addProperty("canAccessOpener", false);
+        info.addProperty("browserContextId", "default");
+        return info;
+    }
+
+    private String getTargetId(String sessionId) {
+        return sessionId == null ? BROWSER_TARGET_ID : sessions.getOrDefault(sessionId, BROWSER_TARGET_ID);
+    }
+
+    private void detach(String sessionId) {
+        executionContexts.values().removeIf(sessionId::equals);
+    }
+
+    private String newId(String prefix) {
+        return prefix + "-" + counter.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+        for (FakeWebSocket next : sockets) {
+            next.close();
+        }
+        connections.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.fake;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.webfolder.cdp.session.Session;
+import io.webfolder.cdp.session.SessionFactory;
+
+public class FakeCdpServerTest {
+
+    private static final int COMMANDS = 2000;
+
+    // loose floor, about 3000 commands/second on a developer machine
+    private static final long MIN_COMMANDS_PER_SECOND = 200;
+
+    private static final int THREADS = 8;
+
+    private static final int SESSIONS_PER_THREAD = 10;
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    @Test
+    public void testThroughput() {
+        FakeCdpServer server = fake.getServer().payloadSize(256);
+        Session session = fake.start();
+        session.navigate("https://example.com");
+        long start = System.nanoTime();
+        for (int i = 0; i < COMMANDS; i++) {
+            assertEquals(256, ((String) session.evaluate("document.title")).length());
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(server.getCommands() >= COMMANDS);
+        long throughput = COMMANDS * 1_000_000_000L / elapsed;
+        assertTrue(throughput + " commands/second", throughput >= MIN_COMMANDS_PER_SECOND);
+    }
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        FakeCdpServer server = fake.getServer().payloadSize(16);
+        SessionFactory factory = fake.connect();
+        int sessions = server.getSessions();
+        int executionContexts = server.getExecutionContexts();
+        ExecutorService executor = newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    String browserContextId = factory.createBrowserContext();
+                    for (int j = 0; j < SESSIONS_PER_THREAD; j++) {
+                        Session session = factory.create(browserContextId);
+                        try {
+                            session.navigate("https://example.com/" + j);
+                            assertEquals(16, ((String) session.evaluate("document.title")).length());
+                        } finally {
+                            session.close();
+                        }
+                        assertFalse(session.isConnected());
+                    }
+                    factory.disposeBrowserContext(browserContextId);
+                    return null;
+                }));
+            }
+            for (Future<?> next : futures) {
+                next.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(sessions, server.getSessions());
+        assertEquals(executionContexts, server.getExecutionContexts());
+        assertEquals(0, server.getBrowserContexts());
+
+        factory.close();
+        assertEquals(0, server.getSessions());
+        assertEquals(0, server.getExecutionContexts());
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.fake;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Minimal blocking server side WebSocket (RFC 6455) connection,
+ * supports unfragmented and fragmented text frames, ping and close.
+ */
+class FakeWebSocket {
+
+    private static final String GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private static final int OP_CONTINUATION = 0x0;
+
+    private static final int OP_TEXT = 0x1;
+
+    private static final int OP_CLOSE = 0x8;
+
+    private static final int OP_PING = 0x9;
+
+    private final Socket socket;
+
+    private final InputStream in;
+
+    private final OutputStream out;
+
+    private volatile boolean open;
+
+    FakeWebSocket(Socket socket) throws IOException {
+        this.socket = socket;
+        this.socket.setTcpNoDelay(true);
+        this.in     = new BufferedInputStream(socket.getInputStream());
+        this.out    = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    void handshake() throws IOException {
+        String key = null;
+        String line;
+        while ( ! (line = readLine()).isEmpty() ) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && "sec-websocket-key".equals(line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH))) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        if (key == null) {
+            throw new IOException("Sec-WebSocket-Key is missing");
+        }
+        String accept;
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            accept = Base64.getEncoder().encodeToString(sha1.digest((key + GUID).getBytes(ISO_8859_1)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                          "Upgrade: websocket\r\n" +
+                          "Connection: Upgrade\r\n" +
+                          "Sec-WebSocket-Accept: " + accept + "\r\n\r\n";
+        synchronized (out) {
+            out.write(response.getBytes(ISO_8859_1));
+            out.flush();
+        }
+        open = true;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int next;
+        while ((next = in.read()) != '\n') {
+            if (next < 0) {
+                throw new EOFException();
+            }
+            if (next != '\r') {
+                builder.append((char) next);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return next text message or {@code null} if the connection is closed
+     */
+    String read() throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        while (true) {
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            boolean fin = (first & 0x80) != 0;
+            int opcode = first & 0x0f;
+            int second = readByte();
+            boolean masked = (second & 0x80) != 0;
+            long length = second & 0x7f;
+            if (length == 126) {
+                length = (readByte() << 8) | readByte();
+            } else if (length == 127) {
+                length = 0;
+                for (int i = 0; i < 8; i++) {
+                    length = (length << 8) | readByte();
+                }
+            }
+            byte[] mask = new byte[4];
+            if (masked) {
+                readFully(mask);
+            }
+            byte[] payload = new byte[(int) length];
+            readFully(payload);
+            if (masked) {
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+            }
+            if (opcode == OP_CLOSE) {
+                close();
+                return null;
+            } else if (opcode == OP_PING) {
+                write(0x8A, payload);
+            } else if (opcode == OP_TEXT || opcode == OP_CONTINUATION) {
+                message.write(payload);
+                if (fin) {
+                    return new String(message.toByteArray(), UTF_8);
+                }
+            }
+        }
+    }
+
+    private int readByte() throws IOException {
+        int next = in.read();
+        if (next < 0) {
+            throw new EOFException();
+        }
+        return next;
+    }
+
+    private void readFully(byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+
+    void send(String message) {
+        if ( ! open ) {
+            return;
+        }
+        try {
+            write(0x80 | OP_TEXT, message.getBytes(UTF_8));
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    private void write(int header, byte[] payload) throws IOException {
+        synchronized (out) {
+            out.write(header);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xffff) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length);
+            } else {
+                out.write(127);
+                long length = payload.length;
+                for (int i = 7; i >= 0; i--) {
+                    out.write((int) (length >>> (8 * i)));
+                }
+            }
+            out.write(payload);
+            out.flush();
+        }
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    void close() {
+        if ( ! open ) {
+            return;
+        }
+        open = false;
+        try {
+            write(0x80 | OP_CLOSE, new byte[0]);
+        } catch (IOException e) {
+            // ignore
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.logger;
+
+import static io.webfolder.cdp.logger.CdpConsoleLogggerLevel.Info;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class AsyncLogWriterTest {
+
+    @Test
+    public void testWrite() {
+        StringWriter out = new StringWriter();
+        AsyncLogWriter writer = new AsyncLogWriter(out, 1024, 16);
+        CdpConsoleLogger logger = new CdpConsoleLogger(Info, writer);
+        for (int i = 0; i < 100; i++) {
+            logger.info("line {}", i);
+        }
+        logger.debug(() -> {
+            throw new AssertionError();
+        });
+        writer.close();
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(100, lines.length);
+        assertEquals("[INFO] line 0", lines[0]);
+        assertEquals("[INFO] line 99", lines[99]);
+        assertEquals(0, writer.getDropped());
+        assertFalse(writer.append("closed"));
+    }
+
+    @Test
+    public void testLevels() {
+        CdpConsoleLogger logger = new CdpConsoleLogger(CdpConsoleLogggerLevel.Warn);
+        assertFalse(logger.isInfoEnabled());
+        assertFalse(logger.isDebugEnabled());
+        logger = new CdpConsoleLogger(CdpConsoleLogggerLevel.Debug);
+        assertTrue(logger.isInfoEnabled());
+        assertTrue(logger.isDebugEnabled());
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.webfolder.cdp.event.target.AttachedToTarget;
+
+/**
+ * Generates {@link CdpTypeAdapterFactory} from the {@code $TypeAdapter} classes emitted by
+ * the Stag annotation processor.
+ * 
+ * Run after the protocol classes are regenerated and compiled:
+ * 
+ * <pre>
+ * mvn compile test-compile
+ * java -cp target/classes:target/test-classes:... io.webfolder.cdp.session.CdpTypeAdapterFactoryGenerator
+ * </pre>
+ * 
+ * {@code CdpTypeAdapterFactoryTest} fails if the source is not up to date.
+ */
+public class CdpTypeAdapterFactoryGenerator {
+
+    static final Path SOURCE = Paths.get("src/main/java/io/webfolder/cdp/session/CdpTypeAdapterFactory.java");
+
+    private static final String TYPE_ADAPTER = "$TypeAdapter";
+
+    public static void main(String[] args) throws IOException, URISyntaxException {
+        Files.write(SOURCE, generate(findTypes()).getBytes(UTF_8));
+    }
+
+    /**
+     * @return protocol types which have a generated type adapter, sorted by name
+     */
+    static List<String> findTypes() throws IOException, URISyntaxException {
+        Path classes = Paths.get(AttachedToTarget.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (Stream<Path> files = Files.walk(classes)) {
+            return files.map(next -> classes.relativize(next).toString().replace('\\', '/'))
+                        .filter(next -> next.startsWith("io/webfolder/cdp/") && next.endsWith(TYPE_ADAPTER + ".class"))
+                        .map(next -> next.substring(0, next.length() - TYPE_ADAPTER.length() - ".class".length()).replace('/', '.'))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    static String generate(List<String> types) throws IOException {
+        String source = new String(Files.readAllBytes(SOURCE), UTF_8);
+        // license header is kept as is
+        String header = source.substring(0, source.indexOf("package "));
+        StringBuilder builder = new StringBuilder(header);
+        builder.append("package io.webfolder.cdp.session;\n")
+               .append("\n")
+               .append("import com.google.gson.Gson;\n")
+               .append("import com.google.gson.TypeAdapter;\n")
+               .append("import com.google.gson.TypeAdapterFactory;\n")
+               .append("import com.google.gson.reflect.TypeToken;\n")
+               .append("\n")
+               .append("/**\n")
+               .append(" * Creates the build time generated streaming type adapters of the protocol types and events.\n")
+               .append(" * \n")
+               .append(" * Adapters are selected with a single switch on the class name, there are no class loading\n")
+               .append(" * probes and protocol types never fall back to the reflective type adapter of Gson.\n")
+               .append(" * Gson caches the created adapters per type.\n")
+               .append(" * \n")
+               .append(" * Generated by CdpTypeAdapterFactoryGenerator (test sources), do not edit.\n")
+               .append(" */\n")
+               .append("class CdpTypeAdapterFactory implements TypeAdapterFactory, AutoCloseable {\n")
+               .append("\n")
+               .append("    @Override\n")
+               .append("    @SuppressWarnings(\"unchecked\")\n")
+               .append("    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n")
+               .append("        return (TypeAdapter<T>) create(gson, type.getRawType().getName());\n")
+               .append("    }\n")
+               .append("\n")
+               .append("    static TypeAdapter<?> create(Gson gson, String className) {\n")
+               .append("        if ( ! className.startsWith(\"io.webfolder.cdp.\") ) {\n")
+               .append("            return null;\n")
+               .append("        }\n")
+               .append("        switch (className) {\n");
+        for (String type : types) {
+            builder.append("            case \"").append(type).append("\":\n")
+                   .append("                return new ").append(type).append(TYPE_ADAPTER).append("(gson);\n");
+        }
+        builder.append("            default:\n")
+               .append("                return null;\n")
+               .append("        }\n")
+               .append("    }\n")
+               .append("\n")
+               .append("    @Override\n")
+               .append("    public void close() {\n")
+               .append("        // no op\n")
+               .append("    }\n")
+               .append("}\n");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.TypeAdapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import io.webfolder.cdp.event.target.AttachedToTarget;
+
+public class CdpTypeAdapterFactoryTest {
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(new CdpTypeAdapterFactory())
+                                               .create();
+
+    @Test
+    public void testGeneratedAdapter() {
+        assertTrue(gson.getAdapter(AttachedToTarget.class).getClass().getName().endsWith("$TypeAdapter"));
+        AttachedToTarget event = gson.fromJson("{\"sessionId\":\"s1\",\"targetInfo\":{\"targetId\":\"t1\",\"type\":\"iframe\"}," +
+                                                    "\"waitingForDebugger\":true,\"unknown\":[1,2]}", AttachedToTarget.class);
+        assertEquals("s1", event.getSessionId());
+        assertEquals("iframe", event.getTargetInfo().getType());
+        assertTrue(event.isWaitingForDebugger());
+    }
+
+    @Test
+    public void testAllGeneratedAdapters() throws IOException, URISyntaxException {
+        List<String> types = CdpTypeAdapterFactoryGenerator.findTypes();
+        assertFalse(types.isEmpty());
+        for (String type : types) {
+            TypeAdapter<?> created = CdpTypeAdapterFactory.create(gson, type);
+            assertNotNull("missing case for " + type, created);
+            assertEquals(type + "$TypeAdapter", created.getClass().getName());
+        }
+    }
+
+    @Test
+    public void testUpToDate() throws IOException, URISyntaxException {
+        String expected = CdpTypeAdapterFactoryGenerator.generate(CdpTypeAdapterFactoryGenerator.findTypes());
+        String actual = new String(Files.readAllBytes(CdpTypeAdapterFactoryGenerator.SOURCE), UTF_8);
+        assertEquals("CdpTypeAdapterFactory is out of date, run CdpTypeAdapterFactoryGenerator", expected, actual);
+    }
+
+    @Test
+    public void testUnknownType() {
+        assertNull(new CdpTypeAdapterFactory().create(gson, TypeToken.get(String.class)));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+public class ContextTableTest {
+
+    @Test
+    public void testCompleteAndRemove() {
+        ContextTable table = new ContextTable(4);
+        Context context = new SemaphoreContext();
+        context.reset(1);
+        table.put(1, context);
+        assertSame(context, table.get(1));
+        assertTrue(table.get(1).complete(1, new JsonPrimitive("foo"), null, 0));
+        assertTrue(context.await(1000));
+        assertEquals("foo", context.getData().getAsString());
+        table.remove(1, context);
+        assertNull(table.get(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testOverflow() {
+        ContextTable table = new ContextTable(4);
+        Context first = new ThreadContext();
+        first.reset(1);
+        Context second = new SemaphoreContext();
+        second.reset(5);
+        table.put(1, first);
+        table.put(5, second);
+        assertSame(first, table.get(1));
+        assertSame(second, table.get(5));
+        table.remove(1, first);
+        table.remove(5, second);
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testLateResponseIsIgnored() {
+        Context context = new SemaphoreContext();
+        context.reset(1);
+        assertFalse(context.await(10));
+        context.reset(2);
+        assertFalse(context.complete(1, new JsonPrimitive("stale"), null, 0));
+        assertTrue(context.complete(2, new JsonPrimitive("fresh"), null, 0));
+        assertTrue(context.await(1000));
+        assertEquals("fresh", context.getData().getAsString());
+    }
+}
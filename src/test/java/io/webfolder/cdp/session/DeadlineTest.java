@@ -0,0 +1,68 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.webfolder.cdp.exception.DeadlineExceededException;
+
+public class DeadlineTest {
+
+    @Test
+    public void testLimitWithoutDeadline() {
+        assertNull(Deadline.current());
+        assertEquals(1000, Deadline.limit(1000));
+    }
+
+    @Test
+    public void testCappedWaitExhaustsDeadline() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            try (Deadline deadline = Deadline.start(3)) {
+                int timeout = Deadline.limit(1000);
+                assertTrue(timeout > 0 && timeout <= 3);
+                Thread.sleep(timeout);
+                assertTrue(deadline.isExpired());
+            }
+        }
+    }
+
+    @Test(expected = DeadlineExceededException.class)
+    public void testLimitAfterExpiry() throws InterruptedException {
+        try (Deadline deadline = Deadline.start(1)) {
+            Thread.sleep(2);
+            Deadline.limit(1000);
+        }
+    }
+
+    @Test
+    public void testNestedDeadline() {
+        try (Deadline outer = Deadline.start(50)) {
+            try (Deadline inner = Deadline.start(60_000)) {
+                assertTrue(Deadline.limit(60_000) <= 50);
+            }
+            assertSame(outer, Deadline.current());
+        }
+        assertNull(Deadline.current());
+    }
+}
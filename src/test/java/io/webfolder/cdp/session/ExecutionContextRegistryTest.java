@@ -0,0 +1,151 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static io.webfolder.cdp.event.Events.PageFrameDetached;
+import static io.webfolder.cdp.event.Events.PageFrameNavigated;
+import static io.webfolder.cdp.event.Events.RuntimeExecutionContextCreated;
+import static io.webfolder.cdp.event.Events.RuntimeExecutionContextDestroyed;
+import static io.webfolder.cdp.event.Events.RuntimeExecutionContextsCleared;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.webfolder.cdp.event.page.FrameDetached;
+import io.webfolder.cdp.event.page.FrameNavigated;
+import io.webfolder.cdp.event.runtime.ExecutionContextCreated;
+import io.webfolder.cdp.event.runtime.ExecutionContextDestroyed;
+import io.webfolder.cdp.event.runtime.ExecutionContextsCleared;
+import io.webfolder.cdp.type.page.Frame;
+import io.webfolder.cdp.type.runtime.ExecutionContextDescription;
+
+public class ExecutionContextRegistryTest {
+
+    private static ExecutionContextCreated created(int id, String frameId, String name, boolean defaultWorld) {
+        Map<String, Object> auxData = new HashMap<>();
+        auxData.put("isDefault", defaultWorld);
+        auxData.put("type", defaultWorld ? "default" : "isolated");
+        auxData.put("frameId", frameId);
+        ExecutionContextDescription context = new ExecutionContextDescription();
+        context.setId(id);
+        context.setName(name);
+        context.setAuxData(auxData);
+        ExecutionContextCreated created = new ExecutionContextCreated();
+        created.setContext(context);
+        return created;
+    }
+
+    private static ExecutionContextDestroyed destroyed(int id) {
+        ExecutionContextDestroyed destroyed = new ExecutionContextDestroyed();
+        destroyed.setExecutionContextId(id);
+        return destroyed;
+    }
+
+    @Test
+    public void testCreatedAndDestroyed() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        registry.onEvent(RuntimeExecutionContextCreated, created(1, "main", "", true));
+        assertEquals(Integer.valueOf(1), registry.getMainWorld("main"));
+        assertEquals("main", registry.getFrameId(1));
+
+        registry.onEvent(RuntimeExecutionContextDestroyed, destroyed(1));
+        assertNull(registry.getMainWorld("main"));
+        assertNull(registry.getFrameId(1));
+    }
+
+    @Test
+    public void testIsolatedWorld() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        registry.onEvent(RuntimeExecutionContextCreated, created(1, "main", "", true));
+        registry.onEvent(RuntimeExecutionContextCreated, created(2, "main", UtilityWorld.WORLD_NAME, false));
+        assertEquals(Integer.valueOf(1), registry.getMainWorld("main"));
+        assertEquals(Integer.valueOf(2), registry.getIsolatedWorld("main", UtilityWorld.WORLD_NAME));
+        assertNull(registry.getIsolatedWorld("main", "other"));
+
+        registry.onEvent(RuntimeExecutionContextDestroyed, destroyed(2));
+        assertEquals(Integer.valueOf(1), registry.getMainWorld("main"));
+        assertNull(registry.getIsolatedWorld("main", UtilityWorld.WORLD_NAME));
+
+        registry.onEvent(RuntimeExecutionContextCreated, created(3, "main", UtilityWorld.WORLD_NAME, false));
+        registry.onWorldDestroyed("main", UtilityWorld.WORLD_NAME);
+        assertNull(registry.getIsolatedWorld("main", UtilityWorld.WORLD_NAME));
+        assertNull(registry.getFrameId(3));
+    }
+
+    @Test
+    public void testCleared() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        registry.onEvent(RuntimeExecutionContextCreated, created(1, "main", "", true));
+        registry.onEvent(RuntimeExecutionContextCreated, created(2, "child", "", true));
+        registry.onEvent(RuntimeExecutionContextsCleared, new ExecutionContextsCleared());
+        assertNull(registry.getMainWorld("main"));
+        assertNull(registry.getMainWorld("child"));
+        assertNull(registry.getFrameId(2));
+        // frames are kept until they are detached
+        assertEquals(2, registry.getFrames().size());
+    }
+
+    @Test
+    public void testFrameNavigatedAndDetached() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        Frame frame = new Frame();
+        frame.setId("child");
+        frame.setParentId("main");
+        frame.setUrl("https://example.com/frame");
+        FrameNavigated navigated = new FrameNavigated();
+        navigated.setFrame(frame);
+        registry.onEvent(PageFrameNavigated, navigated);
+        registry.onEvent(RuntimeExecutionContextCreated, created(5, "child", "", true));
+        assertEquals("main", registry.getFrame("child").getParentId());
+        assertEquals("https://example.com/frame", registry.getFrame("child").getUrl());
+
+        FrameDetached detached = new FrameDetached();
+        detached.setFrameId("child");
+        registry.onEvent(PageFrameDetached, detached);
+        assertNull(registry.getFrame("child"));
+        assertNull(registry.getMainWorld("child"));
+        assertNull(registry.getFrameId(5));
+    }
+
+    @Test
+    public void testNavigation() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        registry.onEvent(RuntimeExecutionContextCreated, created(1, "main", "", true));
+        // cross document navigation: the old context is destroyed and a new one is created
+        registry.onEvent(RuntimeExecutionContextDestroyed, destroyed(1));
+        registry.onEvent(RuntimeExecutionContextCreated, created(7, "main", "", true));
+        assertEquals(Integer.valueOf(7), registry.getMainWorld("main"));
+        assertEquals("main", registry.getFrameId(7));
+        assertNull(registry.getMainWorld(null));
+    }
+
+    @Test
+    public void testContextWithoutFrame() {
+        ExecutionContextRegistry registry = new ExecutionContextRegistry();
+        ExecutionContextCreated worker = created(9, "main", "", true);
+        worker.getContext().setAuxData(null);
+        registry.onEvent(RuntimeExecutionContextCreated, worker);
+        assertNull(registry.getFrameId(9));
+        assertEquals(0, registry.getFrames().size());
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class PageMetricsBufferTest {
+
+    private static PageMetrics metrics(String loaderId) {
+        PageMetrics metrics = new PageMetrics();
+        metrics.loaderId = loaderId;
+        metrics.samples  = 1;
+        return metrics;
+    }
+
+    @Test
+    public void testOverwriteOldest() {
+        PageMetricsBuffer buffer = new PageMetricsBuffer(2);
+        PageMetrics metrics = metrics("1");
+        buffer.add(metrics);
+        // slots are copies, the source instance is reused by the collector
+        metrics.loaderId = "2";
+        buffer.add(metrics);
+        buffer.add(metrics("3"));
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.capacity());
+        assertEquals(3, buffer.getWritten());
+        List<PageMetrics> snapshot = buffer.snapshot();
+        assertEquals("2", snapshot.get(0).getLoaderId());
+        assertEquals("3", snapshot.get(1).getLoaderId());
+    }
+
+    @Test
+    public void testEmpty() {
+        PageMetricsBuffer buffer = new PageMetricsBuffer(4);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.snapshot().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new PageMetricsBuffer(0);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+public class PngStreamWriterTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        int width = 37;
+        int height = 23;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] row = new int[width];
+        try (PngStreamWriter writer = new PngStreamWriter(out, width, height)) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = pixel(x, y);
+                }
+                writer.writeRow(row, 0);
+            }
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(pixel(x, y), image.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void testMissingRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PngStreamWriter writer = new PngStreamWriter(out, 4, 3)) {
+            writer.writeRow(new int[] { 0, 0, 0, 0 }, 0);
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(0, image.getRGB(1, 0) & 0xFFFFFF);
+        assertEquals(0xFFFFFF, image.getRGB(1, 2) & 0xFFFFFF);
+    }
+
+    private static int pixel(int x, int y) {
+        return ((x * 7) & 0xFF) << 16 | ((y * 11) & 0xFF) << 8 | ((x * y) & 0xFF);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.webfolder.cdp.type.network.CookieParam;
+import io.webfolder.cdp.type.network.CookieSameSite;
+
+public class StorageStateTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        CookieParam cookie = new CookieParam();
+        cookie.setName("sid");
+        cookie.setValue("\u00e7\u011f-value");
+        cookie.setDomain(".example.com");
+        cookie.setPath("/");
+        cookie.setSecure(true);
+        cookie.setHttpOnly(false);
+        cookie.setSameSite(CookieSameSite.Lax);
+        cookie.setExpires(1.5E9);
+        StorageState state = new StorageState(singletonList(cookie),
+                                    singletonMap("https://example.com", singletonMap("token", "abc")),
+                                    Collections.emptyMap());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        state.write(out);
+        StorageState copy = StorageState.read(new ByteArrayInputStream(out.toByteArray()));
+        CookieParam next = copy.getCookies().get(0);
+        assertEquals("sid", next.getName());
+        assertEquals("\u00e7\u011f-value", next.getValue());
+        assertEquals(".example.com", next.getDomain());
+        assertTrue(next.isSecure());
+        assertEquals(CookieSameSite.Lax, next.getSameSite());
+        assertNull(next.getPriority());
+        assertEquals(1.5E9, next.getExpires(), 0);
+        assertEquals("abc", copy.getLocalStorage().get("https://example.com").get("token"));
+        assertTrue(copy.getSessionStorage().isEmpty());
+    }
+
+    @Test
+    public void testLargeValue() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            value.append((char) ('a' + i % 26));
+        }
+        StorageState state = new StorageState(Collections.emptyList(),
+                                    singletonMap("https://example.com", singletonMap("data", value.toString())),
+                                    Collections.emptyMap());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        state.write(out);
+        StorageState copy = StorageState.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(value.toString(), copy.getLocalStorage().get("https://example.com").get("data"));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedLength() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(0x43445353);
+        data.writeByte(1);
+        data.writeInt(1);
+        // declares a 2 GB cookie name
+        data.writeInt(Integer.MAX_VALUE);
+        data.write(new byte[16]);
+        StorageState.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class TraceEventParserTest {
+
+    private static final String EVENTS = "[" +
+            "{\"name\":\"RunTask\",\"cat\":\"toplevel\",\"ph\":\"X\",\"ts\":1234.5,\"dur\":10,\"pid\":1,\"tid\":2,\"args\":{\"data\":{}}}," +
+            "{\"name\":\"Paint\",\"cat\":\"devtools.timeline\",\"ph\":\"B\",\"ts\":1240,\"pid\":1,\"tid\":2,\"id\":\"0x1\"}" +
+            "]";
+
+    @Test
+    public void testArrayFormat() {
+        List<String> events = parse(EVENTS.getBytes(UTF_8));
+        assertEquals(2, events.size());
+        assertEquals("RunTask toplevel X 1234 10 1 2 null", events.get(0));
+        assertEquals("Paint devtools.timeline B 1240 0 1 2 0x1", events.get(1));
+    }
+
+    @Test
+    public void testObjectFormat() {
+        String trace = "{\"metadata\":{\"source\":\"cdp4j\"},\"traceEvents\":" + EVENTS + "}";
+        List<String> events = parse(trace.getBytes(UTF_8));
+        assertEquals(2, events.size());
+        assertEquals("Paint devtools.timeline B 1240 0 1 2 0x1", events.get(1));
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(bos)) {
+            os.write(EVENTS.getBytes(UTF_8));
+        }
+        assertEquals(2, parse(bos.toByteArray()).size());
+
+        // compressed content is detected without the .gz extension
+        Path file = Files.createTempFile("cdp4j", ".json");
+        try {
+            Files.write(file, bos.toByteArray());
+            assertEquals(2, new TraceEventParser().parse(file, event -> { }));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, parse("[]".getBytes(UTF_8)).size());
+    }
+
+    private static List<String> parse(byte[] content) {
+        List<String> events = new ArrayList<>();
+        new TraceEventParser().parse(new ByteArrayInputStream(content), event -> {
+            events.add(event.getName() + " " + event.getCategory() + " " + event.getPhase() + " " +
+                        event.getTimestamp() + " " + event.getDuration() + " " + event.getProcessId() + " " +
+                        event.getThreadId() + " " + event.getId());
+        });
+        return events;
+    }
+}
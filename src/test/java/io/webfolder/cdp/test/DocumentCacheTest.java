@@ -0,0 +1,102 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.event.Events;
+import io.webfolder.cdp.event.dom.DocumentUpdated;
+import io.webfolder.cdp.event.runtime.ExecutionContextCreated;
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.Session;
+import io.webfolder.cdp.type.runtime.ExecutionContextDescription;
+
+public class DocumentCacheTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    private static ExecutionContextCreated defaultContext(String frameId) {
+        Map<String, Object> auxData = new HashMap<>();
+        auxData.put("isDefault", true);
+        auxData.put("frameId", frameId);
+        ExecutionContextDescription context = new ExecutionContextDescription();
+        context.setAuxData(auxData);
+        ExecutionContextCreated created = new ExecutionContextCreated();
+        created.setContext(context);
+        return created;
+    }
+
+    @Test
+    public void testRootReuse() {
+        AtomicInteger documents = new AtomicInteger();
+        FakeCdpServer server = fake.getServer();
+        server.handler("DOM.getDocument", params -> {
+            assertEquals(0, params.get("depth").getAsInt());
+            JsonObject root = new JsonObject();
+            root.addProperty("nodeId", documents.incrementAndGet());
+            root.addProperty("backendNodeId", 1);
+            root.addProperty("nodeType", 9);
+            root.addProperty("nodeName", "#document");
+            root.addProperty("localName", "");
+            root.addProperty("nodeValue", "");
+            root.addProperty("documentURL", "https://example.com/");
+            JsonObject result = new JsonObject();
+            result.add("root", root);
+            return result;
+        });
+        Session session = fake.start();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(2), session.getNodeId("div"));
+        }
+        assertEquals(1, documents.get());
+        assertEquals(Integer.valueOf(1), session.getDocumentCache().getNodeId(1));
+
+        session.getDocumentCache().onEvent(Events.DOMDocumentUpdated, new DocumentUpdated());
+        session.getNodeId("div");
+        session.getNodeId("div");
+        assertEquals(2, documents.get());
+
+        // main world of an iframe
+        session.getDocumentCache().onEvent(Events.RuntimeExecutionContextCreated, defaultContext("iframe-1"));
+        session.getNodeId("div");
+        assertEquals(2, documents.get());
+
+        session.getDocumentCache().onEvent(Events.RuntimeExecutionContextCreated, defaultContext(session.getTargetId()));
+        session.getNodeId("div");
+        assertEquals(3, documents.get());
+
+        // full document request replaces the cached root
+        assertEquals("https://example.com/", session.getLocation());
+        assertEquals(4, documents.get());
+        assertEquals(Integer.valueOf(4), session.getDocumentCache().getRootNodeId());
+        session.getNodeId("div");
+        assertEquals(4, documents.get());
+    }
+}
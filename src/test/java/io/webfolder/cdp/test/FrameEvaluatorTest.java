@@ -0,0 +1,123 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.exception.DeadlineExceededException;
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.Deadline;
+import io.webfolder.cdp.session.Session;
+
+public class FrameEvaluatorTest {
+
+    private static final int IFRAME_CONTEXT = 100;
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    private static JsonObject contextCreated(int id, String frameId) {
+        JsonObject auxData = new JsonObject();
+        auxData.addProperty("isDefault", true);
+        auxData.addProperty("type", "default");
+        auxData.addProperty("frameId", frameId);
+        JsonObject context = new JsonObject();
+        context.addProperty("id", id);
+        context.addProperty("origin", "://");
+        context.addProperty("name", "");
+        context.add("auxData", auxData);
+        JsonObject params = new JsonObject();
+        params.add("context", context);
+        return params;
+    }
+
+    private static JsonObject contextDestroyed(int id) {
+        JsonObject params = new JsonObject();
+        params.addProperty("executionContextId", id);
+        return params;
+    }
+
+    // main frame returns two values, the iframe none
+    private static JsonObject evaluate(JsonObject params) {
+        int contextId = params.get("contextId").getAsInt();
+        JsonArray values = new JsonArray();
+        if (contextId != IFRAME_CONTEXT) {
+            values.add("a");
+            values.add("b");
+        }
+        JsonObject remoteObject = new JsonObject();
+        remoteObject.addProperty("type", "object");
+        remoteObject.add("value", values);
+        JsonObject result = new JsonObject();
+        result.add("result", remoteObject);
+        return result;
+    }
+
+    private static void await(Session session, String frameId, Integer contextId) {
+        assertTrue(session.waitUntil(s -> contextId.equals(s.getExecutionContexts().getMainWorld(frameId)), 5000, 10, false));
+    }
+
+    @Test
+    public void testEvaluateInFrames() {
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.evaluate", FrameEvaluatorTest::evaluate);
+        Session session = fake.start();
+        // reported by Runtime.enable
+        assertTrue(session.waitUntil(s -> s.getExecutionContextId() != null, 5000, 10, false));
+        Integer mainContext = session.getExecutionContextId();
+        server.emit(session.getId(), "Runtime.executionContextCreated", contextCreated(IFRAME_CONTEXT, "iframe-1"));
+        await(session, "iframe-1", IFRAME_CONTEXT);
+
+        Map<String, Object> results = session.evaluateInFrames("values");
+        assertEquals(2, results.size());
+        assertEquals(2, ((List<?>) results.get(session.getTargetId())).size());
+        assertTrue(((List<?>) results.get("iframe-1")).isEmpty());
+
+        Map<String, List<Object>> properties = session.getPropertiesInFrames("a", "href");
+        assertEquals(1, properties.size());
+        assertEquals("b", properties.get(session.getTargetId()).get(1));
+
+        try (Deadline deadline = Deadline.start(0)) {
+            session.evaluateInFrames("values");
+            fail();
+        } catch (DeadlineExceededException e) {
+            // expected
+        }
+
+        // navigation replaces the main world
+        server.emit(session.getId(), "Runtime.executionContextDestroyed", contextDestroyed(mainContext));
+        server.emit(session.getId(), "Runtime.executionContextCreated", contextCreated(200, session.getTargetId()));
+        await(session, session.getTargetId(), 200);
+        assertNotEquals(mainContext, session.getExecutionContextId());
+        assertEquals(Integer.valueOf(200), session.getExecutionContextId());
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.JsFunction;
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.Session;
+
+public class JsFunctionProxyTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    public static interface Calculator {
+
+        @JsFunction("return a + b")
+        int sum(int a, int b);
+    }
+
+    @Test
+    public void testSingleRoundTrip() {
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.evaluate", params -> {
+            JsonObject function = new JsonObject();
+            function.addProperty("type", "function");
+            function.addProperty("objectId", "function-1");
+            JsonObject result = new JsonObject();
+            result.add("result", function);
+            return result;
+        });
+        server.handler("Runtime.callFunctionOn", params -> {
+            JsonObject value = new JsonObject();
+            value.addProperty("type", "string");
+            value.addProperty("value", "{\"result\":3}");
+            JsonObject result = new JsonObject();
+            result.add("result", value);
+            return result;
+        });
+        Session session = fake.start();
+        Calculator calculator = session.registerJsFunction(Calculator.class);
+        // first call resolves the function handle
+        assertEquals(3, calculator.sum(1, 2));
+        long commands = server.getCommands();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(3, calculator.sum(1, 2));
+        }
+        assertEquals(commands + 10, server.getCommands());
+    }
+
+    @Test
+    public void testWithoutExecutionContext() {
+        AtomicInteger resolved = new AtomicInteger();
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.evaluate", params -> {
+            // evaluated in the default context while no context is reported
+            assertFalse(params.has("contextId"));
+            JsonObject function = new JsonObject();
+            function.addProperty("type", "function");
+            function.addProperty("objectId", "function-" + resolved.incrementAndGet());
+            JsonObject result = new JsonObject();
+            result.add("result", function);
+            return result;
+        });
+        server.handler("Runtime.callFunctionOn", params -> {
+            JsonObject value = new JsonObject();
+            value.addProperty("type", "string");
+            value.addProperty("value", "{\"result\":3}");
+            JsonObject result = new JsonObject();
+            result.add("result", value);
+            return result;
+        });
+        Session session = fake.start();
+        assertTrue(session.waitUntil(s -> s.getExecutionContextId() != null, 5000, 10, false));
+        server.emit(session.getId(), "Runtime.executionContextsCleared", new JsonObject());
+        assertTrue(session.waitUntil(s -> s.getExecutionContextId() == null, 5000, 10, false));
+
+        Calculator calculator = session.registerJsFunction(Calculator.class);
+        assertEquals(3, calculator.sum(1, 2));
+        assertEquals(3, calculator.sum(1, 2));
+        assertEquals(1, resolved.get());
+    }
+}
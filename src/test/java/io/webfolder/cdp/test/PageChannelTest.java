@@ -0,0 +1,105 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.PageChannel;
+import io.webfolder.cdp.session.Session;
+
+public class PageChannelTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    public static class Item {
+
+        String name;
+    }
+
+    private static JsonObject bindingCalled(String name, String payload) {
+        JsonObject params = new JsonObject();
+        params.addProperty("name", name);
+        params.addProperty("payload", payload);
+        params.addProperty("executionContextId", 1);
+        return params;
+    }
+
+    private static JsonObject record(Set<String> calls, String call, JsonObject result) {
+        calls.add(call);
+        return result;
+    }
+
+    @Test
+    public void testBatchAndClose() throws InterruptedException {
+        Set<String> calls = ConcurrentHashMap.newKeySet();
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.addBinding", params -> record(calls, "addBinding:" + params.get("name").getAsString(), new JsonObject()));
+        server.handler("Runtime.removeBinding", params -> record(calls, "removeBinding:" + params.get("name").getAsString(), new JsonObject()));
+        server.handler("Page.addScriptToEvaluateOnNewDocument", params -> {
+            JsonObject result = new JsonObject();
+            result.addProperty("identifier", "script-1");
+            return result;
+        });
+        server.handler("Page.removeScriptToEvaluateOnNewDocument", params ->
+                            record(calls, "removeScript:" + params.get("identifier").getAsString(), new JsonObject()));
+        Session session = fake.start();
+        BlockingQueue<List<Item>> batches = new LinkedBlockingQueue<>();
+        PageChannel<Item> channel = PageChannel.open(session, "items", Item.class, batches::add);
+        assertTrue(calls.contains("addBinding:__cdp4j_channel_items"));
+
+        server.emit(session.getId(), "Runtime.bindingCalled",
+                        bindingCalled("__cdp4j_channel_other", "[{\"name\":\"x\"}]"));
+        server.emit(session.getId(), "Runtime.bindingCalled",
+                        bindingCalled("__cdp4j_channel_items", "[{\"name\":\"a\"},{\"name\":\"b\"}]"));
+        List<Item> batch = batches.poll(5, SECONDS);
+        assertNotNull(batch);
+        assertEquals(2, batch.size());
+        assertEquals("a", batch.get(0).name);
+        assertEquals("b", batch.get(1).name);
+        assertEquals(1, channel.getBatches());
+        assertEquals(2, channel.getMessages());
+
+        channel.close();
+        assertTrue(calls.contains("removeBinding:__cdp4j_channel_items"));
+        assertTrue(calls.contains("removeScript:script-1"));
+        server.emit(session.getId(), "Runtime.bindingCalled",
+                        bindingCalled("__cdp4j_channel_items", "[{\"name\":\"c\"}]"));
+        assertNull(batches.poll(200, MILLISECONDS));
+        assertEquals(1, channel.getBatches());
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.PageMetrics;
+import io.webfolder.cdp.session.PageMetricsBuffer;
+import io.webfolder.cdp.session.PageMetricsCollector;
+import io.webfolder.cdp.session.Session;
+
+public class PageMetricsCollectorTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    private static JsonObject lifecycleEvent(Session session, String name, double timestamp) {
+        JsonObject params = new JsonObject();
+        params.addProperty("frameId", session.getTargetId());
+        params.addProperty("loaderId", "loader-1");
+        params.addProperty("name", name);
+        params.addProperty("timestamp", timestamp);
+        return params;
+    }
+
+    private static JsonObject metric(String name, double value) {
+        JsonObject metric = new JsonObject();
+        metric.addProperty("name", name);
+        metric.addProperty("value", value);
+        return metric;
+    }
+
+    @Test
+    public void testNavigationSummary() throws InterruptedException {
+        CountDownLatch samples = new CountDownLatch(2);
+        // lifecycle tasks of a collector must stay ordered on a multi-threaded scheduler
+        ScheduledExecutorService scheduler = newScheduledThreadPool(4);
+        try {
+            FakeCdpServer server = fake.getServer();
+            server.handler("Performance.getMetrics", params -> {
+                JsonArray metrics = new JsonArray();
+                metrics.add(metric("JSHeapUsedSize", 1024));
+                metrics.add(metric("Nodes", 42));
+                JsonObject result = new JsonObject();
+                result.add("metrics", metrics);
+                samples.countDown();
+                return result;
+            });
+            Session session = fake.start();
+            PageMetricsBuffer buffer = new PageMetricsBuffer(8);
+            try (PageMetricsCollector collector = new PageMetricsCollector(session, buffer, scheduler, 0)) {
+                collector.start();
+                server.emit(session.getId(), "Page.lifecycleEvent", lifecycleEvent(session, "init", 10));
+                server.emit(session.getId(), "Page.lifecycleEvent", lifecycleEvent(session, "DOMContentLoaded", 10.5));
+                server.emit(session.getId(), "Page.lifecycleEvent", lifecycleEvent(session, "load", 11));
+                assertTrue(samples.await(5, SECONDS));
+            }
+            assertEquals(1, buffer.size());
+            PageMetrics metrics = buffer.snapshot().get(0);
+            assertEquals("loader-1", metrics.getLoaderId());
+            assertEquals(500, metrics.getDomContentLoaded(), 0.001);
+            assertEquals(1000, metrics.getLoad(), 0.001);
+            assertEquals(1024, metrics.getJsHeapUsedSize(), 0.001);
+            assertEquals(42, metrics.getNodes());
+            assertEquals(3, metrics.getSamples());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
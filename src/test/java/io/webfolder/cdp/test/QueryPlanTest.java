@@ -0,0 +1,107 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.session.QueryPlan;
+import io.webfolder.cdp.session.QueryResult;
+import io.webfolder.cdp.session.Session;
+
+public class QueryPlanTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    private static JsonObject property(String name, JsonObject value) {
+        JsonObject descriptor = new JsonObject();
+        descriptor.addProperty("name", name);
+        descriptor.addProperty("configurable", true);
+        descriptor.addProperty("enumerable", ! name.startsWith("__"));
+        descriptor.add("value", value);
+        return descriptor;
+    }
+
+    private static JsonObject remoteObject(String type, String value, String objectId) {
+        JsonObject object = new JsonObject();
+        object.addProperty("type", type);
+        if (value != null) {
+            object.addProperty("value", value);
+        }
+        if (objectId != null) {
+            object.addProperty("objectId", objectId);
+        }
+        return object;
+    }
+
+    @Test
+    public void testSinglePass() {
+        String json = "{\"values\":{\"title\":[\"foo\"],\"links\":[\"/a\",\"/b\"],\"items\":3},\"counts\":{\"buttons\":2}}";
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.callFunctionOn", params -> {
+            boolean handles = params.getAsJsonArray("arguments")
+                                    .get(1).getAsJsonObject()
+                                    .get("value").getAsBoolean();
+            JsonObject result = new JsonObject();
+            result.add("result", handles ? remoteObject("object", null, "array-1") :
+                                           remoteObject("string", json, null));
+            return result;
+        });
+        server.handler("Runtime.getProperties", params -> {
+            JsonArray properties = new JsonArray();
+            properties.add(property("0", remoteObject("object", null, "button-1")));
+            properties.add(property("1", remoteObject("object", null, "button-2")));
+            properties.add(property("length", remoteObject("number", null, null)));
+            properties.add(property("__cdp4j_result", remoteObject("string", json, null)));
+            JsonObject result = new JsonObject();
+            result.add("result", properties);
+            return result;
+        });
+        Session session = fake.start();
+        QueryPlan values = QueryPlan.builder()
+                                    .text("title", "h1")
+                                    .attribute("links", "a", "href")
+                                    .count("items", "//li")
+                                    .build();
+        long commands = server.getCommands();
+        QueryResult result = session.query(values);
+        assertEquals(commands + 1, server.getCommands());
+        assertEquals("foo", result.getFirst("title"));
+        assertEquals(asList("/a", "/b"), result.getStrings("links"));
+        assertEquals(3, result.getCount("items"));
+
+        QueryPlan elements = QueryPlan.builder()
+                                      .text("title", "h1")
+                                      .elements("buttons", "button")
+                                      .build();
+        result = session.query(elements);
+        assertEquals(asList("button-1", "button-2"), result.getObjectIds("buttons"));
+        assertEquals(2, result.getCount("buttons"));
+        assertEquals("foo", result.getFirst("title"));
+    }
+}
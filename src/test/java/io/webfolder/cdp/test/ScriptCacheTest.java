@@ -0,0 +1,128 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.exception.CdpException;
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.fake.FakeCdpServer.ProtocolError;
+import io.webfolder.cdp.session.ScriptCache;
+import io.webfolder.cdp.session.Session;
+
+public class ScriptCacheTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    private static JsonObject value(String type, Object value) {
+        JsonObject remoteObject = new JsonObject();
+        remoteObject.addProperty("type", type);
+        remoteObject.addProperty("value", String.valueOf(value));
+        JsonObject result = new JsonObject();
+        result.add("result", remoteObject);
+        return result;
+    }
+
+    @Test
+    public void testCompileOnce() {
+        AtomicInteger compiled = new AtomicInteger();
+        AtomicReference<String> error = new AtomicReference<>();
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.compileScript", params -> {
+            assertTrue(params.get("persistScript").getAsBoolean());
+            JsonObject result = new JsonObject();
+            result.addProperty("scriptId", "script-" + compiled.incrementAndGet());
+            return result;
+        });
+        server.handler("Runtime.runScript", params -> {
+            String message = error.getAndSet(null);
+            if (message != null) {
+                throw new ProtocolError(-32000, message);
+            }
+            return value("string", params.get("scriptId").getAsString());
+        });
+        Session session = fake.start();
+        assertTrue(session.waitUntil(s -> s.getExecutionContextId() != null, 5000, 10, false));
+        ScriptCache cache = session.getScriptCache();
+        assertEquals("script-1", cache.run("1 + 1"));
+        assertEquals("script-1", session.evaluateCompiled("1 + 1"));
+        assertEquals(1, compiled.get());
+        assertEquals(1, cache.size());
+
+        // unrelated errors keep the cached script
+        error.set("Internal error");
+        try {
+            cache.run("1 + 1");
+            fail();
+        } catch (CdpException e) {
+            // expected
+        }
+        assertEquals(1, cache.size());
+        assertEquals("script-1", cache.run("1 + 1"));
+
+        // context is gone before the destroyed event is processed
+        error.set("Cannot find context with specified id");
+        assertEquals("script-2", cache.run("1 + 1"));
+        assertEquals(2, compiled.get());
+
+        JsonObject destroyed = new JsonObject();
+        destroyed.addProperty("executionContextId", session.getExecutionContextId());
+        server.emit(session.getId(), "Runtime.executionContextDestroyed", destroyed);
+        assertTrue(session.waitUntil(s -> cache.size() == 0, 5000, 10, false));
+    }
+
+    @Test
+    public void testBounded() {
+        AtomicInteger evaluated = new AtomicInteger();
+        AtomicInteger compiled = new AtomicInteger();
+        FakeCdpServer server = fake.getServer();
+        server.handler("Runtime.compileScript", params -> {
+            JsonObject result = new JsonObject();
+            result.addProperty("scriptId", "script-" + compiled.incrementAndGet());
+            return result;
+        });
+        server.handler("Runtime.runScript", params -> value("string", "compiled"));
+        server.handler("Runtime.evaluate", params -> {
+            evaluated.incrementAndGet();
+            return value("string", "evaluated");
+        });
+        Session session = fake.start();
+        assertTrue(session.waitUntil(s -> s.getExecutionContextId() != null, 5000, 10, false));
+        ScriptCache cache = session.getScriptCache();
+        for (int i = 0; i < ScriptCache.MAX_SCRIPTS; i++) {
+            assertEquals("compiled", cache.run("var x = " + i));
+        }
+        assertEquals("evaluated", cache.run("var x = -1"));
+        assertEquals(ScriptCache.MAX_SCRIPTS, cache.size());
+        assertEquals(ScriptCache.MAX_SCRIPTS, compiled.get());
+        assertEquals(1, evaluated.get());
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * cdp4j Commercial License
+ *
+ * Copyright 2017, 2020 WebFolder OÜ
+ *
+ * Permission  is hereby  granted,  to "____" obtaining  a  copy of  this software  and
+ * associated  documentation files  (the "Software"), to deal in  the Software  without
+ * restriction, including without limitation  the rights  to use, copy, modify,  merge,
+ * publish, distribute  and sublicense  of the Software,  and to permit persons to whom
+ * the Software is furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  IMPLIED,
+ * INCLUDING  BUT NOT  LIMITED  TO THE  WARRANTIES  OF  MERCHANTABILITY, FITNESS  FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL  THE AUTHORS  OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.webfolder.cdp.test;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.webfolder.cdp.fake.FakeCdpRule;
+import io.webfolder.cdp.fake.FakeCdpServer;
+import io.webfolder.cdp.fake.FakeCdpServer.ProtocolError;
+import io.webfolder.cdp.session.Session;
+import io.webfolder.cdp.session.UtilityWorld;
+
+public class UtilityWorldTest {
+
+    @Rule
+    public FakeCdpRule fake = new FakeCdpRule();
+
+    @Test
+    public void testCreateOnceAndRetry() throws Exception {
+        AtomicInteger worlds = new AtomicInteger(1000);
+        AtomicBoolean destroyed = new AtomicBoolean(false);
+        Set<Integer> calledIn = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = newFixedThreadPool(8);
+        try {
+            FakeCdpServer server = fake.getServer();
+            // widens the window of concurrent world creation
+            server.latency("Page.createIsolatedWorld", 50);
+            server.handler("Page.createIsolatedWorld", params -> {
+                assertEquals(UtilityWorld.WORLD_NAME, params.get("worldName").getAsString());
+                JsonObject result = new JsonObject();
+                result.addProperty("executionContextId", worlds.incrementAndGet());
+                return result;
+            });
+            server.handler("Runtime.callFunctionOn", params -> {
+                int contextId = params.get("executionContextId").getAsInt();
+                if (contextId == 1001 && destroyed.get()) {
+                    throw new ProtocolError(-32000, "Cannot find context with specified id");
+                }
+                calledIn.add(contextId);
+                JsonObject value = new JsonObject();
+                value.addProperty("type", "number");
+                value.addProperty("value", 3);
+                JsonObject result = new JsonObject();
+                result.add("result", value);
+                return result;
+            });
+            Session session = fake.start();
+            UtilityWorld world = session.getUtilityWorld();
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> world.getContextId()));
+            }
+            for (Future<Integer> next : futures) {
+                assertEquals(Integer.valueOf(1001), next.get());
+            }
+            assertEquals(1001, worlds.get());
+
+            assertEquals(3D, ((Number) world.call("count", "div")).doubleValue(), 0);
+
+            // navigation destroyed the world, the registry is not updated yet
+            destroyed.set(true);
+            assertEquals(3D, ((Number) world.call("count", "div")).doubleValue(), 0);
+            assertEquals(1002, worlds.get());
+            assertEquals(Integer.valueOf(1002), world.getContextId());
+            assertEquals(2, calledIn.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}